@@ -1,31 +1,100 @@
 package com.codeaim.urlcheck.configuration;
 
+import com.codeaim.urlcheck.http.CachingDns;
+import com.codeaim.urlcheck.http.TimingEventListener;
+import com.codeaim.urlcheck.utility.CountingAbortPolicy;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Dns;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 
+import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class HttpClientConfiguration
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientConfiguration.class);
+
     @Autowired
     ProbeConfiguration probeConfiguration;
 
     @Bean
     public OkHttpClient getHttpClient()
     {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(probeConfiguration.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(probeConfiguration.getMaxRequestsPerHost());
+
         return new OkHttpClient().newBuilder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(
+                        probeConfiguration.getMaxIdleConnections(),
+                        probeConfiguration.getKeepAliveSeconds(),
+                        TimeUnit.SECONDS))
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .addInterceptor(TimingEventListener.DISPATCH_INTERCEPTOR)
+                .connectTimeout(probeConfiguration.getConnectTimeout(), TimeUnit.MILLISECONDS)
+                .readTimeout(probeConfiguration.getReadTimeout(), TimeUnit.MILLISECONDS)
+                .writeTimeout(probeConfiguration.getWriteTimeout(), TimeUnit.MILLISECONDS)
+                .callTimeout(probeConfiguration.getCallTimeout(), TimeUnit.MILLISECONDS)
+                .eventListenerFactory(TimingEventListener.FACTORY)
+                .dns(getDns())
                 .followRedirects(true)
                 .followSslRedirects(true)
                 .build();
     }
 
     @Bean
+    public CachingDns getDns()
+    {
+        return new CachingDns(
+                Dns.SYSTEM,
+                probeConfiguration.getDnsCacheSize(),
+                TimeUnit.SECONDS.toMillis(probeConfiguration.getDnsTtlSeconds()),
+                TimeUnit.SECONDS.toMillis(probeConfiguration.getDnsNegativeTtlSeconds()),
+                TimeUnit.SECONDS.toMillis(probeConfiguration.getDnsStaleSeconds()),
+                getExecutorService(),
+                System::currentTimeMillis);
+    }
+
+    @Bean(destroyMethod = "shutdown")
     public ExecutorService getExecutorService()
     {
-        return Executors.newFixedThreadPool((int) probeConfiguration.getCandidatePoolSize());
+        if (probeConfiguration.isVirtualThreads())
+        {
+            try
+            {
+                return (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+            } catch (ReflectiveOperationException e)
+            {
+                LOGGER.warn(
+                        "virtual_threads=unavailable java_version={} max_concurrency={}",
+                        System.getProperty("java.version"),
+                        probeConfiguration.getMaxConcurrency());
+            }
+        }
+
+        return new ThreadPoolExecutor(
+                probeConfiguration.getMaxConcurrency(),
+                probeConfiguration.getMaxConcurrency(),
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(probeConfiguration.getQueueCapacity()),
+                new CustomizableThreadFactory("probe-"),
+                new CountingAbortPolicy());
     }
 }
@@ -1,5 +1,7 @@
 package com.codeaim.urlcheck.configuration;
 
+import java.time.temporal.ChronoUnit;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -10,8 +12,53 @@ public class ProbeConfiguration
     private String name = "Standalone";
     private long candidatePoolSize = 25;
     private int resultExpirySize = 10000;
+    private int resultExpiryChunkSize = 1000;
+    private long resultExpiryChunkDelay = 100;
+    private long resultExpiryBacklogLimit = 100000;
+    private long resultRetentionRefreshInterval = 3600000;
+    private ChronoUnit resultPartitionUnit = ChronoUnit.DAYS;
+    private int resultPartitionsAhead = 7;
+    private int entitlementCacheSize = 10000;
+    private long entitlementCacheTtl = 60000;
+    private boolean persistEntitlements;
+    private long entitlementSummaryRefreshInterval = 60000;
+    private boolean enforceCheckLimit;
+    private boolean repositoryCache = true;
+    private int repositoryCacheSize = 10000;
+    private long repositoryCacheTtl = 60000;
     private boolean clustered;
     private boolean scheduleDisabled;
+    private boolean asynchronous;
+    private int maxRequests = 256;
+    private boolean continuous;
+    private long continuousDelay = 100;
+    private int maxInFlight;
+    private boolean copyResults;
+    private long leaseSeconds = 60;
+    private int schedulerPoolSize = 3;
+    private int maxConcurrency = 25;
+    private int maxRequestsPerHost = 5;
+    private int queueCapacity = 1000;
+    private boolean virtualThreads;
+    private int maxIdleConnections = 50;
+    private long keepAliveSeconds = 300;
+    private int connectTimeout = 10000;
+    private int readTimeout = 10000;
+    private int writeTimeout = 10000;
+    private int callTimeout = 30000;
+    private long partialBodyBytes = 1024;
+    private int dnsCacheSize = 10000;
+    private long dnsTtlSeconds = 60;
+    private long dnsNegativeTtlSeconds = 10;
+    private long dnsStaleSeconds = 300;
+    private boolean adaptiveElection;
+    private long minimumCandidatePoolSize = 5;
+    private long maximumCandidatePoolSize = 500;
+    private long electionLatencyTarget = 2000;
+    private long electionWriteTarget = 1000;
+    private long overdueCountInterval = 2000;
+    private long logSummaryInterval = 10000;
+    private long logSampleRate = 100;
 
     public String getName()
     {
@@ -43,6 +90,146 @@ public class ProbeConfiguration
         this.resultExpirySize = resultExpirySize;
     }
 
+    public int getResultExpiryChunkSize()
+    {
+        return resultExpiryChunkSize;
+    }
+
+    public void setResultExpiryChunkSize(int resultExpiryChunkSize)
+    {
+        this.resultExpiryChunkSize = resultExpiryChunkSize;
+    }
+
+    public long getResultExpiryChunkDelay()
+    {
+        return resultExpiryChunkDelay;
+    }
+
+    public void setResultExpiryChunkDelay(long resultExpiryChunkDelay)
+    {
+        this.resultExpiryChunkDelay = resultExpiryChunkDelay;
+    }
+
+    public long getResultExpiryBacklogLimit()
+    {
+        return resultExpiryBacklogLimit;
+    }
+
+    public void setResultExpiryBacklogLimit(long resultExpiryBacklogLimit)
+    {
+        this.resultExpiryBacklogLimit = resultExpiryBacklogLimit;
+    }
+
+    public long getResultRetentionRefreshInterval()
+    {
+        return resultRetentionRefreshInterval;
+    }
+
+    public void setResultRetentionRefreshInterval(long resultRetentionRefreshInterval)
+    {
+        this.resultRetentionRefreshInterval = resultRetentionRefreshInterval;
+    }
+
+    public ChronoUnit getResultPartitionUnit()
+    {
+        return resultPartitionUnit;
+    }
+
+    public void setResultPartitionUnit(ChronoUnit resultPartitionUnit)
+    {
+        this.resultPartitionUnit = resultPartitionUnit;
+    }
+
+    public int getResultPartitionsAhead()
+    {
+        return resultPartitionsAhead;
+    }
+
+    public void setResultPartitionsAhead(int resultPartitionsAhead)
+    {
+        this.resultPartitionsAhead = resultPartitionsAhead;
+    }
+
+    public int getEntitlementCacheSize()
+    {
+        return entitlementCacheSize;
+    }
+
+    public void setEntitlementCacheSize(int entitlementCacheSize)
+    {
+        this.entitlementCacheSize = entitlementCacheSize;
+    }
+
+    public long getEntitlementCacheTtl()
+    {
+        return entitlementCacheTtl;
+    }
+
+    public void setEntitlementCacheTtl(long entitlementCacheTtl)
+    {
+        this.entitlementCacheTtl = entitlementCacheTtl;
+    }
+
+    public boolean isPersistEntitlements()
+    {
+        return persistEntitlements;
+    }
+
+    public void setPersistEntitlements(boolean persistEntitlements)
+    {
+        this.persistEntitlements = persistEntitlements;
+    }
+
+    public long getEntitlementSummaryRefreshInterval()
+    {
+        return entitlementSummaryRefreshInterval;
+    }
+
+    public void setEntitlementSummaryRefreshInterval(long entitlementSummaryRefreshInterval)
+    {
+        this.entitlementSummaryRefreshInterval = entitlementSummaryRefreshInterval;
+    }
+
+    public boolean isEnforceCheckLimit()
+    {
+        return enforceCheckLimit;
+    }
+
+    public void setEnforceCheckLimit(boolean enforceCheckLimit)
+    {
+        this.enforceCheckLimit = enforceCheckLimit;
+    }
+
+    public boolean isRepositoryCache()
+    {
+        return repositoryCache;
+    }
+
+    public void setRepositoryCache(boolean repositoryCache)
+    {
+        this.repositoryCache = repositoryCache;
+    }
+
+    public int getRepositoryCacheSize()
+    {
+        return repositoryCacheSize;
+    }
+
+    public void setRepositoryCacheSize(int repositoryCacheSize)
+    {
+        this.repositoryCacheSize = repositoryCacheSize;
+    }
+
+    public long getRepositoryCacheTtl()
+    {
+        return repositoryCacheTtl;
+    }
+
+    public void setRepositoryCacheTtl(long repositoryCacheTtl)
+    {
+        this.repositoryCacheTtl = repositoryCacheTtl;
+    }
+
     public boolean isClustered()
     {
         return clustered;
@@ -62,4 +249,314 @@ public class ProbeConfiguration
     {
         this.scheduleDisabled = scheduleDisabled;
     }
+
+    public boolean isAsynchronous()
+    {
+        return asynchronous;
+    }
+
+    public void setAsynchronous(boolean asynchronous)
+    {
+        this.asynchronous = asynchronous;
+    }
+
+    public int getMaxRequests()
+    {
+        return maxRequests;
+    }
+
+    public void setMaxRequests(int maxRequests)
+    {
+        this.maxRequests = maxRequests;
+    }
+
+    public boolean isContinuous()
+    {
+        return continuous;
+    }
+
+    public void setContinuous(boolean continuous)
+    {
+        this.continuous = continuous;
+    }
+
+    public long getContinuousDelay()
+    {
+        return continuousDelay;
+    }
+
+    public void setContinuousDelay(long continuousDelay)
+    {
+        this.continuousDelay = continuousDelay;
+    }
+
+    public int getMaxInFlight()
+    {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight)
+    {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public boolean isCopyResults()
+    {
+        return copyResults;
+    }
+
+    public void setCopyResults(boolean copyResults)
+    {
+        this.copyResults = copyResults;
+    }
+
+    public long getLeaseSeconds()
+    {
+        return leaseSeconds;
+    }
+
+    public void setLeaseSeconds(long leaseSeconds)
+    {
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    public int getSchedulerPoolSize()
+    {
+        return schedulerPoolSize;
+    }
+
+    public void setSchedulerPoolSize(int schedulerPoolSize)
+    {
+        this.schedulerPoolSize = schedulerPoolSize;
+    }
+
+    public int getMaxConcurrency()
+    {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency)
+    {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getMaxRequestsPerHost()
+    {
+        return maxRequestsPerHost;
+    }
+
+    public void setMaxRequestsPerHost(int maxRequestsPerHost)
+    {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    public int getQueueCapacity()
+    {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity)
+    {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public boolean isVirtualThreads()
+    {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads)
+    {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public int getMaxIdleConnections()
+    {
+        return maxIdleConnections;
+    }
+
+    public void setMaxIdleConnections(int maxIdleConnections)
+    {
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    public long getKeepAliveSeconds()
+    {
+        return keepAliveSeconds;
+    }
+
+    public void setKeepAliveSeconds(long keepAliveSeconds)
+    {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
+    public int getConnectTimeout()
+    {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout)
+    {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public int getReadTimeout()
+    {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(int readTimeout)
+    {
+        this.readTimeout = readTimeout;
+    }
+
+    public int getWriteTimeout()
+    {
+        return writeTimeout;
+    }
+
+    public void setWriteTimeout(int writeTimeout)
+    {
+        this.writeTimeout = writeTimeout;
+    }
+
+    public int getCallTimeout()
+    {
+        return callTimeout;
+    }
+
+    public void setCallTimeout(int callTimeout)
+    {
+        this.callTimeout = callTimeout;
+    }
+
+    public long getPartialBodyBytes()
+    {
+        return partialBodyBytes;
+    }
+
+    public void setPartialBodyBytes(long partialBodyBytes)
+    {
+        this.partialBodyBytes = partialBodyBytes;
+    }
+
+    public int getDnsCacheSize()
+    {
+        return dnsCacheSize;
+    }
+
+    public void setDnsCacheSize(int dnsCacheSize)
+    {
+        this.dnsCacheSize = dnsCacheSize;
+    }
+
+    public long getDnsTtlSeconds()
+    {
+        return dnsTtlSeconds;
+    }
+
+    public void setDnsTtlSeconds(long dnsTtlSeconds)
+    {
+        this.dnsTtlSeconds = dnsTtlSeconds;
+    }
+
+    public long getDnsNegativeTtlSeconds()
+    {
+        return dnsNegativeTtlSeconds;
+    }
+
+    public void setDnsNegativeTtlSeconds(long dnsNegativeTtlSeconds)
+    {
+        this.dnsNegativeTtlSeconds = dnsNegativeTtlSeconds;
+    }
+
+    public long getDnsStaleSeconds()
+    {
+        return dnsStaleSeconds;
+    }
+
+    public void setDnsStaleSeconds(long dnsStaleSeconds)
+    {
+        this.dnsStaleSeconds = dnsStaleSeconds;
+    }
+
+    public boolean isAdaptiveElection()
+    {
+        return adaptiveElection;
+    }
+
+    public void setAdaptiveElection(boolean adaptiveElection)
+    {
+        this.adaptiveElection = adaptiveElection;
+    }
+
+    public long getMinimumCandidatePoolSize()
+    {
+        return minimumCandidatePoolSize;
+    }
+
+    public void setMinimumCandidatePoolSize(long minimumCandidatePoolSize)
+    {
+        this.minimumCandidatePoolSize = minimumCandidatePoolSize;
+    }
+
+    public long getMaximumCandidatePoolSize()
+    {
+        return maximumCandidatePoolSize;
+    }
+
+    public void setMaximumCandidatePoolSize(long maximumCandidatePoolSize)
+    {
+        this.maximumCandidatePoolSize = maximumCandidatePoolSize;
+    }
+
+    public long getElectionLatencyTarget()
+    {
+        return electionLatencyTarget;
+    }
+
+    public void setElectionLatencyTarget(long electionLatencyTarget)
+    {
+        this.electionLatencyTarget = electionLatencyTarget;
+    }
+
+    public long getElectionWriteTarget()
+    {
+        return electionWriteTarget;
+    }
+
+    public void setElectionWriteTarget(long electionWriteTarget)
+    {
+        this.electionWriteTarget = electionWriteTarget;
+    }
+
+    public long getOverdueCountInterval()
+    {
+        return overdueCountInterval;
+    }
+
+    public void setOverdueCountInterval(long overdueCountInterval)
+    {
+        this.overdueCountInterval = overdueCountInterval;
+    }
+
+    public long getLogSummaryInterval()
+    {
+        return logSummaryInterval;
+    }
+
+    public void setLogSummaryInterval(long logSummaryInterval)
+    {
+        this.logSummaryInterval = logSummaryInterval;
+    }
+
+    public long getLogSampleRate()
+    {
+        return logSampleRate;
+    }
+
+    public void setLogSampleRate(long logSampleRate)
+    {
+        this.logSampleRate = logSampleRate;
+    }
 }
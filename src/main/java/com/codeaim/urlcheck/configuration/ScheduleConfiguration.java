@@ -0,0 +1,28 @@
+package com.codeaim.urlcheck.configuration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class ScheduleConfiguration
+{
+    private ProbeConfiguration probeConfiguration;
+
+    @Autowired
+    public ScheduleConfiguration(ProbeConfiguration probeConfiguration)
+    {
+        this.probeConfiguration = probeConfiguration;
+    }
+
+    @Bean
+    public ThreadPoolTaskScheduler getTaskScheduler()
+    {
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.setPoolSize(probeConfiguration.getSchedulerPoolSize());
+        taskScheduler.setThreadNamePrefix("schedule-");
+
+        return taskScheduler;
+    }
+}
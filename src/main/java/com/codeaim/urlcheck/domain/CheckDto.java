@@ -2,6 +2,7 @@ package com.codeaim.urlcheck.domain;
 
 import java.time.Instant;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.OptionalLong;
 
 import org.apache.commons.lang3.Validate;
@@ -25,6 +26,10 @@ public final class CheckDto
     private int interval;
     private boolean confirming;
     private long version;
+    private OptionalInt connectTimeout;
+    private OptionalInt readTimeout;
+    private OptionalInt callTimeout;
+    private ProbeMode probeMode;
 
     private CheckDto(
             final long id,
@@ -41,7 +46,11 @@ public final class CheckDto
             final Optional<Instant> locked,
             final int interval,
             final boolean confirming,
-            final long version
+            final long version,
+            final OptionalInt connectTimeout,
+            final OptionalInt readTimeout,
+            final OptionalInt callTimeout,
+            final ProbeMode probeMode
     )
     {
         this.id = id;
@@ -59,6 +68,10 @@ public final class CheckDto
         this.interval = interval;
         this.confirming = confirming;
         this.version = version;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.callTimeout = callTimeout;
+        this.probeMode = probeMode;
     }
 
     public static Builder builder()
@@ -83,7 +96,11 @@ public final class CheckDto
                 .locked(checkDto.getLocked())
                 .interval(checkDto.getInterval())
                 .confirming(checkDto.isConfirming())
-                .version(checkDto.getVersion());
+                .version(checkDto.getVersion())
+                .connectTimeout(checkDto.getConnectTimeout())
+                .readTimeout(checkDto.getReadTimeout())
+                .callTimeout(checkDto.getCallTimeout())
+                .probeMode(checkDto.getProbeMode());
     }
 
     public long getId()
@@ -161,6 +178,26 @@ public final class CheckDto
         return version;
     }
 
+    public OptionalInt getConnectTimeout()
+    {
+        return connectTimeout;
+    }
+
+    public OptionalInt getReadTimeout()
+    {
+        return readTimeout;
+    }
+
+    public OptionalInt getCallTimeout()
+    {
+        return callTimeout;
+    }
+
+    public ProbeMode getProbeMode()
+    {
+        return probeMode;
+    }
+
     public final static class Builder
     {
         private long id;
@@ -178,6 +215,10 @@ public final class CheckDto
         private int interval;
         private boolean confirming;
         private long version;
+        private OptionalInt connectTimeout = OptionalInt.empty();
+        private OptionalInt readTimeout = OptionalInt.empty();
+        private OptionalInt callTimeout = OptionalInt.empty();
+        private ProbeMode probeMode = ProbeMode.GET;
 
         public Builder id(final long id)
         {
@@ -299,6 +340,38 @@ public final class CheckDto
             return this;
         }
 
+        public Builder connectTimeout(final OptionalInt connectTimeout)
+        {
+            Validate.notNull(connectTimeout);
+
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder readTimeout(final OptionalInt readTimeout)
+        {
+            Validate.notNull(readTimeout);
+
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        public Builder callTimeout(final OptionalInt callTimeout)
+        {
+            Validate.notNull(callTimeout);
+
+            this.callTimeout = callTimeout;
+            return this;
+        }
+
+        public Builder probeMode(final ProbeMode probeMode)
+        {
+            Validate.notNull(probeMode);
+
+            this.probeMode = probeMode;
+            return this;
+        }
+
         public CheckDto build()
         {
             Validate.notNull(this.name);
@@ -319,7 +392,11 @@ public final class CheckDto
                     this.locked,
                     this.interval,
                     this.confirming,
-                    this.version <= 0 ? 1 : this.version
+                    this.version <= 0 ? 1 : this.version,
+                    this.connectTimeout,
+                    this.readTimeout,
+                    this.callTimeout,
+                    this.probeMode
             );
         }
     }
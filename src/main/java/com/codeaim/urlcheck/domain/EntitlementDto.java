@@ -0,0 +1,109 @@
+package com.codeaim.urlcheck.domain;
+
+import java.time.Duration;
+
+import org.apache.commons.lang3.Validate;
+
+public final class EntitlementDto
+{
+    private long userId;
+    private long checkLimit;
+    private long resultEventLimit;
+    private Duration resultRetentionDuration;
+
+    private EntitlementDto(
+            final long userId,
+            final long checkLimit,
+            final long resultEventLimit,
+            final Duration resultRetentionDuration
+    )
+    {
+        this.userId = userId;
+        this.checkLimit = checkLimit;
+        this.resultEventLimit = resultEventLimit;
+        this.resultRetentionDuration = resultRetentionDuration;
+    }
+
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    public static Builder buildFrom(EntitlementDto entitlementDto)
+    {
+        return builder()
+                .userId(entitlementDto.getUserId())
+                .checkLimit(entitlementDto.getCheckLimit())
+                .resultEventLimit(entitlementDto.getResultEventLimit())
+                .resultRetentionDuration(entitlementDto.getResultRetentionDuration());
+    }
+
+    public long getUserId()
+    {
+        return userId;
+    }
+
+    public long getCheckLimit()
+    {
+        return checkLimit;
+    }
+
+    public long getResultEventLimit()
+    {
+        return resultEventLimit;
+    }
+
+    public Duration getResultRetentionDuration()
+    {
+        return resultRetentionDuration;
+    }
+
+    public final static class Builder
+    {
+        private long userId;
+        private long checkLimit;
+        private long resultEventLimit;
+        private Duration resultRetentionDuration = Duration.ZERO;
+
+        public Builder userId(final long userId)
+        {
+            Validate.notNull(userId);
+
+            this.userId = userId;
+            return this;
+        }
+
+        public Builder checkLimit(final long checkLimit)
+        {
+            Validate.notNull(checkLimit);
+
+            this.checkLimit = checkLimit;
+            return this;
+        }
+
+        public Builder resultEventLimit(final long resultEventLimit)
+        {
+            Validate.notNull(resultEventLimit);
+
+            this.resultEventLimit = resultEventLimit;
+            return this;
+        }
+
+        public Builder resultRetentionDuration(final Duration resultRetentionDuration)
+        {
+            Validate.notNull(resultRetentionDuration);
+
+            this.resultRetentionDuration = resultRetentionDuration;
+            return this;
+        }
+
+        public EntitlementDto build()
+        {
+            return new EntitlementDto(
+                    this.userId,
+                    this.checkLimit,
+                    this.resultEventLimit,
+                    this.resultRetentionDuration);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.codeaim.urlcheck.domain;
+
+public enum Failure
+{
+    DNS,
+    CONNECT_TIMEOUT,
+    CONNECTION_REFUSED,
+    TLS,
+    READ_TIMEOUT,
+    CALL_TIMEOUT,
+    UNKNOWN
+}
@@ -0,0 +1,8 @@
+package com.codeaim.urlcheck.domain;
+
+public enum ProbeMode
+{
+    HEAD,
+    GET,
+    GET_PARTIAL
+}
@@ -4,6 +4,7 @@ import org.apache.commons.lang3.Validate;
 import org.springframework.http.HttpStatus;
 
 import java.time.Instant;
+import java.util.Optional;
 import java.util.OptionalLong;
 
 public final class ResultDto
@@ -18,6 +19,13 @@ public final class ResultDto
     private boolean changed;
     private boolean confirmation;
     private Instant created;
+    private Optional<Failure> failure;
+    private OptionalLong dnsTime;
+    private OptionalLong connectTime;
+    private OptionalLong tlsTime;
+    private OptionalLong requestWriteTime;
+    private OptionalLong firstByteTime;
+    private OptionalLong totalTime;
 
     private ResultDto(
             final long id,
@@ -29,7 +37,14 @@ public final class ResultDto
             final OptionalLong responseTime,
             final boolean changed,
             final boolean confirmation,
-            final Instant created
+            final Instant created,
+            final Optional<Failure> failure,
+            final OptionalLong dnsTime,
+            final OptionalLong connectTime,
+            final OptionalLong tlsTime,
+            final OptionalLong requestWriteTime,
+            final OptionalLong firstByteTime,
+            final OptionalLong totalTime
     )
     {
         this.id = id;
@@ -42,6 +57,13 @@ public final class ResultDto
         this.changed = changed;
         this.confirmation = confirmation;
         this.created = created;
+        this.failure = failure;
+        this.dnsTime = dnsTime;
+        this.connectTime = connectTime;
+        this.tlsTime = tlsTime;
+        this.requestWriteTime = requestWriteTime;
+        this.firstByteTime = firstByteTime;
+        this.totalTime = totalTime;
     }
 
     public static Builder builder()
@@ -61,7 +83,14 @@ public final class ResultDto
                 .responseTime(resultDto.getResponseTime())
                 .changed(resultDto.isChanged())
                 .confirmation(resultDto.isConfirmation())
-                .created(resultDto.getCreated());
+                .created(resultDto.getCreated())
+                .failure(resultDto.getFailure())
+                .dnsTime(resultDto.getDnsTime())
+                .connectTime(resultDto.getConnectTime())
+                .tlsTime(resultDto.getTlsTime())
+                .requestWriteTime(resultDto.getRequestWriteTime())
+                .firstByteTime(resultDto.getFirstByteTime())
+                .totalTime(resultDto.getTotalTime());
     }
 
     public long getId()
@@ -114,6 +143,41 @@ public final class ResultDto
         return created;
     }
 
+    public Optional<Failure> getFailure()
+    {
+        return failure;
+    }
+
+    public OptionalLong getDnsTime()
+    {
+        return dnsTime;
+    }
+
+    public OptionalLong getConnectTime()
+    {
+        return connectTime;
+    }
+
+    public OptionalLong getTlsTime()
+    {
+        return tlsTime;
+    }
+
+    public OptionalLong getRequestWriteTime()
+    {
+        return requestWriteTime;
+    }
+
+    public OptionalLong getFirstByteTime()
+    {
+        return firstByteTime;
+    }
+
+    public OptionalLong getTotalTime()
+    {
+        return totalTime;
+    }
+
     public final static class Builder
     {
         private long id;
@@ -126,6 +190,13 @@ public final class ResultDto
         private boolean changed;
         private boolean confirmation;
         private Instant created = Instant.now();
+        private Optional<Failure> failure = Optional.empty();
+        private OptionalLong dnsTime = OptionalLong.empty();
+        private OptionalLong connectTime = OptionalLong.empty();
+        private OptionalLong tlsTime = OptionalLong.empty();
+        private OptionalLong requestWriteTime = OptionalLong.empty();
+        private OptionalLong firstByteTime = OptionalLong.empty();
+        private OptionalLong totalTime = OptionalLong.empty();
 
         public Builder id(final long id)
         {
@@ -207,6 +278,62 @@ public final class ResultDto
             return this;
         }
 
+        public Builder failure(final Optional<Failure> failure)
+        {
+            Validate.notNull(failure);
+
+            this.failure = failure;
+            return this;
+        }
+
+        public Builder dnsTime(final OptionalLong dnsTime)
+        {
+            Validate.notNull(dnsTime);
+
+            this.dnsTime = dnsTime;
+            return this;
+        }
+
+        public Builder connectTime(final OptionalLong connectTime)
+        {
+            Validate.notNull(connectTime);
+
+            this.connectTime = connectTime;
+            return this;
+        }
+
+        public Builder tlsTime(final OptionalLong tlsTime)
+        {
+            Validate.notNull(tlsTime);
+
+            this.tlsTime = tlsTime;
+            return this;
+        }
+
+        public Builder requestWriteTime(final OptionalLong requestWriteTime)
+        {
+            Validate.notNull(requestWriteTime);
+
+            this.requestWriteTime = requestWriteTime;
+            return this;
+        }
+
+        public Builder firstByteTime(final OptionalLong firstByteTime)
+        {
+            Validate.notNull(firstByteTime);
+
+            this.firstByteTime = firstByteTime;
+            return this;
+        }
+
+        public Builder totalTime(final OptionalLong totalTime)
+        {
+            Validate.notNull(totalTime);
+
+            this.totalTime = totalTime;
+            return this;
+        }
+
         public ResultDto build()
         {
             Validate.notNull(probe);
@@ -222,7 +349,14 @@ public final class ResultDto
                     this.responseTime,
                     this.changed,
                     this.confirmation,
-                    this.created
+                    this.created,
+                    this.failure,
+                    this.dnsTime,
+                    this.connectTime,
+                    this.tlsTime,
+                    this.requestWriteTime,
+                    this.firstByteTime,
+                    this.totalTime
             );
         }
     }
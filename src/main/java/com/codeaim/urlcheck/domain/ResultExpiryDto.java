@@ -0,0 +1,109 @@
+package com.codeaim.urlcheck.domain;
+
+import java.time.Instant;
+
+import org.apache.commons.lang3.Validate;
+
+public final class ResultExpiryDto
+{
+    private int scanned;
+    private int deleted;
+    private Instant cursorCreated;
+    private long cursorId;
+
+    private ResultExpiryDto(
+            final int scanned,
+            final int deleted,
+            final Instant cursorCreated,
+            final long cursorId
+    )
+    {
+        this.scanned = scanned;
+        this.deleted = deleted;
+        this.cursorCreated = cursorCreated;
+        this.cursorId = cursorId;
+    }
+
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    public static Builder buildFrom(ResultExpiryDto resultExpiryDto)
+    {
+        return builder()
+                .scanned(resultExpiryDto.getScanned())
+                .deleted(resultExpiryDto.getDeleted())
+                .cursorCreated(resultExpiryDto.getCursorCreated())
+                .cursorId(resultExpiryDto.getCursorId());
+    }
+
+    public int getScanned()
+    {
+        return scanned;
+    }
+
+    public int getDeleted()
+    {
+        return deleted;
+    }
+
+    public Instant getCursorCreated()
+    {
+        return cursorCreated;
+    }
+
+    public long getCursorId()
+    {
+        return cursorId;
+    }
+
+    public final static class Builder
+    {
+        private int scanned;
+        private int deleted;
+        private Instant cursorCreated = Instant.EPOCH;
+        private long cursorId;
+
+        public Builder scanned(final int scanned)
+        {
+            Validate.isTrue(scanned >= 0);
+
+            this.scanned = scanned;
+            return this;
+        }
+
+        public Builder deleted(final int deleted)
+        {
+            Validate.isTrue(deleted >= 0);
+
+            this.deleted = deleted;
+            return this;
+        }
+
+        public Builder cursorCreated(final Instant cursorCreated)
+        {
+            Validate.notNull(cursorCreated);
+
+            this.cursorCreated = cursorCreated;
+            return this;
+        }
+
+        public Builder cursorId(final long cursorId)
+        {
+            this.cursorId = cursorId;
+            return this;
+        }
+
+        public ResultExpiryDto build()
+        {
+            Validate.isTrue(deleted <= scanned);
+
+            return new ResultExpiryDto(
+                    this.scanned,
+                    this.deleted,
+                    this.cursorCreated,
+                    this.cursorId);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.codeaim.urlcheck.http;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import okhttp3.Dns;
+
+public class CachingDns implements Dns
+{
+    private Dns delegate;
+    private long ttlMillis;
+    private long negativeTtlMillis;
+    private long staleMillis;
+    private Executor refreshExecutor;
+    private LongSupplier clock;
+    private Map<String, CachedLookup> entries;
+    private AtomicLong hits = new AtomicLong();
+    private AtomicLong staleHits = new AtomicLong();
+    private AtomicLong negativeHits = new AtomicLong();
+    private AtomicLong misses = new AtomicLong();
+    private AtomicLong refreshes = new AtomicLong();
+
+    public CachingDns(
+            Dns delegate,
+            int maximumSize,
+            long ttlMillis,
+            long negativeTtlMillis,
+            long staleMillis,
+            Executor refreshExecutor,
+            LongSupplier clock
+    )
+    {
+        this.delegate = delegate;
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.staleMillis = staleMillis;
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<String, CachedLookup>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedLookup> eldest)
+            {
+                return size() > maximumSize;
+            }
+        });
+    }
+
+    @Override
+    public List<InetAddress> lookup(String hostname) throws UnknownHostException
+    {
+        long now = clock.getAsLong();
+        CachedLookup entry = entries.get(hostname);
+
+        if (entry != null && now < entry.expires)
+        {
+            if (entry.addresses == null)
+            {
+                negativeHits.incrementAndGet();
+                throw new UnknownHostException(entry.failure);
+            }
+
+            hits.incrementAndGet();
+            return entry.addresses;
+        }
+
+        if (entry != null && entry.addresses != null && now < entry.expires + staleMillis)
+        {
+            staleHits.incrementAndGet();
+            refresh(hostname, entry);
+            return entry.addresses;
+        }
+
+        misses.incrementAndGet();
+        return resolve(hostname);
+    }
+
+    private void refresh(String hostname, CachedLookup entry)
+    {
+        if (!entry.refreshing.compareAndSet(false, true))
+            return;
+
+        try
+        {
+            refreshExecutor.execute(() -> {
+                try
+                {
+                    refreshes.incrementAndGet();
+                    resolve(hostname);
+                } catch (UnknownHostException e)
+                {
+                    // Keep serving the stale addresses until they age out
+                } finally
+                {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e)
+        {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private List<InetAddress> resolve(String hostname) throws UnknownHostException
+    {
+        try
+        {
+            List<InetAddress> addresses = Collections.unmodifiableList(delegate.lookup(hostname));
+            entries.put(hostname, new CachedLookup(addresses, null, clock.getAsLong() + ttlMillis));
+            return addresses;
+        } catch (UnknownHostException e)
+        {
+            CachedLookup entry = entries.get(hostname);
+            if (entry == null || entry.addresses == null || clock.getAsLong() >= entry.expires + staleMillis)
+                entries.put(hostname, new CachedLookup(null, e.getMessage(), clock.getAsLong() + negativeTtlMillis));
+            throw e;
+        }
+    }
+
+    public int size()
+    {
+        return entries.size();
+    }
+
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    public long getStaleHits()
+    {
+        return staleHits.get();
+    }
+
+    public long getNegativeHits()
+    {
+        return negativeHits.get();
+    }
+
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    public long getRefreshes()
+    {
+        return refreshes.get();
+    }
+
+    private static final class CachedLookup
+    {
+        private List<InetAddress> addresses;
+        private String failure;
+        private long expires;
+        private AtomicBoolean refreshing = new AtomicBoolean();
+
+        private CachedLookup(List<InetAddress> addresses, String failure, long expires)
+        {
+            this.addresses = addresses;
+            this.failure = failure;
+            this.expires = expires;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.codeaim.urlcheck.http;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+public class TimingEventListener extends EventListener
+{
+    public static final EventListener.Factory FACTORY = call -> {
+        Timings timings = call.request().tag(Timings.class);
+
+        return timings != null ? new TimingEventListener(timings) : EventListener.NONE;
+    };
+
+    public static final Interceptor DISPATCH_INTERCEPTOR = chain -> {
+        Timings timings = chain.request().tag(Timings.class);
+        if (timings != null)
+            timings.callStart();
+
+        return chain.proceed(chain.request());
+    };
+
+    private Timings timings;
+
+    public TimingEventListener(Timings timings)
+    {
+        this.timings = timings;
+    }
+
+    @Override
+    public void callStart(Call call)
+    {
+        timings.callStart();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName)
+    {
+        timings.dnsStart();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList)
+    {
+        timings.dnsEnd();
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy)
+    {
+        timings.connectStart();
+    }
+
+    @Override
+    public void secureConnectStart(Call call)
+    {
+        timings.secureConnectStart();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake)
+    {
+        timings.secureConnectEnd();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol)
+    {
+        timings.connectEnd();
+    }
+
+    @Override
+    public void requestHeadersStart(Call call)
+    {
+        timings.requestStart();
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request)
+    {
+        timings.requestEnd();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount)
+    {
+        timings.requestEnd();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call)
+    {
+        timings.responseStart();
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response)
+    {
+        timings.responseStart();
+    }
+
+    @Override
+    public void callEnd(Call call)
+    {
+        timings.callEnd();
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe)
+    {
+        timings.callEnd();
+    }
+}
@@ -0,0 +1,118 @@
+package com.codeaim.urlcheck.http;
+
+import java.util.OptionalLong;
+
+public class Timings
+{
+    private long callStart;
+    private long dnsStart;
+    private long dnsEnd;
+    private long connectStart;
+    private long secureConnectStart;
+    private long secureConnectEnd;
+    private long connectEnd;
+    private long requestStart;
+    private long requestEnd;
+    private long responseStart;
+    private long callEnd;
+
+    void callStart()
+    {
+        callStart = System.nanoTime();
+    }
+
+    void dnsStart()
+    {
+        dnsStart = System.nanoTime();
+    }
+
+    void dnsEnd()
+    {
+        dnsEnd = System.nanoTime();
+    }
+
+    void connectStart()
+    {
+        connectStart = System.nanoTime();
+        secureConnectStart = 0;
+        secureConnectEnd = 0;
+        connectEnd = 0;
+    }
+
+    void secureConnectStart()
+    {
+        secureConnectStart = System.nanoTime();
+    }
+
+    void secureConnectEnd()
+    {
+        secureConnectEnd = System.nanoTime();
+    }
+
+    void connectEnd()
+    {
+        connectEnd = System.nanoTime();
+    }
+
+    void requestStart()
+    {
+        if (requestStart == 0)
+            requestStart = System.nanoTime();
+    }
+
+    void requestEnd()
+    {
+        requestEnd = System.nanoTime();
+    }
+
+    void responseStart()
+    {
+        if (responseStart == 0)
+            responseStart = System.nanoTime();
+    }
+
+    void callEnd()
+    {
+        callEnd = System.nanoTime();
+    }
+
+    public OptionalLong getDnsTime()
+    {
+        return between(dnsStart, dnsEnd);
+    }
+
+    public OptionalLong getConnectTime()
+    {
+        return between(connectStart, secureConnectStart != 0 ? secureConnectStart : connectEnd);
+    }
+
+    public OptionalLong getTlsTime()
+    {
+        return between(secureConnectStart, secureConnectEnd);
+    }
+
+    public OptionalLong getRequestWriteTime()
+    {
+        return between(requestStart, requestEnd);
+    }
+
+    public OptionalLong getFirstByteTime()
+    {
+        return between(requestEnd, responseStart);
+    }
+
+    public OptionalLong getTotalTime()
+    {
+        return between(callStart, callEnd);
+    }
+
+    public boolean isConnecting()
+    {
+        return connectStart != 0 && connectEnd == 0;
+    }
+
+    private OptionalLong between(long start, long end)
+    {
+        return start != 0 && end >= start ? OptionalLong.of(end - start) : OptionalLong.empty();
+    }
+}
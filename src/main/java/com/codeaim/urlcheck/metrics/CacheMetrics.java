@@ -0,0 +1,65 @@
+package com.codeaim.urlcheck.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import com.codeaim.urlcheck.repository.cache.CrudRepositoryCache;
+import com.codeaim.urlcheck.repository.cache.EntitlementCache;
+import com.codeaim.urlcheck.repository.cache.RoleRepositoryCache;
+import com.codeaim.urlcheck.repository.cache.UserRoleRepositoryCache;
+
+@Component
+public class CacheMetrics implements PublicMetrics
+{
+    private EntitlementCache entitlementCache;
+    private Optional<RoleRepositoryCache> roleRepositoryCache;
+    private Optional<UserRoleRepositoryCache> userRoleRepositoryCache;
+
+    @Autowired
+    public CacheMetrics(
+            EntitlementCache entitlementCache,
+            Optional<RoleRepositoryCache> roleRepositoryCache,
+            Optional<UserRoleRepositoryCache> userRoleRepositoryCache
+    )
+    {
+        this.entitlementCache = entitlementCache;
+        this.roleRepositoryCache = roleRepositoryCache;
+        this.userRoleRepositoryCache = userRoleRepositoryCache;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics()
+    {
+        List<Metric<?>> metrics = new ArrayList<>();
+
+        addCache(metrics, "probe.cache.entitlement",
+                entitlementCache.getEntitlements().size(),
+                entitlementCache.getEntitlements().getHits(),
+                entitlementCache.getEntitlements().getMisses());
+        metrics.add(new Metric<>("probe.cache.entitlement.unentitled", entitlementCache.getUnentitledCount()));
+        roleRepositoryCache.ifPresent(cache -> addCache(metrics, "probe.cache.role", cache));
+        userRoleRepositoryCache.ifPresent(cache -> addCache(metrics, "probe.cache.user_role", cache));
+
+        return metrics;
+    }
+
+    private void addCache(List<Metric<?>> metrics, String name, CrudRepositoryCache<?, ?> cache)
+    {
+        addCache(metrics, name, cache.size(), cache.getHits(), cache.getMisses());
+    }
+
+    private void addCache(List<Metric<?>> metrics, String name, long size, long hits, long misses)
+    {
+        metrics.add(new Metric<>(name + ".size", size));
+        metrics.add(new Metric<>(name + ".hits", hits));
+        metrics.add(new Metric<>(name + ".misses", misses));
+        metrics.add(new Metric<>(name + ".hit.ratio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses)));
+    }
+}
@@ -0,0 +1,39 @@
+package com.codeaim.urlcheck.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import com.codeaim.urlcheck.http.CachingDns;
+
+@Component
+public class DnsMetrics implements PublicMetrics
+{
+    private CachingDns cachingDns;
+
+    @Autowired
+    public DnsMetrics(CachingDns cachingDns)
+    {
+        this.cachingDns = cachingDns;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics()
+    {
+        List<Metric<?>> metrics = new ArrayList<>();
+
+        metrics.add(new Metric<>("probe.dns.size", cachingDns.size()));
+        metrics.add(new Metric<>("probe.dns.hits", cachingDns.getHits()));
+        metrics.add(new Metric<>("probe.dns.hits.stale", cachingDns.getStaleHits()));
+        metrics.add(new Metric<>("probe.dns.hits.negative", cachingDns.getNegativeHits()));
+        metrics.add(new Metric<>("probe.dns.misses", cachingDns.getMisses()));
+        metrics.add(new Metric<>("probe.dns.refreshes", cachingDns.getRefreshes()));
+
+        return metrics;
+    }
+}
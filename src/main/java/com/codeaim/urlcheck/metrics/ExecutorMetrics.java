@@ -0,0 +1,61 @@
+package com.codeaim.urlcheck.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import com.codeaim.urlcheck.utility.CountingAbortPolicy;
+
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+
+@Component
+public class ExecutorMetrics implements PublicMetrics
+{
+    private ExecutorService executorService;
+    private OkHttpClient httpClient;
+
+    @Autowired
+    public ExecutorMetrics(
+            ExecutorService executorService,
+            OkHttpClient httpClient
+    )
+    {
+        this.executorService = executorService;
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics()
+    {
+        List<Metric<?>> metrics = new ArrayList<>();
+
+        if (executorService instanceof ThreadPoolExecutor)
+        {
+            ThreadPoolExecutor threadPoolExecutor = (ThreadPoolExecutor) executorService;
+            metrics.add(new Metric<>("probe.executor.active", threadPoolExecutor.getActiveCount()));
+            metrics.add(new Metric<>("probe.executor.pool", threadPoolExecutor.getPoolSize()));
+            metrics.add(new Metric<>("probe.executor.max", threadPoolExecutor.getMaximumPoolSize()));
+            metrics.add(new Metric<>("probe.executor.queued", threadPoolExecutor.getQueue().size()));
+            metrics.add(new Metric<>("probe.executor.queue.remaining", threadPoolExecutor.getQueue().remainingCapacity()));
+            metrics.add(new Metric<>("probe.executor.completed", threadPoolExecutor.getCompletedTaskCount()));
+
+            if (threadPoolExecutor.getRejectedExecutionHandler() instanceof CountingAbortPolicy)
+                metrics.add(new Metric<>("probe.executor.rejected", ((CountingAbortPolicy) threadPoolExecutor.getRejectedExecutionHandler()).getRejectedCount()));
+        }
+
+        Dispatcher dispatcher = httpClient.dispatcher();
+        metrics.add(new Metric<>("probe.dispatcher.running", dispatcher.runningCallsCount()));
+        metrics.add(new Metric<>("probe.dispatcher.queued", dispatcher.queuedCallsCount()));
+        metrics.add(new Metric<>("probe.dispatcher.max", dispatcher.getMaxRequests()));
+
+        return metrics;
+    }
+}
@@ -0,0 +1,64 @@
+package com.codeaim.urlcheck.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.stereotype.Component;
+
+import com.codeaim.urlcheck.task.CheckStatistics;
+import com.codeaim.urlcheck.task.ResultExpiryStatistics;
+import com.codeaim.urlcheck.utility.Reservoir;
+
+@Component
+public class ProbeMetrics implements PublicMetrics
+{
+    private CheckStatistics checkStatistics;
+    private ResultExpiryStatistics resultExpiryStatistics;
+
+    @Autowired
+    public ProbeMetrics(
+            CheckStatistics checkStatistics,
+            ResultExpiryStatistics resultExpiryStatistics
+    )
+    {
+        this.checkStatistics = checkStatistics;
+        this.resultExpiryStatistics = resultExpiryStatistics;
+    }
+
+    @Override
+    public Collection<Metric<?>> metrics()
+    {
+        List<Metric<?>> metrics = new ArrayList<>();
+
+        metrics.add(new Metric<>("probe.scheduler.overdue", checkStatistics.getOverdueCheckCount()));
+        metrics.add(new Metric<>("probe.scheduler.election.size", checkStatistics.getElectionSize()));
+        metrics.add(new Metric<>("probe.scheduler.elected", checkStatistics.getElectedCheckCount()));
+        metrics.add(new Metric<>("probe.scheduler.conflicted", checkStatistics.getConflictedCheckCount()));
+        metrics.add(new Metric<>("probe.scheduler.deferred", checkStatistics.getDeferredCheckCount()));
+        addPercentiles(metrics, "probe.scheduler.lag", checkStatistics.getLagMillis());
+        addPercentiles(metrics, "probe.stage.elect", checkStatistics.getElectMillis());
+        addPercentiles(metrics, "probe.stage.request", checkStatistics.getRequestMillis());
+        addPercentiles(metrics, "probe.stage.result.insert", checkStatistics.getResultInsertMillis());
+        addPercentiles(metrics, "probe.stage.check.update", checkStatistics.getCheckUpdateMillis());
+        metrics.add(new Metric<>("probe.expiry.expired", resultExpiryStatistics.getExpiredResultCount()));
+        metrics.add(new Metric<>("probe.expiry.expired.last", resultExpiryStatistics.getLastExpiredResultCount()));
+        metrics.add(new Metric<>("probe.expiry.scanned.last", resultExpiryStatistics.getLastScannedResultCount()));
+        metrics.add(new Metric<>("probe.expiry.rate", resultExpiryStatistics.getExpiredResultRate()));
+        metrics.add(new Metric<>("probe.expiry.backlog", resultExpiryStatistics.getExpiryBacklog()));
+        metrics.add(new Metric<>("probe.expiry.partitions.dropped", resultExpiryStatistics.getDroppedPartitionCount()));
+
+        return metrics;
+    }
+
+    private void addPercentiles(List<Metric<?>> metrics, String name, Reservoir reservoir)
+    {
+        metrics.add(new Metric<>(name + ".p50", reservoir.percentile(0.5)));
+        metrics.add(new Metric<>(name + ".p95", reservoir.percentile(0.95)));
+        metrics.add(new Metric<>(name + ".p99", reservoir.percentile(0.99)));
+        metrics.add(new Metric<>(name + ".max", reservoir.percentile(1)));
+    }
+}
@@ -1,5 +1,6 @@
 package com.codeaim.urlcheck.repository;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collection;
 
@@ -7,9 +8,11 @@ import com.codeaim.urlcheck.domain.CheckDto;
 
 public interface CheckRepository extends CrudRepository<CheckDto, Long>
 {
-    Collection<CheckDto> findElectableChecks(String probe, boolean isClustered, Instant instant, long candidatePoolSize);
+    Collection<CheckDto> electChecks(String probe, boolean isClustered, Instant instant, long candidatePoolSize, Duration lease);
 
-    Collection<CheckDto> markChecksElected(Collection<CheckDto> checkDtos);
+    int renewLeases(Collection<CheckDto> checkDtos, Duration lease);
 
-    int batchUpdate(Collection<CheckDto> checkDtos);
+    Collection<CheckDto> transitionChecks(Collection<CheckDto> checkDtos);
+
+    long countOverdueChecks(Instant instant);
 }
@@ -0,0 +1,28 @@
+package com.codeaim.urlcheck.repository;
+
+import java.util.OptionalLong;
+
+public final class ChecksChangedEvent
+{
+    private OptionalLong userId;
+
+    private ChecksChangedEvent(OptionalLong userId)
+    {
+        this.userId = userId;
+    }
+
+    public static ChecksChangedEvent all()
+    {
+        return new ChecksChangedEvent(OptionalLong.empty());
+    }
+
+    public static ChecksChangedEvent user(long userId)
+    {
+        return new ChecksChangedEvent(OptionalLong.of(userId));
+    }
+
+    public OptionalLong getUserId()
+    {
+        return userId;
+    }
+}
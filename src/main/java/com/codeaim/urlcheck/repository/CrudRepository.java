@@ -2,6 +2,8 @@ package com.codeaim.urlcheck.repository;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface CrudRepository<T, ID>
 {
@@ -17,6 +19,12 @@ public interface CrudRepository<T, ID>
 
     Collection<T> findAll(Collection<ID> ids);
 
+    Collection<T> findAllAfter(ID id, int limit);
+
+    void forEach(int fetchSize, Consumer<T> consumer);
+
+    Stream<T> stream(int pageSize);
+
     Optional<T> findOne(ID id);
 
     T save(T entity);
@@ -0,0 +1,19 @@
+package com.codeaim.urlcheck.repository;
+
+import com.codeaim.urlcheck.domain.EntitlementDto;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface EntitlementRepository
+{
+    Optional<EntitlementDto> findOne(long userId);
+
+    Collection<EntitlementDto> findAll();
+
+    Optional<EntitlementDto> findSummary(long userId);
+
+    Collection<Long> findPermittedCheckIds(long userId, long checkLimit);
+
+    void refreshSummary();
+}
@@ -0,0 +1,28 @@
+package com.codeaim.urlcheck.repository;
+
+import java.util.OptionalLong;
+
+public final class EntitlementsChangedEvent
+{
+    private OptionalLong userId;
+
+    private EntitlementsChangedEvent(OptionalLong userId)
+    {
+        this.userId = userId;
+    }
+
+    public static EntitlementsChangedEvent all()
+    {
+        return new EntitlementsChangedEvent(OptionalLong.empty());
+    }
+
+    public static EntitlementsChangedEvent user(long userId)
+    {
+        return new EntitlementsChangedEvent(OptionalLong.of(userId));
+    }
+
+    public OptionalLong getUserId()
+    {
+        return userId;
+    }
+}
@@ -1,12 +1,34 @@
 package com.codeaim.urlcheck.repository;
 
 import com.codeaim.urlcheck.domain.ResultDto;
+import com.codeaim.urlcheck.domain.ResultExpiryDto;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
 
 public interface ResultRepository extends CrudRepository<ResultDto, Long>
 {
-    int expireResults(int resultExpiryLimit);
+    void refreshRetention();
+
+    boolean isRetentionStale();
+
+    ResultExpiryDto findExpiryCursor();
+
+    void saveExpiryCursor(Instant cursorCreated, long cursorId);
+
+    ResultExpiryDto expireResults(Instant cursorCreated, long cursorId, int chunkSize);
+
+    long countExpiryBacklog(Instant cursorCreated, long cursorId, long limit);
+
+    int createResultPartitions(Instant until, ChronoUnit unit);
+
+    int dropResultPartitions();
 
     int batchInsert(List<ResultDto> resultDtos);
+
+    int delete(Collection<ResultDto> resultDtos);
+
+    Collection<ResultDto> copyInsert(Collection<ResultDto> resultDtos);
 }
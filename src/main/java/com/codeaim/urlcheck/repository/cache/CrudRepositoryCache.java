@@ -0,0 +1,186 @@
+package com.codeaim.urlcheck.repository.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.codeaim.urlcheck.repository.CrudRepository;
+import com.codeaim.urlcheck.repository.EntitlementsChangedEvent;
+import com.codeaim.urlcheck.utility.ExpiringCache;
+
+public abstract class CrudRepositoryCache<T, ID> implements CrudRepository<T, ID>
+{
+    private CrudRepository<T, ID> delegate;
+    private Function<T, ID> identifier;
+    private ExpiringCache<ID, Optional<T>> entities;
+    private ExpiringCache<Boolean, List<T>> all;
+
+    protected CrudRepositoryCache(
+            CrudRepository<T, ID> delegate,
+            Function<T, ID> identifier,
+            int maximumSize,
+            long ttlMillis,
+            LongSupplier clock
+    )
+    {
+        this.delegate = delegate;
+        this.identifier = identifier;
+        this.entities = new ExpiringCache<>(maximumSize, ttlMillis, clock);
+        this.all = new ExpiringCache<>(1, ttlMillis, clock);
+    }
+
+    @Override
+    public long count()
+    {
+        return delegate.count();
+    }
+
+    @Override
+    public void delete(T entity)
+    {
+        delegate.delete(entity);
+        invalidateAfterCommit();
+    }
+
+    @Override
+    public void deleteAll()
+    {
+        delegate.deleteAll();
+        invalidateAfterCommit();
+    }
+
+    @Override
+    public boolean exists(ID id)
+    {
+        return findOne(id).isPresent();
+    }
+
+    @Override
+    public Collection<T> findAll()
+    {
+        return all.get(Boolean.TRUE, key -> Collections.unmodifiableList(new ArrayList<>(delegate.findAll())));
+    }
+
+    @Override
+    public Collection<T> findAll(Collection<ID> ids)
+    {
+        Map<ID, Optional<T>> found = entities.getAll(ids, missing -> {
+            Map<ID, T> loaded = delegate.findAll(missing)
+                    .stream()
+                    .collect(Collectors.toMap(identifier, Function.identity()));
+
+            return missing
+                    .stream()
+                    .distinct()
+                    .collect(Collectors.toMap(Function.identity(), id -> Optional.ofNullable(loaded.get(id))));
+        });
+
+        return ids
+                .stream()
+                .distinct()
+                .map(found::get)
+                .filter(entity -> entity != null && entity.isPresent())
+                .map(Optional::get)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<T> findAllAfter(ID id, int limit)
+    {
+        return delegate.findAllAfter(id, limit);
+    }
+
+    @Override
+    public void forEach(int fetchSize, Consumer<T> consumer)
+    {
+        delegate.forEach(fetchSize, consumer);
+    }
+
+    @Override
+    public Stream<T> stream(int pageSize)
+    {
+        return delegate.stream(pageSize);
+    }
+
+    @Override
+    public Optional<T> findOne(ID id)
+    {
+        return entities.get(id, delegate::findOne);
+    }
+
+    @Override
+    public T save(T entity)
+    {
+        T saved = delegate.save(entity);
+        invalidateAfterCommit();
+
+        return saved;
+    }
+
+    @Override
+    public Collection<T> save(Collection<T> entities)
+    {
+        Collection<T> saved = delegate.save(entities);
+        invalidateAfterCommit();
+
+        return saved;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntitlementsChanged(EntitlementsChangedEvent event)
+    {
+        invalidateAll();
+    }
+
+    public void invalidateAll()
+    {
+        entities.invalidateAll();
+        all.invalidateAll();
+    }
+
+    public int size()
+    {
+        return entities.size() + all.size();
+    }
+
+    public long getHits()
+    {
+        return entities.getHits() + all.getHits();
+    }
+
+    public long getMisses()
+    {
+        return entities.getMisses() + all.getMisses();
+    }
+
+    private void invalidateAfterCommit()
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+        {
+            invalidateAll();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter()
+        {
+            @Override
+            public void afterCommit()
+            {
+                invalidateAll();
+            }
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package com.codeaim.urlcheck.repository.cache;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.codeaim.urlcheck.configuration.ProbeConfiguration;
+import com.codeaim.urlcheck.domain.CheckDto;
+import com.codeaim.urlcheck.domain.EntitlementDto;
+import com.codeaim.urlcheck.repository.ChecksChangedEvent;
+import com.codeaim.urlcheck.repository.EntitlementRepository;
+import com.codeaim.urlcheck.repository.EntitlementsChangedEvent;
+import com.codeaim.urlcheck.utility.ExpiringCache;
+
+@Component
+public class EntitlementCache
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntitlementCache.class);
+
+    private EntitlementRepository entitlementRepository;
+    private ProbeConfiguration probeConfiguration;
+    private ExpiringCache<Long, Optional<EntitlementDto>> entitlements;
+    private ExpiringCache<Long, Set<Long>> permittedChecks;
+    private AtomicLong summaryChanges = new AtomicLong(1);
+    private AtomicLong unentitledCount = new AtomicLong();
+    private volatile long refreshedSummaryChanges;
+
+    @Autowired
+    public EntitlementCache(
+            EntitlementRepository entitlementRepository,
+            ProbeConfiguration probeConfiguration
+    )
+    {
+        this.entitlementRepository = entitlementRepository;
+        this.probeConfiguration = probeConfiguration;
+        this.entitlements = new ExpiringCache<>(
+                probeConfiguration.getEntitlementCacheSize(),
+                probeConfiguration.getEntitlementCacheTtl(),
+                System::currentTimeMillis);
+        this.permittedChecks = new ExpiringCache<>(
+                probeConfiguration.getEntitlementCacheSize(),
+                probeConfiguration.getEntitlementCacheTtl(),
+                System::currentTimeMillis);
+    }
+
+    public Optional<EntitlementDto> get(long userId)
+    {
+        return entitlements.get(userId, this::loadEntitlement);
+    }
+
+    public boolean isPermitted(CheckDto checkDto)
+    {
+        long checkLimit = get(checkDto.getUserId())
+                .map(EntitlementDto::getCheckLimit)
+                .orElse(0L);
+
+        return permittedChecks
+                .get(checkDto.getUserId(), id -> new HashSet<>(entitlementRepository.findPermittedCheckIds(id, checkLimit)))
+                .contains(checkDto.getId());
+    }
+
+    public synchronized boolean refreshSummary()
+    {
+        long changes = summaryChanges.get();
+
+        if (!probeConfiguration.isPersistEntitlements() || changes == refreshedSummaryChanges)
+            return false;
+
+        entitlementRepository.refreshSummary();
+        refreshedSummaryChanges = changes;
+        entitlements.invalidateAll();
+
+        return true;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntitlementsChanged(EntitlementsChangedEvent event)
+    {
+        summaryChanges.incrementAndGet();
+
+        if (event.getUserId().isPresent())
+        {
+            entitlements.invalidate(event.getUserId().getAsLong());
+            permittedChecks.invalidate(event.getUserId().getAsLong());
+        } else
+        {
+            entitlements.invalidateAll();
+            permittedChecks.invalidateAll();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChecksChanged(ChecksChangedEvent event)
+    {
+        if (event.getUserId().isPresent())
+            permittedChecks.invalidate(event.getUserId().getAsLong());
+        else
+            permittedChecks.invalidateAll();
+    }
+
+    public ExpiringCache<Long, Optional<EntitlementDto>> getEntitlements()
+    {
+        return entitlements;
+    }
+
+    public long getUnentitledCount()
+    {
+        return unentitledCount.get();
+    }
+
+    private Optional<EntitlementDto> loadEntitlement(long userId)
+    {
+        Optional<EntitlementDto> entitlement = isSummaryFresh()
+                ? entitlementRepository.findSummary(userId)
+                : entitlementRepository.findOne(userId);
+
+        if (!entitlement.isPresent())
+        {
+            unentitledCount.incrementAndGet();
+            LOGGER.warn("user={} has no entitlement, check_limit=0", userId);
+        }
+
+        return entitlement;
+    }
+
+    private boolean isSummaryFresh()
+    {
+        return probeConfiguration.isPersistEntitlements() && summaryChanges.get() == refreshedSummaryChanges;
+    }
+}
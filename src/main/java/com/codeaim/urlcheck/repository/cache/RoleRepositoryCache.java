@@ -0,0 +1,31 @@
+package com.codeaim.urlcheck.repository.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import com.codeaim.urlcheck.configuration.ProbeConfiguration;
+import com.codeaim.urlcheck.domain.RoleDto;
+import com.codeaim.urlcheck.repository.RoleRepository;
+
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "com.codeaim.urlcheck.probe", name = "repositoryCache", havingValue = "true", matchIfMissing = true)
+public class RoleRepositoryCache extends CrudRepositoryCache<RoleDto, Long> implements RoleRepository
+{
+    @Autowired
+    public RoleRepositoryCache(
+            @Qualifier("roleRepositoryJdbc") RoleRepository roleRepository,
+            ProbeConfiguration probeConfiguration
+    )
+    {
+        super(
+                roleRepository,
+                RoleDto::getId,
+                probeConfiguration.getRepositoryCacheSize(),
+                probeConfiguration.getRepositoryCacheTtl(),
+                System::currentTimeMillis);
+    }
+}
@@ -0,0 +1,31 @@
+package com.codeaim.urlcheck.repository.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import com.codeaim.urlcheck.configuration.ProbeConfiguration;
+import com.codeaim.urlcheck.domain.UserRoleDto;
+import com.codeaim.urlcheck.repository.UserRoleRepository;
+
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "com.codeaim.urlcheck.probe", name = "repositoryCache", havingValue = "true", matchIfMissing = true)
+public class UserRoleRepositoryCache extends CrudRepositoryCache<UserRoleDto, Long> implements UserRoleRepository
+{
+    @Autowired
+    public UserRoleRepositoryCache(
+            @Qualifier("userRoleRepositoryJdbc") UserRoleRepository userRoleRepository,
+            ProbeConfiguration probeConfiguration
+    )
+    {
+        super(
+                userRoleRepository,
+                UserRoleDto::getId,
+                probeConfiguration.getRepositoryCacheSize(),
+                probeConfiguration.getRepositoryCacheTtl(),
+                System::currentTimeMillis);
+    }
+}
@@ -7,11 +7,16 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.OptionalLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -22,26 +27,35 @@ import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
 import com.codeaim.urlcheck.domain.CheckDto;
+import com.codeaim.urlcheck.domain.ProbeMode;
 import com.codeaim.urlcheck.domain.State;
 import com.codeaim.urlcheck.domain.Status;
 import com.codeaim.urlcheck.repository.CheckRepository;
-
-import okhttp3.HttpUrl;
+import com.codeaim.urlcheck.repository.ChecksChangedEvent;
+import com.codeaim.urlcheck.utility.Cursors;
+import com.codeaim.urlcheck.utility.Durations;
+import com.codeaim.urlcheck.utility.HttpUrls;
+import com.codeaim.urlcheck.utility.Pages;
 
 @Repository
 public class CheckRepositoryJdbc implements CheckRepository
 {
+    private static final String CHECK_COLUMNS = "id, user_id, latest_result_id, name, url, probe, status, state, created, modified, refresh, locked, interval, confirming, version, connect_timeout, read_timeout, call_timeout, probe_mode";
+
     private JdbcTemplate jdbcTemplate;
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @Autowired
     public CheckRepositoryJdbc(
             JdbcTemplate jdbcTemplate,
-            NamedParameterJdbcTemplate namedParameterJdbcTemplate
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            ApplicationEventPublisher applicationEventPublisher
     )
     {
         this.jdbcTemplate = jdbcTemplate;
         this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     @Override
@@ -61,6 +75,9 @@ public class CheckRepositoryJdbc implements CheckRepository
                 .addValue("id", checkDto.getId());
 
         this.namedParameterJdbcTemplate.update(deleteSql, parameters);
+        this.applicationEventPublisher.publishEvent(checkDto.getUserId() != 0
+                ? ChecksChangedEvent.user(checkDto.getUserId())
+                : ChecksChangedEvent.all());
     }
 
     @Override
@@ -69,6 +86,7 @@ public class CheckRepositoryJdbc implements CheckRepository
         String deleteAllSql = "DELETE FROM \"check\"";
 
         this.jdbcTemplate.update(deleteAllSql);
+        this.applicationEventPublisher.publishEvent(ChecksChangedEvent.all());
     }
 
     @Override
@@ -85,7 +103,7 @@ public class CheckRepositoryJdbc implements CheckRepository
     @Override
     public Collection<CheckDto> findAll()
     {
-        String findAllSql = "SELECT * FROM \"check\"";
+        String findAllSql = "SELECT " + CHECK_COLUMNS + " FROM \"check\"";
 
         return this.jdbcTemplate.query(findAllSql, mapCheckDto());
     }
@@ -93,7 +111,7 @@ public class CheckRepositoryJdbc implements CheckRepository
     @Override
     public Collection<CheckDto> findAll(Collection<Long> ids)
     {
-        String findAllSql = "SELECT * FROM \"check\" WHERE id in (:ids)";
+        String findAllSql = "SELECT " + CHECK_COLUMNS + " FROM \"check\" WHERE id in (:ids)";
 
         SqlParameterSource parameters = new MapSqlParameterSource()
                 .addValue("ids", ids);
@@ -102,10 +120,37 @@ public class CheckRepositoryJdbc implements CheckRepository
                 .query(findAllSql, parameters, mapCheckDto());
     }
 
+    @Override
+    public Collection<CheckDto> findAllAfter(Long id, int limit)
+    {
+        String findAllAfterSql = "SELECT " + CHECK_COLUMNS + " FROM \"check\" WHERE id > :id ORDER BY id LIMIT :limit";
+
+        SqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("limit", limit);
+
+        return this.namedParameterJdbcTemplate
+                .query(findAllAfterSql, parameters, mapCheckDto());
+    }
+
+    @Override
+    public void forEach(int fetchSize, Consumer<CheckDto> consumer)
+    {
+        String forEachSql = "SELECT " + CHECK_COLUMNS + " FROM \"check\" ORDER BY id";
+
+        Cursors.forEach(this.jdbcTemplate, forEachSql, fetchSize, mapCheckDto(), consumer);
+    }
+
+    @Override
+    public Stream<CheckDto> stream(int pageSize)
+    {
+        return Pages.stream(this::findAllAfter, CheckDto::getId, 0L, pageSize);
+    }
+
     @Override
     public Optional<CheckDto> findOne(Long id)
     {
-        String findSql = "SELECT * FROM \"check\" WHERE id = :id";
+        String findSql = "SELECT " + CHECK_COLUMNS + " FROM \"check\" WHERE id = :id";
 
         SqlParameterSource parameters = new MapSqlParameterSource()
                 .addValue("id", id);
@@ -133,7 +178,7 @@ public class CheckRepositoryJdbc implements CheckRepository
 
     private CheckDto insert(CheckDto checkDto)
     {
-        String insertSql = "INSERT INTO \"check\"(user_id, latest_result_id, name, url, probe, status, state, created, modified, refresh, locked, interval, confirming, version) VALUES(:user_id, :latest_result_id, :name, :url, :probe, :status::status, :state::state, :created, :modified, :refresh, :locked, :interval, :confirming, :version)";
+        String insertSql = "INSERT INTO \"check\"(user_id, latest_result_id, name, url, probe, status, state, created, modified, refresh, locked, interval, confirming, version, connect_timeout, read_timeout, call_timeout, probe_mode) VALUES(:user_id, :latest_result_id, :name, :url, :probe, :status::status, :state::state, :created, :modified, :refresh, :locked, :interval, :confirming, :version, :connect_timeout, :read_timeout, :call_timeout, :probe_mode::probe_mode)";
 
         KeyHolder keyHolder = new GeneratedKeyHolder();
         SqlParameterSource parameters = new MapSqlParameterSource()
@@ -150,9 +195,14 @@ public class CheckRepositoryJdbc implements CheckRepository
                 .addValue("locked", checkDto.getLocked().isPresent() ? Timestamp.from(checkDto.getLocked().get()) : null)
                 .addValue("interval", checkDto.getInterval())
                 .addValue("confirming", checkDto.isConfirming())
-                .addValue("version", checkDto.getVersion());
+                .addValue("version", checkDto.getVersion())
+                .addValue("connect_timeout", checkDto.getConnectTimeout().isPresent() ? checkDto.getConnectTimeout().getAsInt() : null)
+                .addValue("read_timeout", checkDto.getReadTimeout().isPresent() ? checkDto.getReadTimeout().getAsInt() : null)
+                .addValue("call_timeout", checkDto.getCallTimeout().isPresent() ? checkDto.getCallTimeout().getAsInt() : null)
+                .addValue("probe_mode", checkDto.getProbeMode().toString());
 
         this.namedParameterJdbcTemplate.update(insertSql, parameters, keyHolder, new String[]{"id"});
+        this.applicationEventPublisher.publishEvent(ChecksChangedEvent.user(checkDto.getUserId()));
 
         return CheckDto.buildFrom(checkDto)
                 .id(keyHolder.getKey().longValue())
@@ -161,7 +211,7 @@ public class CheckRepositoryJdbc implements CheckRepository
 
     private CheckDto update(CheckDto checkDto)
     {
-        String updateSql = "UPDATE \"check\" SET user_id = :user_id, latest_result_id = :latest_result_id, name = :name, url = :url, probe = :probe, status = :status::status, state = :state::state, created = :created, modified = :modified, refresh = :refresh, locked = :locked, interval = :interval, confirming = :confirming, version = :version WHERE id = :id";
+        String updateSql = "UPDATE \"check\" SET user_id = :user_id, latest_result_id = :latest_result_id, name = :name, url = :url, probe = :probe, status = :status::status, state = :state::state, created = :created, modified = :modified, refresh = :refresh, locked = :locked, interval = :interval, confirming = :confirming, version = :version, connect_timeout = :connect_timeout, read_timeout = :read_timeout, call_timeout = :call_timeout, probe_mode = :probe_mode::probe_mode WHERE id = :id AND version = :previous_version";
 
         CheckDto updatedCheckDto = CheckDto.buildFrom(checkDto)
                 .modified(Instant.now())
@@ -183,84 +233,120 @@ public class CheckRepositoryJdbc implements CheckRepository
                 .addValue("locked", updatedCheckDto.getLocked().isPresent() ? Timestamp.from(updatedCheckDto.getLocked().get()) : null)
                 .addValue("interval", updatedCheckDto.getInterval())
                 .addValue("confirming", updatedCheckDto.isConfirming())
-                .addValue("version", updatedCheckDto.getVersion());
+                .addValue("version", updatedCheckDto.getVersion())
+                .addValue("connect_timeout", updatedCheckDto.getConnectTimeout().isPresent() ? updatedCheckDto.getConnectTimeout().getAsInt() : null)
+                .addValue("read_timeout", updatedCheckDto.getReadTimeout().isPresent() ? updatedCheckDto.getReadTimeout().getAsInt() : null)
+                .addValue("call_timeout", updatedCheckDto.getCallTimeout().isPresent() ? updatedCheckDto.getCallTimeout().getAsInt() : null)
+                .addValue("probe_mode", updatedCheckDto.getProbeMode().toString())
+                .addValue("previous_version", checkDto.getVersion());
 
-        this.namedParameterJdbcTemplate.update(updateSql, parameters);
+        if (this.namedParameterJdbcTemplate.update(updateSql, parameters) == 0)
+            throw new OptimisticLockingFailureException("Check " + checkDto.getId() + " was modified after version " + checkDto.getVersion());
 
         return updatedCheckDto;
     }
 
     private RowMapper<CheckDto> mapCheckDto()
     {
-        return (rs, rowNum) -> CheckDto.builder()
-                .id(rs.getLong("id"))
-                .userId(rs.getLong("user_id"))
-                .latestResultId(rs.getLong("latest_result_id") != 0 ? OptionalLong.of(rs.getLong("latest_result_id")) : OptionalLong.empty())
-                .name(rs.getString("name"))
-                .url(HttpUrl.parse(rs.getString("url")))
-                .probe(Optional.ofNullable(rs.getString("probe")))
-                .status(Status.valueOf(rs.getString("status")))
-                .state(State.valueOf(rs.getString("state")))
-                .created(rs.getTimestamp("created").toInstant())
-                .modified(rs.getTimestamp("modified").toInstant())
-                .refresh(rs.getTimestamp("refresh").toInstant())
-                .locked(rs.getTimestamp("locked") != null ? Optional.of(rs.getTimestamp("locked").toInstant()) : Optional.empty())
-                .interval(rs.getInt("interval"))
-                .confirming(rs.getBoolean("confirming"))
-                .version(rs.getLong("version"))
-                .build();
+        return (rs, rowNum) -> {
+            CheckDto.Builder builder = CheckDto.builder()
+                    .id(rs.getLong(1))
+                    .userId(rs.getLong(2))
+                    .name(rs.getString(4))
+                    .url(HttpUrls.parse(rs.getString(5)))
+                    .status(Status.valueOf(rs.getString(7)))
+                    .state(State.valueOf(rs.getString(8)))
+                    .created(rs.getTimestamp(9).toInstant())
+                    .modified(rs.getTimestamp(10).toInstant())
+                    .refresh(rs.getTimestamp(11).toInstant())
+                    .interval(rs.getInt(13))
+                    .confirming(rs.getBoolean(14))
+                    .version(rs.getLong(15))
+                    .probeMode(ProbeMode.valueOf(rs.getString(19)));
+
+            long latestResultId = rs.getLong(3);
+            if (latestResultId != 0)
+                builder.latestResultId(OptionalLong.of(latestResultId));
+
+            String probe = rs.getString(6);
+            if (probe != null)
+                builder.probe(Optional.of(probe));
+
+            Timestamp locked = rs.getTimestamp(12);
+            if (locked != null)
+                builder.locked(Optional.of(locked.toInstant()));
+
+            int connectTimeout = rs.getInt(16);
+            if (connectTimeout != 0)
+                builder.connectTimeout(OptionalInt.of(connectTimeout));
+
+            int readTimeout = rs.getInt(17);
+            if (readTimeout != 0)
+                builder.readTimeout(OptionalInt.of(readTimeout));
+
+            int callTimeout = rs.getInt(18);
+            if (callTimeout != 0)
+                builder.callTimeout(OptionalInt.of(callTimeout));
+
+            return builder.build();
+        };
     }
 
     @Override
-    public Collection<CheckDto> findElectableChecks(String probe, boolean isClustered, Instant instant, long candidatePoolSize)
+    public long countOverdueChecks(Instant instant)
     {
-        String findElectableChecksSql = "SELECT * FROM \"check\" WHERE ((state = 'WAITING'::state AND refresh <= :instant) OR (state = 'ELECTED'::state AND locked <= :instant)) AND ((:isClustered = FALSE) OR (confirming = FALSE) OR (:isClustered = TRUE AND probe <> :probe)) ORDER BY status = 'UNKNOWN' DESC, refresh ASC LIMIT :candidatePoolSize";
+        String countOverdueChecksSql = "SELECT COUNT(*) FROM \"check\" WHERE (state = 'WAITING'::state AND refresh <= :instant) OR (state = 'ELECTED'::state AND locked <= now())";
+
+        SqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("instant", Timestamp.from(instant));
+
+        return this.namedParameterJdbcTemplate.queryForObject(countOverdueChecksSql, parameters, Long.class);
+    }
+
+    @Override
+    public Collection<CheckDto> electChecks(String probe, boolean isClustered, Instant instant, long candidatePoolSize, Duration lease)
+    {
+        String electChecksSql = "UPDATE \"check\" SET state = 'ELECTED'::state, locked = (now() + :lease), version = version + 1 WHERE id IN (SELECT id FROM \"check\" WHERE ((state = 'WAITING'::state AND refresh <= :instant) OR (state = 'ELECTED'::state AND locked <= now())) AND ((:isClustered = FALSE) OR (confirming = FALSE) OR (:isClustered = TRUE AND probe <> :probe)) ORDER BY status = 'UNKNOWN' DESC, refresh ASC LIMIT :candidatePoolSize FOR UPDATE SKIP LOCKED) RETURNING " + CHECK_COLUMNS;
 
         SqlParameterSource parameters = new MapSqlParameterSource()
                 .addValue("instant", Timestamp.from(instant))
                 .addValue("probe", probe)
                 .addValue("isClustered", isClustered)
-                .addValue("candidatePoolSize", candidatePoolSize);
+                .addValue("candidatePoolSize", candidatePoolSize)
+                .addValue("lease", Durations.convert(lease));
 
         return this.namedParameterJdbcTemplate
-                .query(findElectableChecksSql, parameters, mapCheckDto());
+                .query(electChecksSql, parameters, mapCheckDto());
     }
 
     @Override
-    public Collection<CheckDto> markChecksElected(Collection<CheckDto> checkDtos)
+    public int renewLeases(Collection<CheckDto> checkDtos, Duration lease)
     {
         if (checkDtos.isEmpty())
-            return Collections.emptyList();
-
-        String markChecksElectedSql = "UPDATE \"check\" SET state = 'ELECTED'::state, locked = (now() + '1 minute') WHERE id in (:ids)";
-
-        List<CheckDto> electedChecks = checkDtos.stream()
-                .map(checkDto -> CheckDto.buildFrom(checkDto)
-                        .state(State.ELECTED)
-                        .locked(Optional.of(Instant.now().plus(Duration.ofMinutes(1))))
-                        .build())
-                .collect(Collectors.toList());
+            return 0;
 
-        SqlParameterSource parameters = new MapSqlParameterSource()
-                .addValue("ids", electedChecks
-                        .stream()
-                        .map(CheckDto::getId)
-                        .collect(Collectors.toList()));
+        String renewLeasesSql = "UPDATE \"check\" SET locked = (now() + :lease) WHERE id = :id AND version = :version AND state = 'ELECTED'::state";
 
-        this.namedParameterJdbcTemplate.update(markChecksElectedSql, parameters);
+        SqlParameterSource[] parameters = checkDtos
+                .stream()
+                .map(checkDto -> new MapSqlParameterSource()
+                        .addValue("id", checkDto.getId())
+                        .addValue("version", checkDto.getVersion())
+                        .addValue("lease", Durations.convert(lease)))
+                .toArray(SqlParameterSource[]::new);
 
-        return electedChecks;
+        return IntStream.of(this.namedParameterJdbcTemplate.batchUpdate(renewLeasesSql, parameters)).sum();
     }
 
     @Override
-    public int batchUpdate(Collection<CheckDto> checkDtos)
+    public Collection<CheckDto> transitionChecks(Collection<CheckDto> checkDtos)
     {
         if (checkDtos.isEmpty())
-            return 0;
+            return Collections.emptyList();
 
-        String updateSql = "UPDATE \"check\" SET user_id = :user_id, latest_result_id = :latest_result_id, name = :name, url = :url, probe = :probe, status = :status::status, state = :state::state, created = :created, modified = :modified, refresh = :refresh, locked = :locked, interval = :interval, confirming = :confirming, version = :version WHERE id = :id";
+        String transitionSql = "UPDATE \"check\" SET latest_result_id = :latest_result_id, probe = :probe, status = :status::status, state = :state::state, modified = :modified, refresh = :refresh, locked = :locked, confirming = :confirming, version = :version + 1 WHERE id = :id AND version = :version";
 
-        List<CheckDto> updatedCheckDtos = checkDtos
+        List<CheckDto> transitionedCheckDtos = checkDtos
                 .stream()
                 .map(checkDto -> CheckDto.buildFrom(checkDto)
                         .modified(Instant.now())
@@ -269,29 +355,30 @@ public class CheckRepositoryJdbc implements CheckRepository
                 .collect(Collectors.toList());
 
         SqlParameterSource[] parameters =
-                new SqlParameterSource[updatedCheckDtos.size()];
+                new SqlParameterSource[transitionedCheckDtos.size()];
 
-        for (int i = 0; i < updatedCheckDtos.size(); i++)
+        for (int i = 0; i < transitionedCheckDtos.size(); i++)
         {
-            CheckDto updatedCheckDto = updatedCheckDtos.get(i);
+            CheckDto transitionedCheckDto = transitionedCheckDtos.get(i);
             parameters[i] = new MapSqlParameterSource()
-                    .addValue("id", updatedCheckDto.getId())
-                    .addValue("user_id", updatedCheckDto.getUserId())
-                    .addValue("latest_result_id", updatedCheckDto.getLatestResultId().isPresent() ? updatedCheckDto.getLatestResultId().getAsLong() : null)
-                    .addValue("name", updatedCheckDto.getName())
-                    .addValue("url", updatedCheckDto.getUrl().toString())
-                    .addValue("probe", updatedCheckDto.getProbe().isPresent() ? updatedCheckDto.getProbe().get() : null)
-                    .addValue("status", updatedCheckDto.getStatus().toString())
-                    .addValue("state", updatedCheckDto.getState().toString())
-                    .addValue("created", Timestamp.from(updatedCheckDto.getCreated()))
-                    .addValue("modified", Timestamp.from(updatedCheckDto.getModified()))
-                    .addValue("refresh", Timestamp.from(updatedCheckDto.getRefresh()))
-                    .addValue("locked", updatedCheckDto.getLocked().isPresent() ? Timestamp.from(updatedCheckDto.getLocked().get()) : null)
-                    .addValue("interval", updatedCheckDto.getInterval())
-                    .addValue("confirming", updatedCheckDto.isConfirming())
-                    .addValue("version", updatedCheckDto.getVersion());
+                    .addValue("id", transitionedCheckDto.getId())
+                    .addValue("latest_result_id", transitionedCheckDto.getLatestResultId().isPresent() ? transitionedCheckDto.getLatestResultId().getAsLong() : null)
+                    .addValue("probe", transitionedCheckDto.getProbe().isPresent() ? transitionedCheckDto.getProbe().get() : null)
+                    .addValue("status", transitionedCheckDto.getStatus().toString())
+                    .addValue("state", transitionedCheckDto.getState().toString())
+                    .addValue("modified", Timestamp.from(transitionedCheckDto.getModified()))
+                    .addValue("refresh", Timestamp.from(transitionedCheckDto.getRefresh()))
+                    .addValue("locked", transitionedCheckDto.getLocked().isPresent() ? Timestamp.from(transitionedCheckDto.getLocked().get()) : null)
+                    .addValue("confirming", transitionedCheckDto.isConfirming())
+                    .addValue("version", transitionedCheckDto.getVersion() - 1);
         }
 
-        return IntStream.of(this.namedParameterJdbcTemplate.batchUpdate(updateSql, parameters)).sum();
+        int[] updateCounts = this.namedParameterJdbcTemplate.batchUpdate(transitionSql, parameters);
+
+        return IntStream
+                .range(0, transitionedCheckDtos.size())
+                .filter(index -> updateCounts[index] > 0)
+                .mapToObj(transitionedCheckDtos::get)
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,100 @@
+package com.codeaim.urlcheck.repository.jdbc;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.postgresql.util.PGInterval;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import com.codeaim.urlcheck.domain.EntitlementDto;
+import com.codeaim.urlcheck.repository.EntitlementRepository;
+import com.codeaim.urlcheck.utility.Durations;
+
+@Repository
+public class EntitlementRepositoryJdbc implements EntitlementRepository
+{
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    public EntitlementRepositoryJdbc(
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate
+    )
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    }
+
+    @Override
+    public Optional<EntitlementDto> findOne(long userId)
+    {
+        String findSql = "SELECT \"user_role\".user_id, MAX(\"role\".check_limit) AS check_limit, MAX(\"role\".result_event_limit) AS result_event_limit, MAX(\"role\".result_retention_duration) AS result_retention_duration FROM \"user_role\" INNER JOIN \"role\" ON \"role\".id = \"user_role\".role_id WHERE \"user_role\".user_id = :user_id GROUP BY \"user_role\".user_id";
+
+        SqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("user_id", userId);
+
+        return this.namedParameterJdbcTemplate
+                .query(findSql, parameters, mapEntitlementDto())
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Collection<EntitlementDto> findAll()
+    {
+        String findAllSql = "SELECT \"user_role\".user_id, MAX(\"role\".check_limit) AS check_limit, MAX(\"role\".result_event_limit) AS result_event_limit, MAX(\"role\".result_retention_duration) AS result_retention_duration FROM \"user_role\" INNER JOIN \"role\" ON \"role\".id = \"user_role\".role_id GROUP BY \"user_role\".user_id";
+
+        return this.jdbcTemplate.query(findAllSql, mapEntitlementDto());
+    }
+
+    @Override
+    public Optional<EntitlementDto> findSummary(long userId)
+    {
+        String findSql = "SELECT * FROM user_entitlement WHERE user_id = :user_id";
+
+        SqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("user_id", userId);
+
+        return this.namedParameterJdbcTemplate
+                .query(findSql, parameters, mapEntitlementDto())
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Collection<Long> findPermittedCheckIds(long userId, long checkLimit)
+    {
+        String findPermittedCheckIdsSql = "SELECT \"check\".id FROM \"check\" WHERE \"check\".user_id = :user_id ORDER BY \"check\".id LIMIT :check_limit";
+
+        SqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("user_id", userId)
+                .addValue("check_limit", checkLimit);
+
+        return this.namedParameterJdbcTemplate.queryForList(findPermittedCheckIdsSql, parameters, Long.class);
+    }
+
+    @Override
+    public void refreshSummary()
+    {
+        String refreshSummarySql = "REFRESH MATERIALIZED VIEW CONCURRENTLY user_entitlement";
+
+        this.jdbcTemplate.execute(refreshSummarySql);
+    }
+
+    private RowMapper<EntitlementDto> mapEntitlementDto()
+    {
+        return (rs, rowNum) -> EntitlementDto.builder()
+                .userId(rs.getLong("user_id"))
+                .checkLimit(rs.getLong("check_limit"))
+                .resultEventLimit(rs.getLong("result_event_limit"))
+                .resultRetentionDuration(Durations.convert((PGInterval) rs.getObject("result_retention_duration")))
+                .build();
+    }
+}
@@ -1,10 +1,19 @@
 package com.codeaim.urlcheck.repository.jdbc;
 
+import com.codeaim.urlcheck.domain.Failure;
 import com.codeaim.urlcheck.domain.ResultDto;
+import com.codeaim.urlcheck.domain.ResultExpiryDto;
 import com.codeaim.urlcheck.domain.Status;
 import com.codeaim.urlcheck.repository.ResultRepository;
+import com.codeaim.urlcheck.utility.Cursors;
+import com.codeaim.urlcheck.utility.Pages;
+import com.codeaim.urlcheck.utility.Partitions;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -13,19 +22,47 @@ import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
-
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Repository
 public class ResultRepositoryJdbc implements ResultRepository
 {
+    private static final String RESULT_COLUMNS = "id, check_id, previous_result_id, status, probe, status_code, response_time, changed, confirmation, created, failure, dns_time, connect_time, tls_time, request_write_time, first_byte_time, total_time";
+    private static final String INSERT_RESULT_SQL = "INSERT INTO result(check_id, previous_result_id, status, probe, status_code, response_time, changed, confirmation, created, failure, dns_time, connect_time, tls_time, request_write_time, first_byte_time, total_time) VALUES(?, ?, ?::status, ?, ?, ?, ?, ?, ?, ?::failure, ?, ?, ?, ?, ?, ?)";
+    private static final int[] INSERT_RESULT_TYPES = {Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.INTEGER, Types.BIGINT, Types.BOOLEAN, Types.BOOLEAN, Types.TIMESTAMP, Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.BIGINT};
+    private static final HttpStatus[] HTTP_STATUSES = new HttpStatus[600];
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final String PARTITION_LOCK_TIMEOUT = "5s";
+
+    static
+    {
+        for (HttpStatus httpStatus : HttpStatus.values())
+            if (HTTP_STATUSES[httpStatus.value()] == null)
+                HTTP_STATUSES[httpStatus.value()] = httpStatus;
+    }
+
     private JdbcTemplate jdbcTemplate;
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
@@ -80,7 +117,7 @@ public class ResultRepositoryJdbc implements ResultRepository
     @Override
     public Collection<ResultDto> findAll()
     {
-        String findAllSql = "SELECT * FROM result";
+        String findAllSql = "SELECT " + RESULT_COLUMNS + " FROM result";
 
         return this.jdbcTemplate.query(findAllSql, mapResultDto());
     }
@@ -88,7 +125,7 @@ public class ResultRepositoryJdbc implements ResultRepository
     @Override
     public Collection<ResultDto> findAll(Collection<Long> ids)
     {
-        String findAllSql = "SELECT * FROM result WHERE id in (:ids)";
+        String findAllSql = "SELECT " + RESULT_COLUMNS + " FROM result WHERE id in (:ids)";
 
         SqlParameterSource parameters = new MapSqlParameterSource()
                 .addValue("ids", ids);
@@ -97,10 +134,37 @@ public class ResultRepositoryJdbc implements ResultRepository
                 .query(findAllSql, parameters, mapResultDto());
     }
 
+    @Override
+    public Collection<ResultDto> findAllAfter(Long id, int limit)
+    {
+        String findAllAfterSql = "SELECT " + RESULT_COLUMNS + " FROM result WHERE id > :id ORDER BY id LIMIT :limit";
+
+        SqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("limit", limit);
+
+        return this.namedParameterJdbcTemplate
+                .query(findAllAfterSql, parameters, mapResultDto());
+    }
+
+    @Override
+    public void forEach(int fetchSize, Consumer<ResultDto> consumer)
+    {
+        String forEachSql = "SELECT " + RESULT_COLUMNS + " FROM result ORDER BY id";
+
+        Cursors.forEach(this.jdbcTemplate, forEachSql, fetchSize, mapResultDto(), consumer);
+    }
+
+    @Override
+    public Stream<ResultDto> stream(int pageSize)
+    {
+        return Pages.stream(this::findAllAfter, ResultDto::getId, 0L, pageSize);
+    }
+
     @Override
     public Optional<ResultDto> findOne(Long id)
     {
-        String findSql = "SELECT * FROM result WHERE id = :id";
+        String findSql = "SELECT " + RESULT_COLUMNS + " FROM result WHERE id = :id";
 
         SqlParameterSource parameters = new MapSqlParameterSource()
                 .addValue("id", id);
@@ -114,21 +178,14 @@ public class ResultRepositoryJdbc implements ResultRepository
     @Override
     public ResultDto save(ResultDto resultDto)
     {
-        String insertSql = "INSERT INTO result(check_id, previous_result_id, status, probe, status_code, response_time, changed, confirmation, created) VALUES(:check_id, :previous_result_id, :status::status, :probe, :status_code, :response_time, :changed, :confirmation, :created)";
-
         KeyHolder keyHolder = new GeneratedKeyHolder();
-        SqlParameterSource parameters = new MapSqlParameterSource()
-                .addValue("check_id", resultDto.getCheckId())
-                .addValue("previous_result_id", resultDto.getPreviousResultId().isPresent() ? resultDto.getPreviousResultId().getAsLong() : null)
-                .addValue("status", resultDto.getStatus().toString())
-                .addValue("probe", resultDto.getProbe())
-                .addValue("status_code", resultDto.getStatusCode().value())
-                .addValue("response_time", resultDto.getResponseTime().isPresent() ? resultDto.getResponseTime().getAsLong() : null)
-                .addValue("changed", resultDto.isChanged())
-                .addValue("confirmation", resultDto.isConfirmation())
-                .addValue("created", Timestamp.from(resultDto.getCreated()));
-
-        this.namedParameterJdbcTemplate.update(insertSql, parameters, keyHolder, new String[]{"id"});
+
+        this.jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_RESULT_SQL, new String[]{"id"});
+            bindResult(statement, resultDto);
+
+            return statement;
+        }, keyHolder);
 
         return ResultDto.buildFrom(resultDto)
                 .id(keyHolder.getKey().longValue())
@@ -138,59 +195,479 @@ public class ResultRepositoryJdbc implements ResultRepository
     @Override
     public Collection<ResultDto> save(Collection<ResultDto> entities)
     {
-        return entities.stream().map(this::save).collect(Collectors.toList());
+        if (entities.isEmpty())
+            return Collections.emptyList();
+
+        List<ResultDto> resultDtos = new ArrayList<>(entities);
+
+        List<Long> ids = this.jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_RESULT_SQL, new String[]{"id"}))
+            {
+                for (ResultDto resultDto : resultDtos)
+                {
+                    bindResult(statement, resultDto);
+                    statement.addBatch();
+                }
+
+                statement.executeBatch();
+
+                List<Long> generatedIds = new ArrayList<>(resultDtos.size());
+                try (ResultSet generatedKeys = statement.getGeneratedKeys())
+                {
+                    while (generatedKeys.next())
+                        generatedIds.add(generatedKeys.getLong(1));
+                }
+
+                if (generatedIds.size() != resultDtos.size())
+                    throw new IncorrectResultSizeDataAccessException("Generated key count does not match inserted result count", resultDtos.size(), generatedIds.size());
+
+                return generatedIds;
+            }
+        });
+
+        return IntStream
+                .range(0, resultDtos.size())
+                .mapToObj(index -> ResultDto.buildFrom(resultDtos.get(index))
+                        .id(ids.get(index))
+                        .build())
+                .collect(Collectors.toList());
     }
 
     private RowMapper<ResultDto> mapResultDto()
     {
-        return (rs, rowNum) -> ResultDto.builder()
-                .id(rs.getLong("id"))
-                .checkId(rs.getLong("check_id"))
-                .previousResultId(rs.getLong("previous_result_id") != 0 ? OptionalLong.of(rs.getLong("previous_result_id")) : OptionalLong.empty())
-                .status(Status.valueOf(rs.getString("status")))
-                .probe(rs.getString("probe"))
-                .statusCode(HttpStatus.valueOf(rs.getInt("status_code")))
-                .responseTime(rs.getLong("response_time") != 0 ? OptionalLong.of(rs.getLong("response_time")) : OptionalLong.empty())
-                .changed(rs.getBoolean("changed"))
-                .confirmation(rs.getBoolean("confirmation"))
-                .created(rs.getTimestamp("created").toInstant())
-                .build();
+        return (rs, rowNum) -> {
+            ResultDto.Builder builder = ResultDto.builder()
+                    .id(rs.getLong(1))
+                    .checkId(rs.getLong(2))
+                    .status(Status.valueOf(rs.getString(4)))
+                    .probe(rs.getString(5))
+                    .statusCode(mapHttpStatus(rs.getInt(6)))
+                    .changed(rs.getBoolean(8))
+                    .confirmation(rs.getBoolean(9))
+                    .created(rs.getTimestamp(10).toInstant());
+
+            long previousResultId = rs.getLong(3);
+            if (previousResultId != 0)
+                builder.previousResultId(OptionalLong.of(previousResultId));
+
+            long responseTime = rs.getLong(7);
+            if (responseTime != 0)
+                builder.responseTime(OptionalLong.of(responseTime));
+
+            String failure = rs.getString(11);
+            if (failure != null)
+                builder.failure(Optional.of(Failure.valueOf(failure)));
+
+            long dnsTime = rs.getLong(12);
+            if (dnsTime != 0)
+                builder.dnsTime(OptionalLong.of(dnsTime));
+
+            long connectTime = rs.getLong(13);
+            if (connectTime != 0)
+                builder.connectTime(OptionalLong.of(connectTime));
+
+            long tlsTime = rs.getLong(14);
+            if (tlsTime != 0)
+                builder.tlsTime(OptionalLong.of(tlsTime));
+
+            long requestWriteTime = rs.getLong(15);
+            if (requestWriteTime != 0)
+                builder.requestWriteTime(OptionalLong.of(requestWriteTime));
+
+            long firstByteTime = rs.getLong(16);
+            if (firstByteTime != 0)
+                builder.firstByteTime(OptionalLong.of(firstByteTime));
+
+            long totalTime = rs.getLong(17);
+            if (totalTime != 0)
+                builder.totalTime(OptionalLong.of(totalTime));
+
+            return builder.build();
+        };
+    }
+
+    private static HttpStatus mapHttpStatus(int statusCode)
+    {
+        if (statusCode >= 0 && statusCode < HTTP_STATUSES.length && HTTP_STATUSES[statusCode] != null)
+            return HTTP_STATUSES[statusCode];
+
+        return HttpStatus.valueOf(statusCode);
+    }
+
+    @Override
+    public void refreshRetention()
+    {
+        String refreshRetentionSql = "REFRESH MATERIALIZED VIEW CONCURRENTLY check_retention";
+
+        this.jdbcTemplate.execute(refreshRetentionSql);
     }
 
     @Override
-    public int expireResults(int resultExpiryLimit)
+    public boolean isRetentionStale()
     {
-        String expireResultsSql = "DELETE FROM \"result\" WHERE \"result\".id IN (SELECT \"result\".id FROM \"result\" INNER JOIN \"check\" ON \"check\".id = \"result\".check_id INNER JOIN (SELECT \"check\".id AS check_id, MAX(\"role\".result_retention_duration) AS maximum_result_retention_duration FROM \"check\" INNER JOIN \"user\" ON \"user\".id = \"check\".user_id INNER JOIN \"user_role\" ON \"user_role\".user_id = \"user\".id INNER JOIN \"role\" ON \"role\".id = \"user_role\".role_id GROUP BY \"check\".id) AS limits ON limits.check_id = \"result\".check_id WHERE (\"result\".changed = FALSE OR \"result\".confirmation = FALSE) AND \"result\".created < (NOW() - limits.maximum_result_retention_duration) AND \"result\".id <> \"check\".latest_result_id LIMIT :result_expiry_limit)";
+        String retentionStaleSql = "SELECT EXISTS(SELECT 1 FROM \"check\" WHERE NOT EXISTS(SELECT 1 FROM check_retention WHERE check_retention.check_id = \"check\".id)) OR EXISTS(SELECT 1 FROM check_retention WHERE NOT EXISTS(SELECT 1 FROM \"check\" WHERE \"check\".id = check_retention.check_id))";
+
+        return this.jdbcTemplate.queryForObject(retentionStaleSql, Boolean.class);
+    }
+
+    @Override
+    public ResultExpiryDto findExpiryCursor()
+    {
+        String findExpiryCursorSql = "SELECT created, result_id FROM result_expiry_cursor";
+
+        return this.jdbcTemplate.queryForObject(findExpiryCursorSql, (rs, rowNum) ->
+                ResultExpiryDto.builder()
+                        .cursorCreated(rs.getTimestamp("created").toInstant())
+                        .cursorId(rs.getLong("result_id"))
+                        .build());
+    }
+
+    @Override
+    public void saveExpiryCursor(Instant cursorCreated, long cursorId)
+    {
+        String saveExpiryCursorSql = "UPDATE result_expiry_cursor SET created = :cursor_created, result_id = :cursor_id";
+
+        SqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("cursor_created", Timestamp.from(cursorCreated))
+                .addValue("cursor_id", cursorId);
+
+        this.namedParameterJdbcTemplate.update(saveExpiryCursorSql, parameters);
+    }
+
+    @Override
+    public ResultExpiryDto expireResults(Instant cursorCreated, long cursorId, int chunkSize)
+    {
+        String expireResultsSql = "WITH chunk AS (SELECT \"result\".id, \"result\".check_id, \"result\".changed, \"result\".confirmation, \"result\".created FROM \"result\" WHERE (\"result\".created, \"result\".id) > (:cursor_created, :cursor_id) AND \"result\".created < (NOW() - (SELECT MIN(result_retention_duration) FROM check_retention)) ORDER BY \"result\".created, \"result\".id LIMIT :chunk_size), expired AS (DELETE FROM \"result\" USING chunk INNER JOIN check_retention ON check_retention.check_id = chunk.check_id INNER JOIN \"check\" ON \"check\".id = chunk.check_id WHERE \"result\".id = chunk.id AND (chunk.changed = FALSE OR chunk.confirmation = FALSE) AND chunk.created < (NOW() - check_retention.result_retention_duration) AND chunk.id <> \"check\".latest_result_id RETURNING \"result\".id), unlinked AS (UPDATE \"result\" SET previous_result_id = NULL WHERE \"result\".previous_result_id IN (SELECT expired.id FROM expired) AND \"result\".id NOT IN (SELECT expired.id FROM expired)), last AS (SELECT chunk.created, chunk.id FROM chunk ORDER BY chunk.created DESC, chunk.id DESC LIMIT 1) SELECT (SELECT COUNT(*) FROM chunk) AS scanned, (SELECT COUNT(*) FROM expired) AS deleted, (SELECT last.created FROM last) AS cursor_created, (SELECT last.id FROM last) AS cursor_id";
 
         SqlParameterSource parameters = new MapSqlParameterSource()
-                .addValue("result_expiry_limit", resultExpiryLimit);
+                .addValue("cursor_created", Timestamp.from(cursorCreated))
+                .addValue("cursor_id", cursorId)
+                .addValue("chunk_size", chunkSize);
+
+        return this.namedParameterJdbcTemplate.queryForObject(expireResultsSql, parameters, (rs, rowNum) ->
+                ResultExpiryDto.builder()
+                        .scanned(rs.getInt("scanned"))
+                        .deleted(rs.getInt("deleted"))
+                        .cursorCreated(rs.getTimestamp("cursor_created") != null ? rs.getTimestamp("cursor_created").toInstant() : cursorCreated)
+                        .cursorId(rs.getTimestamp("cursor_created") != null ? rs.getLong("cursor_id") : cursorId)
+                        .build());
+    }
+
+    @Override
+    public long countExpiryBacklog(Instant cursorCreated, long cursorId, long limit)
+    {
+        String countExpiryBacklogSql = "SELECT COUNT(*) FROM (SELECT 1 FROM \"result\" WHERE (\"result\".created, \"result\".id) > (:cursor_created, :cursor_id) AND \"result\".created < (NOW() - (SELECT MIN(result_retention_duration) FROM check_retention)) LIMIT :limit) backlog";
+
+        SqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("cursor_created", Timestamp.from(cursorCreated))
+                .addValue("cursor_id", cursorId)
+                .addValue("limit", limit);
+
+        return this.namedParameterJdbcTemplate.queryForObject(countExpiryBacklogSql, parameters, Long.class);
+    }
+
+    @Override
+    public int createResultPartitions(Instant until, ChronoUnit unit)
+    {
+        if (!isPartitioned())
+            return 0;
+
+        String existsSql = "SELECT EXISTS(SELECT 1 FROM result_retained WHERE created >= :start AND created < :end)";
+
+        LocalDateTime now = Partitions.truncate(LocalDateTime.now(), unit);
+        LocalDateTime start = findResultPartitions()
+                .stream()
+                .map(name -> Partitions.end("result", name))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .filter(end -> end.isAfter(now))
+                .max(LocalDateTime::compareTo)
+                .orElse(now);
+        LocalDateTime end = Timestamp.from(until).toLocalDateTime();
+
+        int created = 0;
+        for (; start.isBefore(end); start = start.plus(1, unit))
+        {
+            SqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("start", Timestamp.valueOf(start))
+                    .addValue("end", Timestamp.valueOf(start.plus(1, unit)));
+
+            if (this.namedParameterJdbcTemplate.queryForObject(existsSql, parameters, Boolean.class))
+                continue;
+
+            this.jdbcTemplate.execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF result FOR VALUES FROM ('%s') TO ('%s')",
+                    quoteIdentifier(Partitions.name("result", start, unit)),
+                    Timestamp.valueOf(start),
+                    Timestamp.valueOf(start.plus(1, unit))));
+            created++;
+        }
+
+        return created;
+    }
+
+    @Override
+    public int dropResultPartitions()
+    {
+        if (!isPartitioned())
+            return 0;
+
+        String horizonSql = "SELECT (NOW() - MAX(result_retention_duration))::TIMESTAMP FROM check_retention";
+
+        Timestamp horizon = this.jdbcTemplate.queryForObject(horizonSql, Timestamp.class);
+        if (horizon == null)
+            return 0;
+
+        List<String> expiredPartitions = findResultPartitions()
+                .stream()
+                .filter(name -> Partitions.end("result", name).map(end -> !end.isAfter(horizon.toLocalDateTime())).orElse(false))
+                .sorted()
+                .collect(Collectors.toList());
+
+        for (String partitionName : expiredPartitions)
+        {
+            String partition = quoteIdentifier(partitionName);
+            String staging = quoteIdentifier(partitionName + "_staging");
+            String retainedSql = "(" + partition + ".changed = TRUE AND " + partition + ".confirmation = TRUE) OR " + partition + ".id IN (SELECT latest_result_id FROM \"check\" WHERE latest_result_id IS NOT NULL) OR " + partition + ".check_id NOT IN (SELECT check_id FROM check_retention WHERE result_retention_duration IS NOT NULL)";
+            String unlinkSql = "UPDATE result SET previous_result_id = NULL WHERE previous_result_id IN (SELECT " + partition + ".id FROM " + partition + " WHERE NOT (" + retainedSql + "))";
+            String stageSql = "CREATE TABLE " + staging + " AS SELECT * FROM " + partition + " WHERE " + retainedSql;
+            String lockTimeoutSql = "SET LOCAL lock_timeout = '" + PARTITION_LOCK_TIMEOUT + "'";
+            String detachSql = "ALTER TABLE result DETACH PARTITION " + partition;
+            String retainSql = "INSERT INTO result SELECT * FROM " + staging;
+            String dropSql = "DROP TABLE " + partition + ", " + staging;
+
+            executeInTransaction(unlinkSql, "DROP TABLE IF EXISTS " + staging, stageSql);
+            executeInTransaction(lockTimeoutSql, detachSql, retainSql, dropSql);
+        }
 
-        return this.namedParameterJdbcTemplate.update(expireResultsSql, parameters);
+        return expiredPartitions.size();
+    }
+
+    private void executeInTransaction(String... sqls)
+    {
+        boolean transactional = TransactionSynchronizationManager.hasResource(this.jdbcTemplate.getDataSource());
+
+        this.jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (transactional)
+            {
+                execute(connection, sqls);
+
+                return null;
+            }
+
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try
+            {
+                execute(connection, sqls);
+                connection.commit();
+
+                return null;
+            } catch (SQLException e)
+            {
+                connection.rollback();
+                throw e;
+            } finally
+            {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    private void execute(Connection connection, String... sqls) throws SQLException
+    {
+        try (Statement statement = connection.createStatement())
+        {
+            for (String sql : sqls)
+                statement.execute(sql);
+        }
+    }
+
+    private static String quoteIdentifier(String identifier)
+    {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    private boolean isPartitioned()
+    {
+        String partitionedSql = "SELECT EXISTS(SELECT 1 FROM pg_class WHERE oid = 'result'::regclass AND relkind = 'p')";
+
+        return this.jdbcTemplate.queryForObject(partitionedSql, Boolean.class);
+    }
+
+    private List<String> findResultPartitions()
+    {
+        String partitionsSql = "SELECT pg_class.relname FROM pg_inherits INNER JOIN pg_class ON pg_class.oid = pg_inherits.inhrelid WHERE pg_inherits.inhparent = 'result'::regclass";
+
+        return this.jdbcTemplate.queryForList(partitionsSql, String.class);
     }
 
     @Override
     public int batchInsert(List<ResultDto> resultDtos)
     {
-        String insertSql = "INSERT INTO result(check_id, previous_result_id, status, probe, status_code, response_time, changed, confirmation, created) VALUES(:check_id, :previous_result_id, :status::status, :probe, :status_code, :response_time, :changed, :confirmation, :created)";
+        List<Object[]> parameters = resultDtos
+                .stream()
+                .map(ResultRepositoryJdbc::resultValues)
+                .collect(Collectors.toList());
 
-        SqlParameterSource[] parameters =
-                new SqlParameterSource[resultDtos.size()];
+        return IntStream.of(this.jdbcTemplate.batchUpdate(INSERT_RESULT_SQL, parameters, INSERT_RESULT_TYPES)).sum();
+    }
+
+    @Override
+    public int delete(Collection<ResultDto> resultDtos)
+    {
+        if (resultDtos.isEmpty())
+            return 0;
 
-        for (int i = 0; i < resultDtos.size(); i++)
+        String deleteSql = "DELETE FROM result WHERE id IN (:ids)";
+
+        SqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("ids", resultDtos
+                        .stream()
+                        .map(ResultDto::getId)
+                        .collect(Collectors.toList()));
+
+        return this.namedParameterJdbcTemplate.update(deleteSql, parameters);
+    }
+
+    @Override
+    public Collection<ResultDto> copyInsert(Collection<ResultDto> entities)
+    {
+        if (entities.isEmpty())
+            return Collections.emptyList();
+
+        String allocateIdsSql = "SELECT nextval('result_id_seq') FROM generate_series(1, ?)";
+
+        List<Long> ids = this.jdbcTemplate.queryForList(allocateIdsSql, Long.class, entities.size());
+
+        List<ResultDto> resultDtos = new ArrayList<>(entities);
+        List<ResultDto> identifiedResultDtos = IntStream
+                .range(0, resultDtos.size())
+                .mapToObj(index -> ResultDto.buildFrom(resultDtos.get(index))
+                        .id(ids.get(index))
+                        .build())
+                .collect(Collectors.toList());
+
+        boolean transactional = TransactionSynchronizationManager.hasResource(this.jdbcTemplate.getDataSource());
+
+        this.jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            if (transactional)
+                return copyStaged(connection, identifiedResultDtos);
+
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try
+            {
+                long copied = copyStaged(connection, identifiedResultDtos);
+                connection.commit();
+
+                return copied;
+            } catch (SQLException e)
+            {
+                connection.rollback();
+                throw e;
+            } finally
+            {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+
+        return identifiedResultDtos;
+    }
+
+    private long copyStaged(Connection connection, List<ResultDto> resultDtos) throws SQLException
+    {
+        String createStagingSql = "CREATE TEMPORARY TABLE result_staging (LIKE result INCLUDING DEFAULTS) ON COMMIT DROP";
+        String copySql = "COPY result_staging(id, check_id, previous_result_id, status, probe, status_code, response_time, changed, confirmation, created, failure, dns_time, connect_time, tls_time, request_write_time, first_byte_time, total_time) FROM STDIN WITH (FORMAT csv)";
+        String mergeSql = "INSERT INTO result(id, check_id, previous_result_id, status, probe, status_code, response_time, changed, confirmation, created, failure, dns_time, connect_time, tls_time, request_write_time, first_byte_time, total_time) SELECT id, check_id, previous_result_id, status, probe, status_code, response_time, changed, confirmation, created, failure, dns_time, connect_time, tls_time, request_write_time, first_byte_time, total_time FROM result_staging";
+        String dropStagingSql = "DROP TABLE result_staging";
+
+        try (Statement statement = connection.createStatement())
+        {
+            statement.execute(createStagingSql);
+            long copied = copyIn(
+                    connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql),
+                    resultDtos);
+            statement.execute(mergeSql);
+            statement.execute(dropStagingSql);
+
+            return copied;
+        }
+    }
+
+    private long copyIn(CopyIn copyIn, List<ResultDto> resultDtos) throws SQLException
+    {
+        try
+        {
+            StringBuilder csv = new StringBuilder(COPY_BUFFER_SIZE + 512);
+
+            for (ResultDto resultDto : resultDtos)
+            {
+                appendCsv(csv, resultDto);
+
+                if (csv.length() >= COPY_BUFFER_SIZE)
+                    writeToCopy(copyIn, csv);
+            }
+            writeToCopy(copyIn, csv);
+
+            return copyIn.endCopy();
+        } finally
         {
-            ResultDto resultDto = resultDtos.get(i);
-            parameters[i] = new MapSqlParameterSource()
-                    .addValue("check_id", resultDto.getCheckId())
-                    .addValue("previous_result_id", resultDto.getPreviousResultId().isPresent() ? resultDto.getPreviousResultId().getAsLong() : null)
-                    .addValue("status", resultDto.getStatus().toString())
-                    .addValue("probe", resultDto.getProbe())
-                    .addValue("status_code", resultDto.getStatusCode().value())
-                    .addValue("response_time", resultDto.getResponseTime().isPresent() ? resultDto.getResponseTime().getAsLong() : null)
-                    .addValue("changed", resultDto.isChanged())
-                    .addValue("confirmation", resultDto.isConfirmation())
-                    .addValue("created", Timestamp.from(resultDto.getCreated()));
+            if (copyIn.isActive())
+                copyIn.cancelCopy();
         }
+    }
 
-        return IntStream.of(this.namedParameterJdbcTemplate.batchUpdate(insertSql, parameters)).sum();
+    private void writeToCopy(CopyIn copyIn, StringBuilder csv) throws SQLException
+    {
+        if (csv.length() == 0)
+            return;
+
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        csv.setLength(0);
+    }
+
+    private void appendCsv(StringBuilder csv, ResultDto resultDto)
+    {
+        csv.append(resultDto.getId());
+        for (Object value : resultValues(resultDto))
+        {
+            csv.append(',');
+            if (value instanceof String)
+                csv.append('"').append(((String) value).replace("\"", "\"\"")).append('"');
+            else if (value != null)
+                csv.append(value);
+        }
+        csv.append('\n');
+    }
+
+    private static void bindResult(PreparedStatement statement, ResultDto resultDto) throws SQLException
+    {
+        Object[] values = resultValues(resultDto);
+        for (int i = 0; i < values.length; i++)
+            statement.setObject(i + 1, values[i], INSERT_RESULT_TYPES[i]);
+    }
+
+    private static Object[] resultValues(ResultDto resultDto)
+    {
+        return new Object[]{
+                resultDto.getCheckId(),
+                resultDto.getPreviousResultId().isPresent() ? resultDto.getPreviousResultId().getAsLong() : null,
+                resultDto.getStatus().toString(),
+                resultDto.getProbe(),
+                resultDto.getStatusCode().value(),
+                resultDto.getResponseTime().isPresent() ? resultDto.getResponseTime().getAsLong() : null,
+                resultDto.isChanged(),
+                resultDto.isConfirmation(),
+                Timestamp.from(resultDto.getCreated()),
+                resultDto.getFailure().isPresent() ? resultDto.getFailure().get().toString() : null,
+                resultDto.getDnsTime().isPresent() ? resultDto.getDnsTime().getAsLong() : null,
+                resultDto.getConnectTime().isPresent() ? resultDto.getConnectTime().getAsLong() : null,
+                resultDto.getTlsTime().isPresent() ? resultDto.getTlsTime().getAsLong() : null,
+                resultDto.getRequestWriteTime().isPresent() ? resultDto.getRequestWriteTime().getAsLong() : null,
+                resultDto.getFirstByteTime().isPresent() ? resultDto.getFirstByteTime().getAsLong() : null,
+                resultDto.getTotalTime().isPresent() ? resultDto.getTotalTime().getAsLong() : null
+        };
     }
 }
@@ -2,10 +2,13 @@ package com.codeaim.urlcheck.repository.jdbc;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.postgresql.util.PGInterval;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -16,23 +19,29 @@ import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
 import com.codeaim.urlcheck.domain.RoleDto;
+import com.codeaim.urlcheck.repository.EntitlementsChangedEvent;
 import com.codeaim.urlcheck.repository.RoleRepository;
+import com.codeaim.urlcheck.utility.Cursors;
 import com.codeaim.urlcheck.utility.Durations;
+import com.codeaim.urlcheck.utility.Pages;
 
 @Repository
 public class RoleRepositoryJdbc implements RoleRepository
 {
     private JdbcTemplate jdbcTemplate;
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @Autowired
     public RoleRepositoryJdbc(
             JdbcTemplate jdbcTemplate,
-            NamedParameterJdbcTemplate namedParameterJdbcTemplate
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            ApplicationEventPublisher applicationEventPublisher
     )
     {
         this.jdbcTemplate = jdbcTemplate;
         this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     @Override
@@ -52,6 +61,7 @@ public class RoleRepositoryJdbc implements RoleRepository
                 .addValue("id", roleDto.getId());
 
         this.namedParameterJdbcTemplate.update(deleteSql, parameters);
+        this.applicationEventPublisher.publishEvent(EntitlementsChangedEvent.all());
     }
 
     @Override
@@ -60,6 +70,7 @@ public class RoleRepositoryJdbc implements RoleRepository
         String deleteAllSql = "DELETE FROM role";
 
         this.jdbcTemplate.update(deleteAllSql);
+        this.applicationEventPublisher.publishEvent(EntitlementsChangedEvent.all());
     }
 
     @Override
@@ -93,6 +104,33 @@ public class RoleRepositoryJdbc implements RoleRepository
                 .query(findAllSql, parameters, mapRoleDto());
     }
 
+    @Override
+    public Collection<RoleDto> findAllAfter(Long id, int limit)
+    {
+        String findAllAfterSql = "SELECT * FROM role WHERE id > :id ORDER BY id LIMIT :limit";
+
+        SqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("limit", limit);
+
+        return this.namedParameterJdbcTemplate
+                .query(findAllAfterSql, parameters, mapRoleDto());
+    }
+
+    @Override
+    public void forEach(int fetchSize, Consumer<RoleDto> consumer)
+    {
+        String forEachSql = "SELECT * FROM role ORDER BY id";
+
+        Cursors.forEach(this.jdbcTemplate, forEachSql, fetchSize, mapRoleDto(), consumer);
+    }
+
+    @Override
+    public Stream<RoleDto> stream(int pageSize)
+    {
+        return Pages.stream(this::findAllAfter, RoleDto::getId, 0L, pageSize);
+    }
+
     @Override
     public Optional<RoleDto> findOne(Long id)
     {
@@ -120,6 +158,7 @@ public class RoleRepositoryJdbc implements RoleRepository
                 .addValue("result_retention_duration", Durations.convert(roleDto.getResultRetentionDuration()));
 
         this.namedParameterJdbcTemplate.update(insertSql, parameters, keyHolder, new String[]{"id"});
+        this.applicationEventPublisher.publishEvent(EntitlementsChangedEvent.all());
 
         return RoleDto.buildFrom(roleDto)
                 .id(keyHolder.getKey().longValue())
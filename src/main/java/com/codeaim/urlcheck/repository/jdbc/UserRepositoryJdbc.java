@@ -4,9 +4,12 @@ import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -17,22 +20,28 @@ import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
 import com.codeaim.urlcheck.domain.UserDto;
+import com.codeaim.urlcheck.repository.EntitlementsChangedEvent;
 import com.codeaim.urlcheck.repository.UserRepository;
+import com.codeaim.urlcheck.utility.Cursors;
+import com.codeaim.urlcheck.utility.Pages;
 
 @Repository
 public class UserRepositoryJdbc implements UserRepository
 {
     private JdbcTemplate jdbcTemplate;
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @Autowired
     public UserRepositoryJdbc(
             JdbcTemplate jdbcTemplate,
-            NamedParameterJdbcTemplate namedParameterJdbcTemplate
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            ApplicationEventPublisher applicationEventPublisher
     )
     {
         this.jdbcTemplate = jdbcTemplate;
         this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     @Override
@@ -52,6 +61,7 @@ public class UserRepositoryJdbc implements UserRepository
                 .addValue("id", userDto.getId());
 
         this.namedParameterJdbcTemplate.update(deleteSql, parameters);
+        this.applicationEventPublisher.publishEvent(EntitlementsChangedEvent.user(userDto.getId()));
     }
 
     @Override
@@ -60,6 +70,7 @@ public class UserRepositoryJdbc implements UserRepository
         String deleteAllSql = "DELETE FROM \"user\"";
 
         this.jdbcTemplate.update(deleteAllSql);
+        this.applicationEventPublisher.publishEvent(EntitlementsChangedEvent.all());
     }
 
     @Override
@@ -93,6 +104,33 @@ public class UserRepositoryJdbc implements UserRepository
                 .query(findAllSql, parameters, mapUserDto());
     }
 
+    @Override
+    public Collection<UserDto> findAllAfter(Long id, int limit)
+    {
+        String findAllAfterSql = "SELECT * FROM \"user\" WHERE id > :id ORDER BY id LIMIT :limit";
+
+        SqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("limit", limit);
+
+        return this.namedParameterJdbcTemplate
+                .query(findAllAfterSql, parameters, mapUserDto());
+    }
+
+    @Override
+    public void forEach(int fetchSize, Consumer<UserDto> consumer)
+    {
+        String forEachSql = "SELECT * FROM \"user\" ORDER BY id";
+
+        Cursors.forEach(this.jdbcTemplate, forEachSql, fetchSize, mapUserDto(), consumer);
+    }
+
+    @Override
+    public Stream<UserDto> stream(int pageSize)
+    {
+        return Pages.stream(this::findAllAfter, UserDto::getId, 0L, pageSize);
+    }
+
     @Override
     public Optional<UserDto> findOne(Long id)
     {
@@ -2,9 +2,12 @@ package com.codeaim.urlcheck.repository.jdbc;
 
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -15,22 +18,28 @@ import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 
 import com.codeaim.urlcheck.domain.UserRoleDto;
+import com.codeaim.urlcheck.repository.EntitlementsChangedEvent;
 import com.codeaim.urlcheck.repository.UserRoleRepository;
+import com.codeaim.urlcheck.utility.Cursors;
+import com.codeaim.urlcheck.utility.Pages;
 
 @Repository
 public class UserRoleRepositoryJdbc implements UserRoleRepository
 {
     private JdbcTemplate jdbcTemplate;
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @Autowired
     public UserRoleRepositoryJdbc(
             JdbcTemplate jdbcTemplate,
-            NamedParameterJdbcTemplate namedParameterJdbcTemplate
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            ApplicationEventPublisher applicationEventPublisher
     )
     {
         this.jdbcTemplate = jdbcTemplate;
         this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     @Override
@@ -50,6 +59,9 @@ public class UserRoleRepositoryJdbc implements UserRoleRepository
                 .addValue("id", userRoleDto.getId());
 
         this.namedParameterJdbcTemplate.update(deleteSql, parameters);
+        this.applicationEventPublisher.publishEvent(userRoleDto.getUserId() != 0
+                ? EntitlementsChangedEvent.user(userRoleDto.getUserId())
+                : EntitlementsChangedEvent.all());
     }
 
     @Override
@@ -58,6 +70,7 @@ public class UserRoleRepositoryJdbc implements UserRoleRepository
         String deleteAllSql = "DELETE FROM user_role";
 
         this.jdbcTemplate.update(deleteAllSql);
+        this.applicationEventPublisher.publishEvent(EntitlementsChangedEvent.all());
     }
 
     @Override
@@ -91,6 +104,33 @@ public class UserRoleRepositoryJdbc implements UserRoleRepository
                 .query(findAllSql, parameters, mapUserRoleDto());
     }
 
+    @Override
+    public Collection<UserRoleDto> findAllAfter(Long id, int limit)
+    {
+        String findAllAfterSql = "SELECT * FROM user_role WHERE id > :id ORDER BY id LIMIT :limit";
+
+        SqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("limit", limit);
+
+        return this.namedParameterJdbcTemplate
+                .query(findAllAfterSql, parameters, mapUserRoleDto());
+    }
+
+    @Override
+    public void forEach(int fetchSize, Consumer<UserRoleDto> consumer)
+    {
+        String forEachSql = "SELECT * FROM user_role ORDER BY id";
+
+        Cursors.forEach(this.jdbcTemplate, forEachSql, fetchSize, mapUserRoleDto(), consumer);
+    }
+
+    @Override
+    public Stream<UserRoleDto> stream(int pageSize)
+    {
+        return Pages.stream(this::findAllAfter, UserRoleDto::getId, 0L, pageSize);
+    }
+
     @Override
     public Optional<UserRoleDto> findOne(Long id)
     {
@@ -116,6 +156,7 @@ public class UserRoleRepositoryJdbc implements UserRoleRepository
                 .addValue("role_id", userRoleDto.getRoleId());
 
         this.namedParameterJdbcTemplate.update(insertSql, parameters, keyHolder, new String[]{"id"});
+        this.applicationEventPublisher.publishEvent(EntitlementsChangedEvent.user(userRoleDto.getUserId()));
 
         return UserRoleDto.buildFrom(userRoleDto)
                 .id(keyHolder.getKey().longValue())
@@ -0,0 +1,59 @@
+package com.codeaim.urlcheck.task;
+
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+
+import com.codeaim.urlcheck.domain.Failure;
+import com.codeaim.urlcheck.http.Timings;
+
+final class CheckResponse
+{
+    private OptionalInt statusCode;
+    private OptionalLong responseTime;
+    private Optional<Failure> failure;
+    private Timings timings;
+
+    private CheckResponse(
+            final OptionalInt statusCode,
+            final OptionalLong responseTime,
+            final Optional<Failure> failure,
+            final Timings timings
+    )
+    {
+        this.statusCode = statusCode;
+        this.responseTime = responseTime;
+        this.failure = failure;
+        this.timings = timings;
+    }
+
+    static CheckResponse of(final int statusCode, final long responseTime, final Timings timings)
+    {
+        return new CheckResponse(OptionalInt.of(statusCode), OptionalLong.of(responseTime), Optional.empty(), timings);
+    }
+
+    static CheckResponse failed(final Failure failure, final Timings timings)
+    {
+        return new CheckResponse(OptionalInt.empty(), OptionalLong.empty(), Optional.of(failure), timings);
+    }
+
+    OptionalInt getStatusCode()
+    {
+        return statusCode;
+    }
+
+    OptionalLong getResponseTime()
+    {
+        return responseTime;
+    }
+
+    Optional<Failure> getFailure()
+    {
+        return failure;
+    }
+
+    Timings getTimings()
+    {
+        return timings;
+    }
+}
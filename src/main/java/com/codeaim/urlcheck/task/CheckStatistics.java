@@ -0,0 +1,26 @@
+package com.codeaim.urlcheck.task;
+
+import com.codeaim.urlcheck.utility.Reservoir;
+
+public interface CheckStatistics
+{
+    long getOverdueCheckCount();
+
+    long getElectionSize();
+
+    long getElectedCheckCount();
+
+    long getConflictedCheckCount();
+
+    long getDeferredCheckCount();
+
+    Reservoir getLagMillis();
+
+    Reservoir getElectMillis();
+
+    Reservoir getRequestMillis();
+
+    Reservoir getResultInsertMillis();
+
+    Reservoir getCheckUpdateMillis();
+}
@@ -2,4 +2,5 @@ package com.codeaim.urlcheck.task;
 
 public interface CheckTask extends ScheduledTask
 {
+    void renewLeases();
 }
@@ -0,0 +1,40 @@
+package com.codeaim.urlcheck.task;
+
+public class ElectionSizer
+{
+    private long minimum;
+    private long maximum;
+    private long latencyTarget;
+    private long writeTarget;
+    private long current;
+
+    public ElectionSizer(
+            long minimum,
+            long maximum,
+            long initial,
+            long latencyTarget,
+            long writeTarget
+    )
+    {
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.latencyTarget = latencyTarget;
+        this.writeTarget = writeTarget;
+        this.current = Math.max(minimum, Math.min(maximum, initial));
+    }
+
+    public synchronized long next(long overdue, long latency, long write)
+    {
+        if (latency > latencyTarget || write > writeTarget)
+            current = Math.max(minimum, current / 2);
+        else if (overdue > current)
+            current = Math.min(maximum, current + Math.max(1, current / 2));
+
+        return current;
+    }
+
+    public synchronized long getCurrent()
+    {
+        return current;
+    }
+}
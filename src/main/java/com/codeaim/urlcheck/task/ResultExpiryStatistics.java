@@ -0,0 +1,16 @@
+package com.codeaim.urlcheck.task;
+
+public interface ResultExpiryStatistics
+{
+    long getExpiredResultCount();
+
+    long getLastExpiredResultCount();
+
+    long getLastScannedResultCount();
+
+    long getExpiredResultRate();
+
+    long getExpiryBacklog();
+
+    long getDroppedPartitionCount();
+}
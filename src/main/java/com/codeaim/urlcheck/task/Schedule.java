@@ -1,7 +1,9 @@
 package com.codeaim.urlcheck.task;
 
 import com.codeaim.urlcheck.configuration.ProbeConfiguration;
+import com.codeaim.urlcheck.repository.cache.EntitlementCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.SchedulingConfigurer;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
@@ -14,18 +16,23 @@ public class Schedule implements SchedulingConfigurer
     ProbeConfiguration probeConfiguration;
     CheckTask checkTask;
     ResultExpiryTask resultExpiryTask;
-
+    TaskScheduler taskScheduler;
+    EntitlementCache entitlementCache;
 
     @Autowired
     public Schedule(
             ProbeConfiguration probeConfiguration,
             CheckTask checkTask,
-            ResultExpiryTask resultExpiryTask
+            ResultExpiryTask resultExpiryTask,
+            TaskScheduler taskScheduler,
+            EntitlementCache entitlementCache
     )
     {
         this.probeConfiguration = probeConfiguration;
         this.checkTask = checkTask;
         this.resultExpiryTask = resultExpiryTask;
+        this.taskScheduler = taskScheduler;
+        this.entitlementCache = entitlementCache;
     }
 
     @Override
@@ -33,8 +40,12 @@ public class Schedule implements SchedulingConfigurer
     {
         if (!probeConfiguration.isScheduleDisabled())
         {
-            taskRegistrar.addFixedDelayTask(() -> this.checkTask.run(), 2000);
+            taskRegistrar.setTaskScheduler(taskScheduler);
+            taskRegistrar.addFixedDelayTask(() -> this.checkTask.run(), probeConfiguration.isContinuous() ? probeConfiguration.getContinuousDelay() : 2000);
             taskRegistrar.addFixedDelayTask(() -> this.resultExpiryTask.run(), 300000);
+            taskRegistrar.addFixedRateTask(() -> this.checkTask.renewLeases(), probeConfiguration.getLeaseSeconds() * 500);
+            if (probeConfiguration.isPersistEntitlements())
+                taskRegistrar.addFixedDelayTask(() -> this.entitlementCache.refreshSummary(), probeConfiguration.getEntitlementSummaryRefreshInterval());
         }
     }
 }
@@ -2,37 +2,83 @@ package com.codeaim.urlcheck.task;
 
 import com.codeaim.urlcheck.configuration.ProbeConfiguration;
 import com.codeaim.urlcheck.domain.CheckDto;
+import com.codeaim.urlcheck.domain.Failure;
+import com.codeaim.urlcheck.domain.ProbeMode;
 import com.codeaim.urlcheck.domain.ResultDto;
 import com.codeaim.urlcheck.domain.State;
 import com.codeaim.urlcheck.domain.Status;
+import com.codeaim.urlcheck.http.Timings;
 import com.codeaim.urlcheck.repository.CheckRepository;
 import com.codeaim.urlcheck.repository.ResultRepository;
+import com.codeaim.urlcheck.repository.cache.EntitlementCache;
+import com.codeaim.urlcheck.utility.Calls;
+import com.codeaim.urlcheck.utility.Failures;
 import com.codeaim.urlcheck.utility.Futures;
+import com.codeaim.urlcheck.utility.Reservoir;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 import org.apache.commons.lang3.tuple.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 @Component
-public class ScheduledCheckTask implements CheckTask
+public class ScheduledCheckTask implements CheckTask, CheckStatistics
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduledCheckTask.class);
+
     private OkHttpClient httpClient;
     private ExecutorService executorService;
     private CheckRepository checkRepository;
     private ResultRepository resultRepository;
     private ProbeConfiguration probeConfiguration;
+    private EntitlementCache entitlementCache;
+    private TransactionTemplate transactionTemplate;
+    private Semaphore slots;
+    private AtomicLong conflictedCheckCount = new AtomicLong();
+    private AtomicLong deferredCheckCount = new AtomicLong();
+    private Map<Long, CheckDto> inFlightChecks = new ConcurrentHashMap<>();
+    private Queue<Pair<CheckDto, CheckResponse>> completedChecks = new ConcurrentLinkedQueue<>();
+    private ElectionSizer electionSizer;
+    private Reservoir requestLatencies = new Reservoir(1024);
+    private AtomicLong writeMillis = new AtomicLong();
+    private AtomicLong electionSize = new AtomicLong();
+    private AtomicLong overdueCheckCount = new AtomicLong();
+    private AtomicLong nextOverdueCount = new AtomicLong(System.nanoTime());
+    private AtomicLong electedCheckCount = new AtomicLong();
+    private Reservoir lagMillis = new Reservoir(1024);
+    private Reservoir electMillis = new Reservoir(1024);
+    private Reservoir requestMillis = new Reservoir(1024);
+    private Reservoir resultInsertMillis = new Reservoir(1024);
+    private Reservoir checkUpdateMillis = new Reservoir(1024);
+    private AtomicLong failedCheckCount = new AtomicLong();
+    private AtomicLong sampledCheckCount = new AtomicLong();
+    private AtomicLong lastSummary = new AtomicLong(System.nanoTime());
+    private long summarisedElectedCheckCount;
+    private long summarisedFailedCheckCount;
+    private long summarisedConflictedCheckCount;
 
     @Autowired
     public ScheduledCheckTask(
@@ -40,7 +86,9 @@ public class ScheduledCheckTask implements CheckTask
             ExecutorService executorService,
             CheckRepository checkRepository,
             ResultRepository resultRepository,
-            ProbeConfiguration probeConfiguration
+            ProbeConfiguration probeConfiguration,
+            EntitlementCache entitlementCache,
+            PlatformTransactionManager transactionManager
     )
     {
         this.httpClient = httpClient;
@@ -48,124 +96,551 @@ public class ScheduledCheckTask implements CheckTask
         this.checkRepository = checkRepository;
         this.resultRepository = resultRepository;
         this.probeConfiguration = probeConfiguration;
+        this.entitlementCache = entitlementCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.slots = new Semaphore(getMaxInFlight());
+        this.electionSizer = new ElectionSizer(
+                probeConfiguration.getMinimumCandidatePoolSize(),
+                probeConfiguration.getMaximumCandidatePoolSize(),
+                probeConfiguration.getCandidatePoolSize(),
+                probeConfiguration.getElectionLatencyTarget(),
+                probeConfiguration.getElectionWriteTarget());
+    }
+
+    private int getMaxInFlight()
+    {
+        if (probeConfiguration.getMaxInFlight() > 0)
+            return probeConfiguration.getMaxInFlight();
+
+        return probeConfiguration.isAsynchronous()
+                ? probeConfiguration.getMaxRequests()
+                : probeConfiguration.getMaxConcurrency();
     }
 
     public void run()
     {
-        Collection<CheckDto> electableChecks = findElectableChecks(
+        countOverdueChecks();
+
+        if (probeConfiguration.isContinuous())
+            runContinuous();
+        else
+            runBatch();
+
+        logSummary();
+    }
+
+    private void logSummary()
+    {
+        long now = System.nanoTime();
+        long last = lastSummary.get();
+
+        if (now - last < TimeUnit.MILLISECONDS.toNanos(probeConfiguration.getLogSummaryInterval()) ||
+                !lastSummary.compareAndSet(last, now))
+            return;
+
+        long elected = electedCheckCount.get();
+        long failed = failedCheckCount.get();
+        long conflicted = conflictedCheckCount.get();
+
+        if (elected != summarisedElectedCheckCount)
+            LOGGER.info(
+                    "probe={} elected={} failed={} conflicted={} election_size={} lag_p95_ms={} elect_p95_ms={} request_p95_ms={} result_insert_p95_ms={} check_update_p95_ms={}",
+                    probeConfiguration.getName(),
+                    elected - summarisedElectedCheckCount,
+                    failed - summarisedFailedCheckCount,
+                    conflicted - summarisedConflictedCheckCount,
+                    electionSize.get(),
+                    lagMillis.percentile(0.95),
+                    electMillis.percentile(0.95),
+                    requestMillis.percentile(0.95),
+                    resultInsertMillis.percentile(0.95),
+                    checkUpdateMillis.percentile(0.95));
+
+        summarisedElectedCheckCount = elected;
+        summarisedFailedCheckCount = failed;
+        summarisedConflictedCheckCount = conflicted;
+    }
+
+    private void countOverdueChecks()
+    {
+        long now = System.nanoTime();
+        long next = nextOverdueCount.get();
+
+        if (now - next < 0 ||
+                !nextOverdueCount.compareAndSet(next, now + TimeUnit.MILLISECONDS.toNanos(probeConfiguration.getOverdueCountInterval())))
+            return;
+
+        overdueCheckCount.set(checkRepository.countOverdueChecks(Instant.now()));
+    }
+
+    private void runBatch()
+    {
+        List<CheckDto> electedChecks = electChecks(
                 checkRepository,
                 probeConfiguration.getName(),
                 probeConfiguration.isClustered(),
-                probeConfiguration.getCandidatePoolSize());
+                getCandidatePoolSize());
 
-        if (!electableChecks.isEmpty())
+        if (!electedChecks.isEmpty())
         {
-            List<CheckDto> electedChecks = markChecksElected(
-                    checkRepository,
-                    electableChecks);
-
-            if (!electedChecks.isEmpty())
+            try
             {
-                List<Pair<CheckDto, Optional<Response>>> checkResponses = requestCheckResponses(
+                long requestStart = System.nanoTime();
+                List<Pair<CheckDto, CheckResponse>> checkResponses = requestCheckResponses(
                         httpClient,
                         electedChecks);
+                recordDuration(requestMillis, requestStart);
 
                 if (!checkResponses.isEmpty())
-                {
-                    Collection<Pair<CheckDto, ResultDto>> checkResults = createCheckResults(
-                            resultRepository,
-                            probeConfiguration.getName(),
-                            checkResponses);
-
-                    if (!checkResults.isEmpty())
-                    {
-                        Collection<CheckDto> updatedElectedChecks = updateCheckStatus(
-                                checkRepository,
-                                probeConfiguration.getName(),
-                                checkResults);
-
-                        if (!updatedElectedChecks.isEmpty())
-                            updateChecks(
-                                    checkRepository,
-                                    updatedElectedChecks);
-                    }
-                }
+                    persistCheckResponses(checkResponses);
+            } finally
+            {
+                electedChecks.forEach(electedCheck -> inFlightChecks.remove(electedCheck.getId()));
+            }
+        }
+    }
+
+    private long getCandidatePoolSize()
+    {
+        if (!probeConfiguration.isAdaptiveElection())
+            return probeConfiguration.getCandidatePoolSize();
+
+        long latency = requestLatencies.percentile(0.95);
+        requestLatencies.clear();
+
+        return electionSizer.next(
+                overdueCheckCount.get(),
+                latency,
+                writeMillis.get());
+    }
+
+    private void runContinuous()
+    {
+        persistCompletedChecks();
+
+        int availableSlots = slots.availablePermits();
+
+        if (availableSlots > 0)
+            electChecks(
+                    checkRepository,
+                    probeConfiguration.getName(),
+                    probeConfiguration.isClustered(),
+                    availableSlots)
+                    .forEach(this::streamCheck);
+    }
+
+    private void streamCheck(CheckDto electedCheck)
+    {
+        slots.acquireUninterruptibly();
+        try
+        {
+            long requestStart = System.nanoTime();
+            requestCheckResponse(httpClient, electedCheck)
+                    .whenComplete((checkResponse, e) -> {
+                        recordDuration(requestMillis, requestStart);
+                        if (e == null)
+                        {
+                            completedChecks.add(Pair.of(electedCheck, checkResponse));
+                        } else
+                        {
+                            LOGGER.warn("check={} request failed", electedCheck.getId(), e);
+                            completeStreamedCheck(electedCheck);
+                        }
+                    });
+        } catch (Exception e)
+        {
+            LOGGER.warn("check={} request failed", electedCheck.getId(), e);
+            completeStreamedCheck(electedCheck);
+        }
+    }
+
+    void persistCompletedChecks()
+    {
+        List<Pair<CheckDto, CheckResponse>> checkResponses = new ArrayList<>();
+        for (Pair<CheckDto, CheckResponse> completedCheck = completedChecks.poll(); completedCheck != null; completedCheck = completedChecks.poll())
+            checkResponses.add(completedCheck);
+
+        if (checkResponses.isEmpty())
+            return;
+
+        try
+        {
+            persistCheckResponses(checkResponses);
+        } catch (Exception e)
+        {
+            LOGGER.warn(
+                    "checks={} persist failed",
+                    checkResponses
+                            .stream()
+                            .map(checkResponsePair -> checkResponsePair.getKey().getId())
+                            .collect(Collectors.toList()),
+                    e);
+        } finally
+        {
+            checkResponses.forEach(checkResponsePair -> completeStreamedCheck(checkResponsePair.getKey()));
+        }
+    }
+
+    private void completeStreamedCheck(CheckDto electedCheck)
+    {
+        inFlightChecks.remove(electedCheck.getId());
+        slots.release();
+    }
+
+    public void renewLeases()
+    {
+        List<CheckDto> leasedChecks = new ArrayList<>(inFlightChecks.values());
+
+        if (!leasedChecks.isEmpty())
+            checkRepository.renewLeases(
+                    leasedChecks,
+                    Duration.ofSeconds(probeConfiguration.getLeaseSeconds()));
+    }
+
+    private void persistCheckResponses(List<Pair<CheckDto, CheckResponse>> checkResponses)
+    {
+        checkResponses.forEach(checkResponsePair -> recordCheckResponse(checkResponsePair.getKey(), checkResponsePair.getValue()));
+
+        long writeStart = System.nanoTime();
+        transactionTemplate.execute(status -> {
+            persistCheckResults(checkResponses);
+            return null;
+        });
+        writeMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - writeStart));
+    }
+
+    private void persistCheckResults(List<Pair<CheckDto, CheckResponse>> checkResponses)
+    {
+        Collection<Pair<CheckDto, ResultDto>> checkResults = createCheckResults(
+                resultRepository,
+                probeConfiguration.getName(),
+                checkResponses);
+
+        if (!checkResults.isEmpty())
+        {
+            Collection<CheckDto> updatedElectedChecks = updateCheckStatus(
+                    probeConfiguration.getName(),
+                    checkResults);
+
+            if (!updatedElectedChecks.isEmpty())
+            {
+                long checkUpdateStart = System.nanoTime();
+                Collection<CheckDto> persistedChecks = updateChecks(
+                        checkRepository,
+                        updatedElectedChecks);
+                recordDuration(checkUpdateMillis, checkUpdateStart);
+
+                if (persistedChecks.size() < updatedElectedChecks.size())
+                    deleteConflictedResults(checkResults, persistedChecks);
+
+                conflictedCheckCount.addAndGet(updatedElectedChecks.size() - persistedChecks.size());
             }
         }
     }
 
-    private List<Pair<CheckDto, Optional<Response>>> requestCheckResponses(
+    private void deleteConflictedResults(
+            Collection<Pair<CheckDto, ResultDto>> checkResults,
+            Collection<CheckDto> persistedChecks
+    )
+    {
+        Set<Long> persistedCheckIds = persistedChecks
+                .stream()
+                .map(CheckDto::getId)
+                .collect(Collectors.toSet());
+
+        resultRepository.delete(checkResults
+                .stream()
+                .filter(checkResultPair -> !persistedCheckIds.contains(checkResultPair.getKey().getId()))
+                .map(Pair::getValue)
+                .collect(Collectors.toList()));
+    }
+
+    private void recordCheckResponse(CheckDto checkDto, CheckResponse checkResponse)
+    {
+        if (checkResponse.getTimings().getTotalTime().isPresent())
+            requestLatencies.record(TimeUnit.NANOSECONDS.toMillis(checkResponse.getTimings().getTotalTime().getAsLong()));
+        else if (checkResponse.getResponseTime().isPresent())
+            requestLatencies.record(checkResponse.getResponseTime().getAsLong());
+
+        if (checkResponse.getFailure().isPresent())
+            failedCheckCount.incrementAndGet();
+
+        if (LOGGER.isDebugEnabled() && sampledCheckCount.getAndIncrement() % probeConfiguration.getLogSampleRate() == 0)
+            LOGGER.debug(
+                    "check={} url={} probe_mode={} status_code={} failure={} total_ms={}",
+                    checkDto.getId(),
+                    checkDto.getUrl(),
+                    checkDto.getProbeMode(),
+                    checkResponse.getStatusCode().isPresent() ? checkResponse.getStatusCode().getAsInt() : null,
+                    checkResponse.getFailure().orElse(null),
+                    checkResponse.getTimings().getTotalTime().isPresent() ? TimeUnit.NANOSECONDS.toMillis(checkResponse.getTimings().getTotalTime().getAsLong()) : null);
+    }
+
+    public long getConflictedCheckCount()
+    {
+        return conflictedCheckCount.get();
+    }
+
+    public long getDeferredCheckCount()
+    {
+        return deferredCheckCount.get();
+    }
+
+    public int getAvailableSlots()
+    {
+        return slots.availablePermits();
+    }
+
+    public int getInFlightCheckCount()
+    {
+        return inFlightChecks.size();
+    }
+
+    int getCompletedCheckCount()
+    {
+        return completedChecks.size();
+    }
+
+    public long getOverdueCheckCount()
+    {
+        return overdueCheckCount.get();
+    }
+
+    public long getElectionSize()
+    {
+        return electionSize.get();
+    }
+
+    public long getElectedCheckCount()
+    {
+        return electedCheckCount.get();
+    }
+
+    public Reservoir getLagMillis()
+    {
+        return lagMillis;
+    }
+
+    public Reservoir getElectMillis()
+    {
+        return electMillis;
+    }
+
+    public Reservoir getRequestMillis()
+    {
+        return requestMillis;
+    }
+
+    public Reservoir getResultInsertMillis()
+    {
+        return resultInsertMillis;
+    }
+
+    public Reservoir getCheckUpdateMillis()
+    {
+        return checkUpdateMillis;
+    }
+
+    private void recordDuration(Reservoir reservoir, long start)
+    {
+        reservoir.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private List<Pair<CheckDto, CheckResponse>> requestCheckResponses(
             OkHttpClient httpClient,
             List<CheckDto> electedChecks
     )
     {
         try
         {
-            List<Optional<Response>> responses = Futures.complete(electedChecks
+            List<CheckResponse> responses = Futures.complete(electedChecks
                     .stream()
-                    .map(CheckDto::getUrl)
-                    .map(checkUrl -> new Request.Builder()
-                            .url(checkUrl)
-                            .build())
-                    .map(checkUrlRequest ->
-                            CompletableFuture.supplyAsync(() -> requestCheckResponse(httpClient, checkUrlRequest), executorService))
+                    .map(electedCheck -> requestCheckResponse(httpClient, electedCheck)
+                            .exceptionally(e -> {
+                                LOGGER.warn("check={} request failed", electedCheck.getId(), e);
+                                return null;
+                            }))
                     .collect(Collectors.toList()))
                     .get();
 
             return IntStream
                     .range(0, electedChecks.size())
+                    .filter(index -> responses.get(index) != null)
                     .mapToObj(index -> Pair.of(electedChecks.get(index), responses.get(index)))
                     .collect(Collectors.toList());
-        } catch (Exception e)
+        } catch (InterruptedException | ExecutionException e)
         {
+            LOGGER.warn("probe={} checks={} requests failed", probeConfiguration.getName(), electedChecks.size(), e);
+            if (e instanceof InterruptedException)
+                Thread.currentThread().interrupt();
+
             return Collections.emptyList();
         }
     }
 
-    private Optional<Response> requestCheckResponse(
+    private Request createCheckRequest(CheckDto checkDto, Timings timings)
+    {
+        Request.Builder checkRequestBuilder = new Request.Builder()
+                .url(checkDto.getUrl())
+                .tag(Timings.class, timings);
+
+        if (checkDto.getProbeMode() == ProbeMode.HEAD)
+            checkRequestBuilder.head();
+
+        return checkRequestBuilder.build();
+    }
+
+    private OkHttpClient createCheckHttpClient(
+            OkHttpClient httpClient,
+            CheckDto checkDto
+    )
+    {
+        if (!checkDto.getConnectTimeout().isPresent() &&
+                !checkDto.getReadTimeout().isPresent() &&
+                !checkDto.getCallTimeout().isPresent())
+            return httpClient;
+
+        OkHttpClient.Builder checkHttpClientBuilder = httpClient.newBuilder();
+        checkDto.getConnectTimeout().ifPresent(timeout -> checkHttpClientBuilder.connectTimeout(timeout, TimeUnit.MILLISECONDS));
+        checkDto.getReadTimeout().ifPresent(timeout -> checkHttpClientBuilder.readTimeout(timeout, TimeUnit.MILLISECONDS));
+        checkDto.getCallTimeout().ifPresent(timeout -> checkHttpClientBuilder.callTimeout(timeout, TimeUnit.MILLISECONDS));
+
+        return checkHttpClientBuilder.build();
+    }
+
+    private CompletableFuture<CheckResponse> requestCheckResponse(
+            OkHttpClient httpClient,
+            CheckDto checkDto
+    )
+    {
+        try
+        {
+            Timings timings = new Timings();
+            Request checkUrlRequest = createCheckRequest(checkDto, timings);
+            OkHttpClient checkHttpClient = createCheckHttpClient(httpClient, checkDto);
+
+            if (probeConfiguration.isAsynchronous())
+                return Calls
+                        .enqueue(checkHttpClient, checkUrlRequest)
+                        .thenApply(response -> captureCheckResponse(checkDto, response, timings))
+                        .exceptionally(e -> failedCheckResponse(e, timings));
+
+            return CompletableFuture.supplyAsync(() -> executeCheckRequest(checkHttpClient, checkDto, checkUrlRequest, timings), executorService);
+        } catch (RuntimeException e)
+        {
+            CompletableFuture<CheckResponse> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+
+            return failed;
+        }
+    }
+
+    private CheckResponse executeCheckRequest(
             OkHttpClient httpClient,
-            Request checkUrlRequest
+            CheckDto checkDto,
+            Request checkUrlRequest,
+            Timings timings
     )
     {
-        System.out.println("Making request for " + checkUrlRequest.url().toString());
         try
         {
-            return Optional.of(httpClient.newCall(checkUrlRequest).execute());
+            return captureCheckResponse(checkDto, httpClient.newCall(checkUrlRequest).execute(), timings);
         } catch (IOException e)
         {
-            return Optional.empty();
+            return CheckResponse.failed(Failures.classify(e, timings), timings);
         }
     }
 
-    private Collection<CheckDto> findElectableChecks(
+    private CheckResponse captureCheckResponse(
+            CheckDto checkDto,
+            Response response,
+            Timings timings
+    )
+    {
+        int statusCode = response.code();
+        long responseTime = response.receivedResponseAtMillis() - response.sentRequestAtMillis();
+
+        try (Response closedResponse = response)
+        {
+            if (checkDto.getProbeMode() == ProbeMode.GET_PARTIAL && closedResponse.body() != null)
+                closedResponse.body().source().request(probeConfiguration.getPartialBodyBytes());
+        } catch (IOException e)
+        {
+            return CheckResponse.failed(Failures.classify(e, timings), timings);
+        }
+
+        return CheckResponse.of(statusCode, responseTime, timings);
+    }
+
+    private CheckResponse failedCheckResponse(Throwable throwable, Timings timings)
+    {
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+
+        return CheckResponse.failed(cause instanceof IOException
+                ? Failures.classify((IOException) cause, timings)
+                : Failure.UNKNOWN, timings);
+    }
+
+    private List<CheckDto> electChecks(
             CheckRepository checkRepository,
             String probe,
             boolean isClustered,
             long candidatePoolSize
     )
     {
-        return checkRepository.findElectableChecks(
-                probe,
-                isClustered,
-                Instant.now(),
-                candidatePoolSize);
+        Instant now = Instant.now();
+        long electStart = System.nanoTime();
+        List<CheckDto> electedChecks = checkRepository
+                .electChecks(
+                        probe,
+                        isClustered,
+                        now,
+                        candidatePoolSize,
+                        Duration.ofSeconds(probeConfiguration.getLeaseSeconds()))
+                .stream()
+                .collect(Collectors.toList());
+        recordDuration(electMillis, electStart);
+
+        if (probeConfiguration.isEnforceCheckLimit())
+            electedChecks = deferChecksOverLimit(electedChecks);
+
+        electionSize.set(candidatePoolSize);
+        electedCheckCount.addAndGet(electedChecks.size());
+        electedChecks.forEach(electedCheck -> {
+            lagMillis.record(Math.max(0, Duration.between(electedCheck.getRefresh(), now).toMillis()));
+            inFlightChecks.put(electedCheck.getId(), electedCheck);
+        });
+
+        return electedChecks;
     }
 
-    private List<CheckDto> markChecksElected(
-            CheckRepository checkRepository,
-            Collection<CheckDto> electableChecks
-    )
+    private List<CheckDto> deferChecksOverLimit(List<CheckDto> electedChecks)
     {
-        return checkRepository
-                .markChecksElected(electableChecks)
+        Map<Boolean, List<CheckDto>> permittedChecks = electedChecks
                 .stream()
-                .collect(Collectors.toList());
+                .collect(Collectors.partitioningBy(entitlementCache::isPermitted));
+
+        if (!permittedChecks.get(false).isEmpty())
+        {
+            Collection<CheckDto> deferredChecks = updateChecks(
+                    checkRepository,
+                    permittedChecks.get(false)
+                            .stream()
+                            .map(this::statusChangeDeferred)
+                            .collect(Collectors.toList()));
+
+            deferredCheckCount.addAndGet(deferredChecks.size());
+        }
+
+        return permittedChecks.get(true);
     }
 
     private Collection<Pair<CheckDto, ResultDto>> createCheckResults(
             ResultRepository resultRepository,
             String probe,
-            List<Pair<CheckDto, Optional<Response>>> checkResponses
+            List<Pair<CheckDto, CheckResponse>> checkResponses
     )
     {
         List<ResultDto> checkResults = checkResponses
@@ -181,48 +656,69 @@ public class ScheduledCheckTask implements CheckTask
                         .probe(probe)
                         .responseTime(checkResponsePair
                                 .getValue()
-                                .map(response -> OptionalLong.of(response.receivedResponseAtMillis() - response.sentRequestAtMillis()))
-                                .orElse(OptionalLong.empty()))
-                        .statusCode(checkResponsePair
-                                .getValue()
-                                .map(this::getHttpStatus)
-                                .orElse(HttpStatus.INTERNAL_SERVER_ERROR))
-                        .status(checkResponsePair
-                                .getValue()
-                                .map(this::getHttpStatus)
-                                .orElse(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .getResponseTime())
+                        .statusCode(getHttpStatus(checkResponsePair.getValue()))
+                        .status(getHttpStatus(checkResponsePair.getValue())
                                 .is2xxSuccessful() ? Status.UP : Status.DOWN)
                         .changed(!Objects.equals(
-                                checkResponsePair
-                                        .getValue()
-                                        .map(this::getHttpStatus)
-                                        .orElse(HttpStatus.INTERNAL_SERVER_ERROR)
+                                getHttpStatus(checkResponsePair.getValue())
                                         .is2xxSuccessful() ? Status.UP : Status.DOWN,
                                 checkResponsePair.getKey().getStatus()))
                         .confirmation(checkResponsePair
                                 .getKey()
                                 .isConfirming())
+                        .failure(checkResponsePair
+                                .getValue()
+                                .getFailure())
+                        .dnsTime(checkResponsePair
+                                .getValue()
+                                .getTimings()
+                                .getDnsTime())
+                        .connectTime(checkResponsePair
+                                .getValue()
+                                .getTimings()
+                                .getConnectTime())
+                        .tlsTime(checkResponsePair
+                                .getValue()
+                                .getTimings()
+                                .getTlsTime())
+                        .requestWriteTime(checkResponsePair
+                                .getValue()
+                                .getTimings()
+                                .getRequestWriteTime())
+                        .firstByteTime(checkResponsePair
+                                .getValue()
+                                .getTimings()
+                                .getFirstByteTime())
+                        .totalTime(checkResponsePair
+                                .getValue()
+                                .getTimings()
+                                .getTotalTime())
                         .build())
                 .collect(Collectors.toList());
 
-        List<ResultDto> savedCheckResults = resultRepository.save(checkResults)
+        long resultInsertStart = System.nanoTime();
+        List<ResultDto> savedCheckResults = (probeConfiguration.isCopyResults()
+                ? resultRepository.copyInsert(checkResults)
+                : resultRepository.save(checkResults))
                 .stream()
                 .collect(Collectors.toList());
+        recordDuration(resultInsertMillis, resultInsertStart);
 
         return IntStream
                 .range(0, checkResponses.size())
-                .mapToObj(index -> {
-                    checkResponses.get(index).getValue().ifPresent(Response::close);
-                    return Pair.of(checkResponses.get(index).getKey(), savedCheckResults.get(index));
-                })
+                .mapToObj(index -> Pair.of(checkResponses.get(index).getKey(), savedCheckResults.get(index)))
                 .collect(Collectors.toList());
     }
 
-    private HttpStatus getHttpStatus(Response response)
+    private HttpStatus getHttpStatus(CheckResponse checkResponse)
     {
+        if (!checkResponse.getStatusCode().isPresent())
+            return HttpStatus.INTERNAL_SERVER_ERROR;
+
         try
         {
-            return HttpStatus.valueOf(response.code());
+            return HttpStatus.valueOf(checkResponse.getStatusCode().getAsInt());
         } catch (IllegalArgumentException ex)
         {
             return HttpStatus.INTERNAL_SERVER_ERROR;
@@ -230,7 +726,6 @@ public class ScheduledCheckTask implements CheckTask
     }
 
     private Collection<CheckDto> updateCheckStatus(
-            CheckRepository checkRepository,
             String probe,
             Collection<Pair<CheckDto, ResultDto>> checkResults)
     {
@@ -238,29 +733,25 @@ public class ScheduledCheckTask implements CheckTask
                 .stream()
                 .map(checkResultPair -> {
                     if (checkResultPair.getValue().isChanged() && checkResultPair.getValue().isConfirmation())
-                        return checkRepository.save(
-                                statusChangeConfirmed(
-                                        checkResultPair.getKey(),
-                                        checkResultPair.getValue(),
-                                        probe));
+                        return statusChangeConfirmed(
+                                checkResultPair.getKey(),
+                                checkResultPair.getValue(),
+                                probe);
                     if (!checkResultPair.getValue().isChanged() && checkResultPair.getValue().isConfirmation())
-                        return checkRepository.save(
-                                statusChangeConfirmationInconclusive(
-                                        checkResultPair.getKey(),
-                                        checkResultPair.getValue(),
-                                        probe));
+                        return statusChangeConfirmationInconclusive(
+                                checkResultPair.getKey(),
+                                checkResultPair.getValue(),
+                                probe);
                     if (checkResultPair.getValue().isChanged())
-                        return checkRepository.save(
-                                statusChangeConfirmationRequired(
-                                        checkResultPair.getKey(),
-                                        checkResultPair.getValue(),
-                                        probe));
-
-                    return checkRepository.save(
-                            statusChangeNone(
-                                    checkResultPair.getKey(),
-                                    checkResultPair.getValue(),
-                                    probe));
+                        return statusChangeConfirmationRequired(
+                                checkResultPair.getKey(),
+                                checkResultPair.getValue(),
+                                probe);
+
+                    return statusChangeNone(
+                            checkResultPair.getKey(),
+                            checkResultPair.getValue(),
+                            probe);
                 })
                 .collect(Collectors.toList());
     }
@@ -283,6 +774,18 @@ public class ScheduledCheckTask implements CheckTask
                 .build();
     }
 
+    private CheckDto statusChangeDeferred(CheckDto checkDto)
+    {
+        return CheckDto
+                .buildFrom(checkDto)
+                .refresh(Instant.now().plus(
+                        checkDto.getInterval(),
+                        ChronoUnit.MINUTES))
+                .state(State.WAITING)
+                .locked(Optional.empty())
+                .build();
+    }
+
     private CheckDto statusChangeConfirmationRequired(
             CheckDto checkDto,
             ResultDto resultDto,
@@ -335,24 +838,12 @@ public class ScheduledCheckTask implements CheckTask
                 .build();
     }
 
-    private int updateChecks(
+    private Collection<CheckDto> updateChecks(
             CheckRepository checkRepository,
             Collection<CheckDto> updatedChecks
     )
     {
         return checkRepository
-                .batchUpdate(updatedChecks);
+                .transitionChecks(updatedChecks);
     }
 }
-
-
-
-
-
-
-
-
-
-
-
-
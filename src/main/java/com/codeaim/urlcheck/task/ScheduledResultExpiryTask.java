@@ -1,15 +1,37 @@
 package com.codeaim.urlcheck.task;
 
 import com.codeaim.urlcheck.configuration.ProbeConfiguration;
+import com.codeaim.urlcheck.domain.ResultExpiryDto;
+import com.codeaim.urlcheck.repository.EntitlementsChangedEvent;
 import com.codeaim.urlcheck.repository.ResultRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
-public class ScheduledResultExpiryTask implements ResultExpiryTask
+public class ScheduledResultExpiryTask implements ResultExpiryTask, ResultExpiryStatistics
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduledResultExpiryTask.class);
+
     private ResultRepository resultRepository;
     private ProbeConfiguration probeConfiguration;
+    private AtomicLong expiredResultCount = new AtomicLong();
+    private AtomicLong lastExpiredResultCount = new AtomicLong();
+    private AtomicLong lastScannedResultCount = new AtomicLong();
+    private AtomicLong expiredResultRate = new AtomicLong();
+    private AtomicLong expiryBacklog = new AtomicLong();
+    private AtomicLong droppedPartitionCount = new AtomicLong();
+    private AtomicLong retentionRefreshCount = new AtomicLong();
+    private AtomicBoolean retentionChanged = new AtomicBoolean(true);
+    private long lastRetentionRefresh;
 
     @Autowired
     public ScheduledResultExpiryTask(
@@ -22,9 +44,144 @@ public class ScheduledResultExpiryTask implements ResultExpiryTask
     }
 
     @Override
-    public void run()
+    public synchronized void run()
+    {
+        long start = System.nanoTime();
+        int chunkSize = this.probeConfiguration.getResultExpiryChunkSize();
+        long scanned = 0;
+        long expired = 0;
+
+        boolean retentionRefreshed = refreshRetention();
+        int droppedPartitions = resultRepository.dropResultPartitions();
+        resultRepository.createResultPartitions(
+                Instant.now().plus(this.probeConfiguration.getResultPartitionsAhead(), this.probeConfiguration.getResultPartitionUnit()),
+                this.probeConfiguration.getResultPartitionUnit());
+
+        ResultExpiryDto cursor = resultRepository.findExpiryCursor();
+        Instant cursorCreated = cursor.getCursorCreated();
+        long cursorId = cursor.getCursorId();
+
+        while (scanned < this.probeConfiguration.getResultExpirySize())
+        {
+            ResultExpiryDto resultExpiryDto = resultRepository.expireResults(cursorCreated, cursorId, chunkSize);
+            scanned += resultExpiryDto.getScanned();
+            expired += resultExpiryDto.getDeleted();
+
+            if (resultExpiryDto.getScanned() < chunkSize)
+            {
+                cursorCreated = Instant.EPOCH;
+                cursorId = 0;
+                resultRepository.saveExpiryCursor(cursorCreated, cursorId);
+                break;
+            }
+
+            cursorCreated = resultExpiryDto.getCursorCreated();
+            cursorId = resultExpiryDto.getCursorId();
+            resultRepository.saveExpiryCursor(cursorCreated, cursorId);
+
+            if (!pause())
+                break;
+        }
+
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        long backlog = resultRepository.countExpiryBacklog(cursorCreated, cursorId, this.probeConfiguration.getResultExpiryBacklogLimit());
+
+        this.expiredResultCount.addAndGet(expired);
+        this.lastExpiredResultCount.set(expired);
+        this.lastScannedResultCount.set(scanned);
+        this.expiredResultRate.set(expired * 1000 / elapsedMillis);
+        this.expiryBacklog.set(backlog);
+        this.droppedPartitionCount.addAndGet(droppedPartitions);
+
+        LOGGER.info("probe={} expired={} partitions={} scanned={} rate={} backlog={} elapsed={} cursor={}/{} refreshed={}",
+                probeConfiguration.getName(),
+                expired,
+                droppedPartitions,
+                scanned,
+                this.expiredResultRate.get(),
+                backlog,
+                elapsedMillis,
+                cursorCreated,
+                cursorId,
+                retentionRefreshed);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEntitlementsChanged(EntitlementsChangedEvent event)
+    {
+        this.retentionChanged.set(true);
+    }
+
+    private boolean refreshRetention()
+    {
+        long now = System.currentTimeMillis();
+        boolean changed = this.retentionChanged.getAndSet(false);
+
+        if (!changed &&
+                now - this.lastRetentionRefresh < this.probeConfiguration.getResultRetentionRefreshInterval() &&
+                !resultRepository.isRetentionStale())
+            return false;
+
+        try
+        {
+            resultRepository.refreshRetention();
+        } catch (RuntimeException ex)
+        {
+            this.retentionChanged.set(true);
+            throw ex;
+        }
+
+        this.lastRetentionRefresh = now;
+        this.retentionRefreshCount.incrementAndGet();
+
+        return true;
+    }
+
+    private boolean pause()
+    {
+        try
+        {
+            Thread.sleep(this.probeConfiguration.getResultExpiryChunkDelay());
+            return true;
+        } catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public long getExpiredResultCount()
+    {
+        return expiredResultCount.get();
+    }
+
+    public long getLastExpiredResultCount()
+    {
+        return lastExpiredResultCount.get();
+    }
+
+    public long getLastScannedResultCount()
+    {
+        return lastScannedResultCount.get();
+    }
+
+    public long getExpiredResultRate()
+    {
+        return expiredResultRate.get();
+    }
+
+    public long getExpiryBacklog()
+    {
+        return expiryBacklog.get();
+    }
+
+    public long getDroppedPartitionCount()
+    {
+        return droppedPartitionCount.get();
+    }
+
+    public long getRetentionRefreshCount()
     {
-        int expiredResultCount = resultRepository.expireResults(this.probeConfiguration.getResultExpirySize());
-        System.out.println("Expired results " + expiredResultCount);
+        return retentionRefreshCount.get();
     }
 }
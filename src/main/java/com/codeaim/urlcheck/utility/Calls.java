@@ -0,0 +1,35 @@
+package com.codeaim.urlcheck.utility;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+public class Calls
+{
+    public static CompletableFuture<Response> enqueue(OkHttpClient httpClient, Request request)
+    {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+
+        httpClient.newCall(request).enqueue(new Callback()
+        {
+            @Override
+            public void onFailure(Call call, IOException e)
+            {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response)
+            {
+                future.complete(response);
+            }
+        });
+
+        return future;
+    }
+}
@@ -0,0 +1,24 @@
+package com.codeaim.urlcheck.utility;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CountingAbortPolicy implements RejectedExecutionHandler
+{
+    private AtomicLong rejectedCount = new AtomicLong();
+
+    @Override
+    public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor)
+    {
+        rejectedCount.incrementAndGet();
+
+        throw new RejectedExecutionException("Executor queue is full, active=" + executor.getActiveCount() + " queued=" + executor.getQueue().size());
+    }
+
+    public long getRejectedCount()
+    {
+        return rejectedCount.get();
+    }
+}
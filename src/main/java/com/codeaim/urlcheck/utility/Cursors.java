@@ -0,0 +1,75 @@
+package com.codeaim.urlcheck.utility;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.Validate;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class Cursors
+{
+    public static <T> void forEach(
+            JdbcTemplate jdbcTemplate,
+            String sql,
+            int fetchSize,
+            RowMapper<T> rowMapper,
+            Consumer<T> consumer
+    )
+    {
+        Validate.isTrue(fetchSize > 0);
+
+        boolean transactional = TransactionSynchronizationManager.hasResource(jdbcTemplate.getDataSource());
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (transactional)
+            {
+                query(connection, sql, fetchSize, rowMapper, consumer);
+
+                return null;
+            }
+
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try
+            {
+                query(connection, sql, fetchSize, rowMapper, consumer);
+                connection.commit();
+
+                return null;
+            } catch (SQLException | RuntimeException e)
+            {
+                connection.rollback();
+                throw e;
+            } finally
+            {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+    }
+
+    private static <T> void query(
+            Connection connection,
+            String sql,
+            int fetchSize,
+            RowMapper<T> rowMapper,
+            Consumer<T> consumer
+    ) throws SQLException
+    {
+        try (PreparedStatement statement = connection.prepareStatement(sql))
+        {
+            statement.setFetchSize(fetchSize);
+            try (ResultSet resultSet = statement.executeQuery())
+            {
+                int rowNum = 0;
+                while (resultSet.next())
+                    consumer.accept(rowMapper.mapRow(resultSet, rowNum++));
+            }
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.codeaim.urlcheck.utility;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.lang3.Validate;
+
+public class ExpiringCache<K, V>
+{
+    private long ttlMillis;
+    private LongSupplier clock;
+    private Map<K, CachedValue<V>> entries;
+    private AtomicLong generation = new AtomicLong();
+    private AtomicLong hits = new AtomicLong();
+    private AtomicLong misses = new AtomicLong();
+    private AtomicLong invalidations = new AtomicLong();
+
+    public ExpiringCache(int maximumSize, long ttlMillis, LongSupplier clock)
+    {
+        Validate.isTrue(maximumSize > 0);
+        Validate.isTrue(ttlMillis >= 0);
+        Validate.notNull(clock);
+
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<K, CachedValue<V>>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest)
+            {
+                return size() > maximumSize;
+            }
+        });
+    }
+
+    public V get(K key, Function<K, V> loader)
+    {
+        Optional<V> cached = getIfPresent(key);
+        if (cached.isPresent())
+            return cached.get();
+
+        long loadGeneration = generation.get();
+        V value = loader.apply(key);
+
+        if (value != null)
+            store(Collections.singletonMap(key, value), loadGeneration);
+
+        return value;
+    }
+
+    public Map<K, V> getAll(Collection<K> keys, Function<Collection<K>, Map<K, V>> loader)
+    {
+        Map<K, V> values = new LinkedHashMap<>();
+        List<K> missing = new ArrayList<>();
+
+        for (K key : keys)
+        {
+            Optional<V> cached = getIfPresent(key);
+            if (cached.isPresent())
+                values.put(key, cached.get());
+            else
+                missing.add(key);
+        }
+
+        if (!missing.isEmpty())
+        {
+            long loadGeneration = generation.get();
+            Map<K, V> loaded = loader.apply(missing);
+
+            store(loaded, loadGeneration);
+            values.putAll(loaded);
+        }
+
+        return values;
+    }
+
+    public Optional<V> getIfPresent(K key)
+    {
+        CachedValue<V> entry = entries.get(key);
+
+        if (entry != null && clock.getAsLong() < entry.expires)
+        {
+            hits.incrementAndGet();
+            return Optional.of(entry.value);
+        }
+
+        if (entry != null)
+            entries.remove(key, entry);
+
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    public void invalidate(K key)
+    {
+        synchronized (entries)
+        {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+        invalidations.incrementAndGet();
+    }
+
+    public void invalidateAll()
+    {
+        synchronized (entries)
+        {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+        invalidations.incrementAndGet();
+    }
+
+    private void store(Map<K, V> values, long loadGeneration)
+    {
+        if (generation.get() != loadGeneration)
+            return;
+
+        synchronized (entries)
+        {
+            if (generation.get() != loadGeneration)
+                return;
+
+            long expires = clock.getAsLong() + ttlMillis;
+            values.forEach((key, value) -> entries.put(key, new CachedValue<>(value, expires)));
+        }
+    }
+
+    public int size()
+    {
+        return entries.size();
+    }
+
+    public long getHits()
+    {
+        return hits.get();
+    }
+
+    public long getMisses()
+    {
+        return misses.get();
+    }
+
+    public long getInvalidations()
+    {
+        return invalidations.get();
+    }
+
+    private static final class CachedValue<V>
+    {
+        private final V value;
+        private final long expires;
+
+        private CachedValue(V value, long expires)
+        {
+            this.value = value;
+            this.expires = expires;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.codeaim.urlcheck.utility;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+
+import javax.net.ssl.SSLException;
+
+import com.codeaim.urlcheck.domain.Failure;
+import com.codeaim.urlcheck.http.Timings;
+
+public class Failures
+{
+    public static Failure classify(IOException exception, Timings timings)
+    {
+        if (exception instanceof UnknownHostException)
+            return Failure.DNS;
+
+        if (exception instanceof SSLException)
+            return Failure.TLS;
+
+        if (exception instanceof ConnectException)
+            return Failure.CONNECTION_REFUSED;
+
+        if (exception instanceof SocketTimeoutException)
+            return timings.isConnecting()
+                    ? Failure.CONNECT_TIMEOUT
+                    : Failure.READ_TIMEOUT;
+
+        if (exception instanceof InterruptedIOException)
+            return Failure.CALL_TIMEOUT;
+
+        return Failure.UNKNOWN;
+    }
+}
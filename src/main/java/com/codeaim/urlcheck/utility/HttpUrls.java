@@ -0,0 +1,48 @@
+package com.codeaim.urlcheck.utility;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import okhttp3.HttpUrl;
+
+public class HttpUrls
+{
+    private static final int MAXIMUM_SIZE = 10000;
+    private static final Map<String, HttpUrl> URLS = Collections.synchronizedMap(new LinkedHashMap<String, HttpUrl>(16, 0.75f, true)
+    {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, HttpUrl> eldest)
+        {
+            return size() > MAXIMUM_SIZE;
+        }
+    });
+
+    public static HttpUrl parse(String url)
+    {
+        if (url == null)
+            return null;
+
+        HttpUrl httpUrl = URLS.get(url);
+        if (httpUrl != null)
+            return httpUrl;
+
+        httpUrl = HttpUrl.parse(url);
+        if (httpUrl == null)
+            return null;
+
+        HttpUrl existing = URLS.putIfAbsent(url, httpUrl);
+
+        return existing != null ? existing : httpUrl;
+    }
+
+    public static int size()
+    {
+        return URLS.size();
+    }
+
+    public static void clear()
+    {
+        URLS.clear();
+    }
+}
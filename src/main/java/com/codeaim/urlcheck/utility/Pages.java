@@ -0,0 +1,64 @@
+package com.codeaim.urlcheck.utility;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.lang3.Validate;
+
+public class Pages
+{
+    public static <T, ID> Stream<T> stream(
+            BiFunction<ID, Integer, Collection<T>> pager,
+            Function<T, ID> identifier,
+            ID start,
+            int pageSize
+    )
+    {
+        Validate.isTrue(pageSize > 0);
+
+        Iterator<T> iterator = new Iterator<T>()
+        {
+            private ID after = start;
+            private Iterator<T> page = Collections.emptyIterator();
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext()
+            {
+                while (!page.hasNext() && !exhausted)
+                {
+                    List<T> next = new ArrayList<>(pager.apply(after, pageSize));
+                    exhausted = next.size() < pageSize;
+
+                    if (!next.isEmpty())
+                        after = identifier.apply(next.get(next.size() - 1));
+
+                    page = next.iterator();
+                }
+
+                return page.hasNext();
+            }
+
+            @Override
+            public T next()
+            {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                return page.next();
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+}
@@ -0,0 +1,76 @@
+package com.codeaim.urlcheck.utility;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import org.apache.commons.lang3.Validate;
+
+public class Partitions
+{
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    public static LocalDateTime truncate(LocalDateTime time, ChronoUnit unit)
+    {
+        Validate.isTrue(unit == ChronoUnit.DAYS || unit == ChronoUnit.HOURS);
+
+        return time.truncatedTo(unit);
+    }
+
+    public static String name(String table, LocalDateTime start, ChronoUnit unit)
+    {
+        LocalDateTime truncated = truncate(start, unit);
+
+        return unit == ChronoUnit.DAYS
+                ? table + "_p" + DATE.format(truncated)
+                : table + "_p" + DATE.format(truncated) + String.format("%02d", truncated.getHour());
+    }
+
+    public static Optional<LocalDateTime> start(String table, String name)
+    {
+        return parse(table, name).map(bound -> bound.start);
+    }
+
+    public static Optional<LocalDateTime> end(String table, String name)
+    {
+        return parse(table, name).map(bound -> bound.start.plus(1, bound.unit));
+    }
+
+    private static Optional<Bound> parse(String table, String name)
+    {
+        String prefix = table + "_p";
+        if (!name.startsWith(prefix))
+            return Optional.empty();
+
+        String suffix = name.substring(prefix.length());
+        if ((suffix.length() != 8 && suffix.length() != 10) || !suffix.chars().allMatch(Character::isDigit))
+            return Optional.empty();
+
+        try
+        {
+            LocalDateTime day = LocalDate.parse(suffix.substring(0, 8), DATE).atStartOfDay();
+
+            return suffix.length() == 8
+                    ? Optional.of(new Bound(day, ChronoUnit.DAYS))
+                    : Optional.of(new Bound(day.withHour(Integer.parseInt(suffix.substring(8))), ChronoUnit.HOURS));
+        } catch (DateTimeException ex)
+        {
+            return Optional.empty();
+        }
+    }
+
+    private static final class Bound
+    {
+        private final LocalDateTime start;
+        private final ChronoUnit unit;
+
+        private Bound(LocalDateTime start, ChronoUnit unit)
+        {
+            this.start = start;
+            this.unit = unit;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.codeaim.urlcheck.utility;
+
+import java.util.Arrays;
+
+public class Reservoir
+{
+    private long[] values;
+    private int size;
+    private int next;
+
+    public Reservoir(int capacity)
+    {
+        this.values = new long[capacity];
+    }
+
+    public synchronized void record(long value)
+    {
+        values[next] = value;
+        next = (next + 1) % values.length;
+        size = Math.min(size + 1, values.length);
+    }
+
+    public synchronized long percentile(double quantile)
+    {
+        if (size == 0)
+            return 0;
+
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+
+        return sorted[(int) Math.min(size - 1, Math.max(0, Math.ceil(quantile * size) - 1))];
+    }
+
+    public synchronized int size()
+    {
+        return size;
+    }
+
+    public synchronized void clear()
+    {
+        size = 0;
+        next = 0;
+    }
+}
@@ -0,0 +1,6 @@
+CREATE INDEX check_waiting_refresh_idx ON "check" (refresh) WHERE state = 'WAITING';
+CREATE INDEX check_elected_locked_idx ON "check" (locked) WHERE state = 'ELECTED';
+CREATE INDEX check_latest_result_id_idx ON "check" (latest_result_id);
+
+CREATE INDEX result_check_id_created_idx ON result (check_id, created);
+CREATE INDEX result_previous_result_id_idx ON result (previous_result_id);
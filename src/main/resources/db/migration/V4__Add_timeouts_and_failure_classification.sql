@@ -0,0 +1,7 @@
+CREATE TYPE failure AS ENUM ('DNS', 'CONNECT_TIMEOUT', 'CONNECTION_REFUSED', 'TLS', 'READ_TIMEOUT', 'CALL_TIMEOUT', 'UNKNOWN');
+
+ALTER TABLE "check" ADD COLUMN connect_timeout INT NULL;
+ALTER TABLE "check" ADD COLUMN read_timeout INT NULL;
+ALTER TABLE "check" ADD COLUMN call_timeout INT NULL;
+
+ALTER TABLE result ADD COLUMN failure failure NULL;
@@ -0,0 +1,3 @@
+CREATE TYPE probe_mode AS ENUM ('HEAD', 'GET', 'GET_PARTIAL');
+
+ALTER TABLE "check" ADD COLUMN probe_mode probe_mode NOT NULL DEFAULT 'GET';
@@ -0,0 +1,6 @@
+ALTER TABLE result ADD COLUMN dns_time BIGINT NULL;
+ALTER TABLE result ADD COLUMN connect_time BIGINT NULL;
+ALTER TABLE result ADD COLUMN tls_time BIGINT NULL;
+ALTER TABLE result ADD COLUMN request_write_time BIGINT NULL;
+ALTER TABLE result ADD COLUMN first_byte_time BIGINT NULL;
+ALTER TABLE result ADD COLUMN total_time BIGINT NULL;
@@ -0,0 +1,12 @@
+CREATE MATERIALIZED VIEW check_retention AS
+  SELECT
+    "check".id                            AS check_id,
+    MAX("role".result_retention_duration) AS result_retention_duration
+  FROM "check"
+    LEFT JOIN "user_role" ON "user_role".user_id = "check".user_id
+    LEFT JOIN "role" ON "role".id = "user_role".role_id
+  GROUP BY "check".id;
+
+CREATE UNIQUE INDEX check_retention_check_id_idx ON check_retention (check_id);
+
+CREATE INDEX result_created_id_idx ON result (created, id);
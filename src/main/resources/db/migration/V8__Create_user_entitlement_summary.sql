@@ -0,0 +1,11 @@
+CREATE MATERIALIZED VIEW user_entitlement AS
+  SELECT
+    "user_role".user_id                   AS user_id,
+    MAX("role".check_limit)               AS check_limit,
+    MAX("role".result_event_limit)        AS result_event_limit,
+    MAX("role".result_retention_duration) AS result_retention_duration
+  FROM "user_role"
+    INNER JOIN "role" ON "role".id = "user_role".role_id
+  GROUP BY "user_role".user_id;
+
+CREATE UNIQUE INDEX user_entitlement_user_id_idx ON user_entitlement (user_id);
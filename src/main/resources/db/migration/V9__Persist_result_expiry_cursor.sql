@@ -0,0 +1,7 @@
+CREATE TABLE result_expiry_cursor (
+  id        BOOLEAN   NOT NULL PRIMARY KEY DEFAULT TRUE CHECK (id),
+  created   TIMESTAMP NOT NULL,
+  result_id BIGINT    NOT NULL
+);
+
+INSERT INTO result_expiry_cursor (created, result_id) VALUES ('1970-01-01 00:00:00', 0);
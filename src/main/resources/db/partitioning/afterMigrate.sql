@@ -0,0 +1,90 @@
+CREATE OR REPLACE FUNCTION result_reference_check() RETURNS TRIGGER AS $$
+DECLARE
+  result_id BIGINT;
+BEGIN
+  IF TG_TABLE_NAME = 'check' THEN
+    result_id := NEW.latest_result_id;
+  ELSE
+    result_id := NEW.previous_result_id;
+  END IF;
+
+  IF result_id IS NOT NULL THEN
+    PERFORM 1 FROM result WHERE id = result_id FOR KEY SHARE;
+    IF NOT FOUND THEN
+      RAISE foreign_key_violation USING MESSAGE = format('%s %s references missing result %s', TG_TABLE_NAME, NEW.id, result_id);
+    END IF;
+  END IF;
+
+  RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION result_delete_check() RETURNS TRIGGER AS $$
+BEGIN
+  IF EXISTS(SELECT 1 FROM "check" WHERE latest_result_id = OLD.id) THEN
+    RAISE foreign_key_violation USING MESSAGE = format('result %s is still referenced by check', OLD.id);
+  END IF;
+
+  UPDATE result SET previous_result_id = NULL WHERE previous_result_id = OLD.id;
+
+  RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+  partition_start TIMESTAMP;
+  partition_end   TIMESTAMP;
+BEGIN
+  IF EXISTS(SELECT 1 FROM pg_class WHERE oid = 'result'::regclass AND relkind = 'p') THEN
+    RETURN;
+  END IF;
+
+  IF current_setting('server_version_num')::INT < 110000 THEN
+    RAISE EXCEPTION 'result partitioning requires PostgreSQL 11 or later, found %', current_setting('server_version');
+  END IF;
+
+  ALTER TABLE "check" DROP CONSTRAINT IF EXISTS check_latest_result_id_fkey;
+  ALTER TABLE result DROP CONSTRAINT IF EXISTS result_previous_result_id_fkey;
+  ALTER SEQUENCE result_id_seq OWNED BY NONE;
+  ALTER TABLE result RENAME TO result_unpartitioned;
+
+  CREATE TABLE result (LIKE result_unpartitioned INCLUDING DEFAULTS) PARTITION BY RANGE (created);
+  CREATE TABLE result_retained PARTITION OF result DEFAULT;
+
+  partition_start := date_trunc('day', LEAST((SELECT MIN(created) FROM result_unpartitioned), LOCALTIMESTAMP));
+  WHILE partition_start < date_trunc('day', LOCALTIMESTAMP) + INTERVAL '7 days' LOOP
+    partition_end := partition_start + INTERVAL '1 day';
+    EXECUTE format('CREATE TABLE %I PARTITION OF result FOR VALUES FROM (%L) TO (%L)', 'result_p' || to_char(partition_start, 'YYYYMMDD'), partition_start, partition_end);
+    partition_start := partition_end;
+  END LOOP;
+
+  INSERT INTO result SELECT * FROM result_unpartitioned;
+  DROP TABLE result_unpartitioned;
+
+  -- A partitioned primary key must include created, so result.id is unique by
+  -- invariant only: ids come solely from result_id_seq, and rows move between
+  -- partitions by re-insert in the transaction that drops their source partition.
+  ALTER SEQUENCE result_id_seq OWNED BY result.id;
+  ALTER TABLE result ADD PRIMARY KEY (id, created);
+  ALTER TABLE result ADD FOREIGN KEY (check_id) REFERENCES "check" (id) ON DELETE CASCADE;
+
+  CREATE INDEX result_check_id_created_idx ON result (check_id, created);
+  CREATE INDEX result_previous_result_id_idx ON result (previous_result_id);
+  CREATE INDEX result_created_id_idx ON result (created, id);
+
+  -- Foreign keys cannot reference result.id alone once it is partitioned, so
+  -- triggers stand in for check_latest_result_id_fkey (no action) and
+  -- result_previous_result_id_fkey (on delete set null). Dropping a partition
+  -- bypasses them; dropResultPartitions unlinks and retains rows itself.
+  CREATE TRIGGER check_latest_result_id_check
+    AFTER INSERT OR UPDATE OF latest_result_id ON "check"
+    FOR EACH ROW EXECUTE PROCEDURE result_reference_check();
+  CREATE TRIGGER result_previous_result_id_check
+    AFTER INSERT OR UPDATE OF previous_result_id ON result
+    FOR EACH ROW EXECUTE PROCEDURE result_reference_check();
+  CREATE TRIGGER result_delete_check
+    AFTER DELETE ON result
+    FOR EACH ROW EXECUTE PROCEDURE result_delete_check();
+END
+$$;
@@ -0,0 +1,143 @@
+package com.codeaim.urlcheck.benchmark;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.codeaim.urlcheck.Application;
+import com.codeaim.urlcheck.domain.CheckDto;
+import com.codeaim.urlcheck.domain.ResultDto;
+import com.codeaim.urlcheck.domain.Status;
+import com.codeaim.urlcheck.domain.UserDto;
+import com.codeaim.urlcheck.repository.CheckRepository;
+import com.codeaim.urlcheck.repository.ResultRepository;
+import com.codeaim.urlcheck.repository.UserRepository;
+
+import okhttp3.HttpUrl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResultIngestionBenchmark
+{
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private UserRepository userRepository;
+    private ResultRepository resultRepository;
+    private UserDto savedUserDto;
+    private CheckDto savedCheckDto;
+    private List<ResultDto> resultDtos;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        context = new SpringApplicationBuilder(Application.class)
+                .properties("com.codeaim.urlcheck.probe.scheduleDisabled=true")
+                .web(false)
+                .run();
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        userRepository = context.getBean(UserRepository.class);
+        resultRepository = context.getBean(ResultRepository.class);
+
+        savedUserDto = userRepository.save(UserDto.builder()
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build());
+
+        savedCheckDto = context.getBean(CheckRepository.class).save(CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("benchmark")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .probe(Optional.of("benchmark"))
+                .interval(1)
+                .build());
+
+        resultDtos = IntStream
+                .range(0, rows)
+                .mapToObj(index -> ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(index % 2 == 0 ? Status.UP : Status.DOWN)
+                        .probe("benchmark")
+                        .statusCode(index % 2 == 0 ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR)
+                        .responseTime(OptionalLong.of(index))
+                        .created(Instant.now())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteResults()
+    {
+        jdbcTemplate.update("DELETE FROM result WHERE check_id = ?", savedCheckDto.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        userRepository.delete(savedUserDto);
+        context.close();
+    }
+
+    @Benchmark
+    public int batchInsert()
+    {
+        return resultRepository.batchInsert(resultDtos);
+    }
+
+    @Benchmark
+    public Collection<ResultDto> save()
+    {
+        return resultRepository.save(resultDtos);
+    }
+
+    @Benchmark
+    public Collection<ResultDto> copyInsert()
+    {
+        return resultRepository.copyInsert(resultDtos);
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+                .include(ResultIngestionBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,217 @@
+package com.codeaim.urlcheck.benchmark;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.codeaim.urlcheck.Application;
+import com.codeaim.urlcheck.domain.CheckDto;
+import com.codeaim.urlcheck.domain.Failure;
+import com.codeaim.urlcheck.domain.ProbeMode;
+import com.codeaim.urlcheck.domain.ResultDto;
+import com.codeaim.urlcheck.domain.Status;
+import com.codeaim.urlcheck.domain.UserDto;
+import com.codeaim.urlcheck.repository.CheckRepository;
+import com.codeaim.urlcheck.repository.ResultRepository;
+import com.codeaim.urlcheck.repository.UserRepository;
+
+import okhttp3.HttpUrl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RowMapperBenchmark
+{
+    @Param({"1000", "10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private UserRepository userRepository;
+    private CheckRepository checkRepository;
+    private ResultRepository resultRepository;
+    private UserDto savedUserDto;
+    private long firstCheckId;
+    private long firstResultId;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        context = new SpringApplicationBuilder(Application.class)
+                .properties("com.codeaim.urlcheck.probe.scheduleDisabled=true")
+                .web(false)
+                .run();
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        userRepository = context.getBean(UserRepository.class);
+        checkRepository = context.getBean(CheckRepository.class);
+        resultRepository = context.getBean(ResultRepository.class);
+
+        savedUserDto = userRepository.save(UserDto.builder()
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build());
+
+        Collection<CheckDto> savedCheckDtos = checkRepository.save(IntStream
+                .range(0, rows)
+                .mapToObj(index -> CheckDto.builder()
+                        .userId(savedUserDto.getId())
+                        .name("benchmark" + index)
+                        .url(HttpUrl.parse("http://www.example.com/" + (index % 100)))
+                        .probe(Optional.of("benchmark"))
+                        .interval(1)
+                        .locked(Optional.of(Instant.now()))
+                        .connectTimeout(OptionalInt.of(1000))
+                        .readTimeout(OptionalInt.of(1000))
+                        .callTimeout(OptionalInt.of(5000))
+                        .build())
+                .collect(Collectors.toList()));
+
+        firstCheckId = savedCheckDtos.stream().mapToLong(CheckDto::getId).min().getAsLong() - 1;
+
+        long checkId = firstCheckId + 1;
+        Collection<ResultDto> savedResultDtos = resultRepository.copyInsert(IntStream
+                .range(0, rows)
+                .mapToObj(index -> ResultDto.builder()
+                        .checkId(checkId)
+                        .status(index % 2 == 0 ? Status.UP : Status.DOWN)
+                        .probe("benchmark")
+                        .statusCode(index % 2 == 0 ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR)
+                        .responseTime(OptionalLong.of(index + 1))
+                        .created(Instant.now())
+                        .failure(index % 2 == 0 ? Optional.empty() : Optional.of(Failure.READ_TIMEOUT))
+                        .dnsTime(OptionalLong.of(1))
+                        .connectTime(OptionalLong.of(2))
+                        .tlsTime(OptionalLong.of(3))
+                        .requestWriteTime(OptionalLong.of(4))
+                        .firstByteTime(OptionalLong.of(5))
+                        .totalTime(OptionalLong.of(index + 1))
+                        .build())
+                .collect(Collectors.toList()));
+
+        firstResultId = savedResultDtos.stream().mapToLong(ResultDto::getId).min().getAsLong() - 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        userRepository.delete(savedUserDto);
+        context.close();
+    }
+
+    @Benchmark
+    public Collection<CheckDto> checksByIndex()
+    {
+        return checkRepository.findAllAfter(firstCheckId, rows);
+    }
+
+    @Benchmark
+    public Collection<CheckDto> checksByName()
+    {
+        return jdbcTemplate.query("SELECT * FROM \"check\" WHERE id > ? ORDER BY id LIMIT ?", mapCheckDtoByName(), firstCheckId, rows);
+    }
+
+    @Benchmark
+    public Collection<ResultDto> resultsByIndex()
+    {
+        return resultRepository.findAllAfter(firstResultId, rows);
+    }
+
+    @Benchmark
+    public Collection<ResultDto> resultsByName()
+    {
+        return jdbcTemplate.query("SELECT * FROM result WHERE id > ? ORDER BY id LIMIT ?", mapResultDtoByName(), firstResultId, rows);
+    }
+
+    private static RowMapper<CheckDto> mapCheckDtoByName()
+    {
+        return (rs, rowNum) -> CheckDto.builder()
+                .id(rs.getLong("id"))
+                .userId(rs.getLong("user_id"))
+                .latestResultId(rs.getLong("latest_result_id") != 0 ? OptionalLong.of(rs.getLong("latest_result_id")) : OptionalLong.empty())
+                .name(rs.getString("name"))
+                .url(HttpUrl.parse(rs.getString("url")))
+                .probe(Optional.ofNullable(rs.getString("probe")))
+                .status(Status.valueOf(rs.getString("status")))
+                .state(com.codeaim.urlcheck.domain.State.valueOf(rs.getString("state")))
+                .created(rs.getTimestamp("created").toInstant())
+                .modified(rs.getTimestamp("modified").toInstant())
+                .refresh(rs.getTimestamp("refresh").toInstant())
+                .locked(rs.getTimestamp("locked") != null ? Optional.of(rs.getTimestamp("locked").toInstant()) : Optional.empty())
+                .interval(rs.getInt("interval"))
+                .confirming(rs.getBoolean("confirming"))
+                .version(rs.getLong("version"))
+                .connectTimeout(rs.getInt("connect_timeout") != 0 ? OptionalInt.of(rs.getInt("connect_timeout")) : OptionalInt.empty())
+                .readTimeout(rs.getInt("read_timeout") != 0 ? OptionalInt.of(rs.getInt("read_timeout")) : OptionalInt.empty())
+                .callTimeout(rs.getInt("call_timeout") != 0 ? OptionalInt.of(rs.getInt("call_timeout")) : OptionalInt.empty())
+                .probeMode(ProbeMode.valueOf(rs.getString("probe_mode")))
+                .build();
+    }
+
+    private static RowMapper<ResultDto> mapResultDtoByName()
+    {
+        return (rs, rowNum) -> ResultDto.builder()
+                .id(rs.getLong("id"))
+                .checkId(rs.getLong("check_id"))
+                .previousResultId(rs.getLong("previous_result_id") != 0 ? OptionalLong.of(rs.getLong("previous_result_id")) : OptionalLong.empty())
+                .status(Status.valueOf(rs.getString("status")))
+                .probe(rs.getString("probe"))
+                .statusCode(HttpStatus.valueOf(rs.getInt("status_code")))
+                .responseTime(rs.getLong("response_time") != 0 ? OptionalLong.of(rs.getLong("response_time")) : OptionalLong.empty())
+                .changed(rs.getBoolean("changed"))
+                .confirmation(rs.getBoolean("confirmation"))
+                .created(rs.getTimestamp("created").toInstant())
+                .failure(rs.getString("failure") != null ? Optional.of(Failure.valueOf(rs.getString("failure"))) : Optional.empty())
+                .dnsTime(rs.getLong("dns_time") != 0 ? OptionalLong.of(rs.getLong("dns_time")) : OptionalLong.empty())
+                .connectTime(rs.getLong("connect_time") != 0 ? OptionalLong.of(rs.getLong("connect_time")) : OptionalLong.empty())
+                .tlsTime(rs.getLong("tls_time") != 0 ? OptionalLong.of(rs.getLong("tls_time")) : OptionalLong.empty())
+                .requestWriteTime(rs.getLong("request_write_time") != 0 ? OptionalLong.of(rs.getLong("request_write_time")) : OptionalLong.empty())
+                .firstByteTime(rs.getLong("first_byte_time") != 0 ? OptionalLong.of(rs.getLong("first_byte_time")) : OptionalLong.empty())
+                .totalTime(rs.getLong("total_time") != 0 ? OptionalLong.of(rs.getLong("total_time")) : OptionalLong.empty())
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+                .include(RowMapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -2,6 +2,7 @@ package com.codeaim.urlcheck.domain;
 
 import java.time.Instant;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.OptionalLong;
 
 import org.junit.Assert;
@@ -33,6 +34,10 @@ public class CheckDtoTest
                 .interval(1)
                 .confirming(true)
                 .version(1)
+                .connectTimeout(OptionalInt.of(1000))
+                .readTimeout(OptionalInt.of(2000))
+                .callTimeout(OptionalInt.of(3000))
+                .probeMode(ProbeMode.HEAD)
                 .build();
 
         Assert.assertEquals(1, checkDto.getId());
@@ -50,6 +55,10 @@ public class CheckDtoTest
         Assert.assertEquals(1, checkDto.getInterval());
         Assert.assertEquals(true, checkDto.isConfirming());
         Assert.assertEquals(1, checkDto.getVersion());
+        Assert.assertEquals(1000, checkDto.getConnectTimeout().getAsInt());
+        Assert.assertEquals(2000, checkDto.getReadTimeout().getAsInt());
+        Assert.assertEquals(3000, checkDto.getCallTimeout().getAsInt());
+        Assert.assertEquals(ProbeMode.HEAD, checkDto.getProbeMode());
     }
 
     @Test
@@ -71,6 +80,10 @@ public class CheckDtoTest
                 .interval(1)
                 .confirming(true)
                 .version(1)
+                .connectTimeout(OptionalInt.of(1000))
+                .readTimeout(OptionalInt.of(2000))
+                .callTimeout(OptionalInt.of(3000))
+                .probeMode(ProbeMode.HEAD)
                 .build())
                 .build();
 
@@ -89,5 +102,9 @@ public class CheckDtoTest
         Assert.assertEquals(1, checkDto.getInterval());
         Assert.assertEquals(true, checkDto.isConfirming());
         Assert.assertEquals(1, checkDto.getVersion());
+        Assert.assertEquals(1000, checkDto.getConnectTimeout().getAsInt());
+        Assert.assertEquals(2000, checkDto.getReadTimeout().getAsInt());
+        Assert.assertEquals(3000, checkDto.getCallTimeout().getAsInt());
+        Assert.assertEquals(ProbeMode.HEAD, checkDto.getProbeMode());
     }
 }
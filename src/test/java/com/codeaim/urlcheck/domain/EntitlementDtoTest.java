@@ -0,0 +1,32 @@
+package com.codeaim.urlcheck.domain;
+
+import java.time.Duration;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class EntitlementDtoTest
+{
+    @Test
+    public void build()
+    {
+        EntitlementDto entitlementDto = EntitlementDto.builder()
+                .userId(1)
+                .checkLimit(10)
+                .resultEventLimit(50)
+                .resultRetentionDuration(Duration.ofHours(24))
+                .build();
+
+        Assert.assertEquals(1, entitlementDto.getUserId());
+        Assert.assertEquals(10, entitlementDto.getCheckLimit());
+        Assert.assertEquals(50, entitlementDto.getResultEventLimit());
+        Assert.assertEquals(Duration.ofHours(24), entitlementDto.getResultRetentionDuration());
+    }
+}
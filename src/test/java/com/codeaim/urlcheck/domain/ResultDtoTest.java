@@ -1,6 +1,7 @@
 package com.codeaim.urlcheck.domain;
 
 import java.time.Instant;
+import java.util.Optional;
 import java.util.OptionalLong;
 
 import org.junit.Assert;
@@ -30,6 +31,9 @@ public class ResultDtoTest
                 .changed(true)
                 .confirmation(true)
                 .created(Instant.now())
+                .failure(Optional.of(Failure.READ_TIMEOUT))
+                .dnsTime(OptionalLong.of(1))
+                .totalTime(OptionalLong.of(2))
                 .build();
 
         Assert.assertEquals(1, resultDto.getId());
@@ -42,6 +46,10 @@ public class ResultDtoTest
         Assert.assertEquals(true, resultDto.isChanged());
         Assert.assertEquals(true, resultDto.isConfirmation());
         Assert.assertNotNull(resultDto.getCreated());
+        Assert.assertEquals(Failure.READ_TIMEOUT, resultDto.getFailure().get());
+        Assert.assertEquals(1, resultDto.getDnsTime().getAsLong());
+        Assert.assertFalse(resultDto.getConnectTime().isPresent());
+        Assert.assertEquals(2, resultDto.getTotalTime().getAsLong());
     }
 
     @Test
@@ -58,6 +66,9 @@ public class ResultDtoTest
                 .changed(true)
                 .confirmation(true)
                 .created(Instant.now())
+                .failure(Optional.of(Failure.READ_TIMEOUT))
+                .dnsTime(OptionalLong.of(1))
+                .totalTime(OptionalLong.of(2))
                 .build())
                 .build();
 
@@ -71,5 +82,9 @@ public class ResultDtoTest
         Assert.assertEquals(true, resultDto.isChanged());
         Assert.assertEquals(true, resultDto.isConfirmation());
         Assert.assertNotNull(resultDto.getCreated());
+        Assert.assertEquals(Failure.READ_TIMEOUT, resultDto.getFailure().get());
+        Assert.assertEquals(1, resultDto.getDnsTime().getAsLong());
+        Assert.assertFalse(resultDto.getConnectTime().isPresent());
+        Assert.assertEquals(2, resultDto.getTotalTime().getAsLong());
     }
 }
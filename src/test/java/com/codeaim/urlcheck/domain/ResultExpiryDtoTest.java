@@ -0,0 +1,52 @@
+package com.codeaim.urlcheck.domain;
+
+import java.time.Instant;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class ResultExpiryDtoTest
+{
+    @Test
+    public void build()
+    {
+        Instant created = Instant.now();
+        ResultExpiryDto resultExpiryDto = ResultExpiryDto.builder()
+                .scanned(10)
+                .deleted(4)
+                .cursorCreated(created)
+                .cursorId(42)
+                .build();
+
+        Assert.assertEquals(10, resultExpiryDto.getScanned());
+        Assert.assertEquals(4, resultExpiryDto.getDeleted());
+        Assert.assertEquals(created, resultExpiryDto.getCursorCreated());
+        Assert.assertEquals(42, resultExpiryDto.getCursorId());
+    }
+
+    @Test
+    public void buildDefaultsCursorToStart()
+    {
+        ResultExpiryDto resultExpiryDto = ResultExpiryDto.builder().build();
+
+        Assert.assertEquals(0, resultExpiryDto.getScanned());
+        Assert.assertEquals(Instant.EPOCH, resultExpiryDto.getCursorCreated());
+        Assert.assertEquals(0, resultExpiryDto.getCursorId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buildRejectsMoreDeletedThanScanned()
+    {
+        ResultExpiryDto.builder()
+                .scanned(1)
+                .deleted(2)
+                .build();
+    }
+}
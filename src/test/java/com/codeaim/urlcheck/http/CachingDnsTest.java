@@ -0,0 +1,164 @@
+package com.codeaim.urlcheck.http;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import okhttp3.Dns;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class CachingDnsTest
+{
+    @Test
+    public void lookupCachesWithinTtl() throws Exception
+    {
+        FakeDns fakeDns = new FakeDns();
+        AtomicLong clock = new AtomicLong();
+        CachingDns cachingDns = new CachingDns(fakeDns, 10, 1000, 100, 0, Runnable::run, clock::get);
+
+        List<InetAddress> first = cachingDns.lookup("www.example.com");
+        clock.set(999);
+        List<InetAddress> second = cachingDns.lookup("www.example.com");
+
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(1, fakeDns.lookups.get());
+        Assert.assertEquals(1, cachingDns.getMisses());
+        Assert.assertEquals(1, cachingDns.getHits());
+    }
+
+    @Test
+    public void lookupExpiresAfterTtl() throws Exception
+    {
+        FakeDns fakeDns = new FakeDns();
+        AtomicLong clock = new AtomicLong();
+        CachingDns cachingDns = new CachingDns(fakeDns, 10, 1000, 100, 0, Runnable::run, clock::get);
+
+        cachingDns.lookup("www.example.com");
+        clock.set(1000);
+        cachingDns.lookup("www.example.com");
+
+        Assert.assertEquals(2, fakeDns.lookups.get());
+        Assert.assertEquals(2, cachingDns.getMisses());
+    }
+
+    @Test
+    public void lookupCachesFailures() throws Exception
+    {
+        FakeDns fakeDns = new FakeDns();
+        fakeDns.unknownHosts.add("unresolvable.invalid");
+        AtomicLong clock = new AtomicLong();
+        CachingDns cachingDns = new CachingDns(fakeDns, 10, 1000, 100, 0, Runnable::run, clock::get);
+
+        assertUnknownHost(cachingDns, "unresolvable.invalid");
+        clock.set(99);
+        assertUnknownHost(cachingDns, "unresolvable.invalid");
+        clock.set(100);
+        assertUnknownHost(cachingDns, "unresolvable.invalid");
+
+        Assert.assertEquals(2, fakeDns.lookups.get());
+        Assert.assertEquals(1, cachingDns.getNegativeHits());
+    }
+
+    @Test
+    public void lookupServesStaleWhileRevalidating() throws Exception
+    {
+        FakeDns fakeDns = new FakeDns();
+        AtomicLong clock = new AtomicLong();
+        List<Runnable> refreshes = new ArrayList<>();
+        CachingDns cachingDns = new CachingDns(fakeDns, 10, 1000, 100, 5000, refreshes::add, clock::get);
+
+        List<InetAddress> first = cachingDns.lookup("www.example.com");
+        clock.set(1500);
+        List<InetAddress> stale = cachingDns.lookup("www.example.com");
+        cachingDns.lookup("www.example.com");
+
+        Assert.assertEquals(first, stale);
+        Assert.assertEquals(1, fakeDns.lookups.get());
+        Assert.assertEquals(2, cachingDns.getStaleHits());
+        Assert.assertEquals(1, refreshes.size());
+
+        refreshes.get(0).run();
+        cachingDns.lookup("www.example.com");
+
+        Assert.assertEquals(2, fakeDns.lookups.get());
+        Assert.assertEquals(1, cachingDns.getRefreshes());
+        Assert.assertEquals(1, cachingDns.getHits());
+    }
+
+    @Test
+    public void lookupKeepsStaleAddressesWhenRevalidationFails() throws Exception
+    {
+        FakeDns fakeDns = new FakeDns();
+        AtomicLong clock = new AtomicLong();
+        CachingDns cachingDns = new CachingDns(fakeDns, 10, 1000, 100, 5000, Runnable::run, clock::get);
+
+        List<InetAddress> first = cachingDns.lookup("www.example.com");
+        fakeDns.unknownHosts.add("www.example.com");
+        clock.set(1500);
+
+        Assert.assertEquals(first, cachingDns.lookup("www.example.com"));
+        Assert.assertEquals(first, cachingDns.lookup("www.example.com"));
+        clock.set(6000);
+        assertUnknownHost(cachingDns, "www.example.com");
+    }
+
+    @Test
+    public void lookupEvictsLeastRecentlyUsed() throws Exception
+    {
+        FakeDns fakeDns = new FakeDns();
+        AtomicLong clock = new AtomicLong();
+        CachingDns cachingDns = new CachingDns(fakeDns, 2, 1000, 100, 0, Runnable::run, clock::get);
+
+        cachingDns.lookup("first.example.com");
+        cachingDns.lookup("second.example.com");
+        cachingDns.lookup("first.example.com");
+        cachingDns.lookup("third.example.com");
+        cachingDns.lookup("first.example.com");
+        cachingDns.lookup("second.example.com");
+
+        Assert.assertEquals(2, cachingDns.size());
+        Assert.assertEquals(4, fakeDns.lookups.get());
+    }
+
+    private void assertUnknownHost(CachingDns cachingDns, String hostname)
+    {
+        try
+        {
+            cachingDns.lookup(hostname);
+            Assert.fail();
+        } catch (UnknownHostException e)
+        {
+            Assert.assertEquals(hostname, e.getMessage());
+        }
+    }
+
+    private static class FakeDns implements Dns
+    {
+        private AtomicInteger lookups = new AtomicInteger();
+        private List<String> unknownHosts = new ArrayList<>();
+
+        @Override
+        public List<InetAddress> lookup(String hostname) throws UnknownHostException
+        {
+            int lookup = lookups.incrementAndGet();
+
+            if (unknownHosts.contains(hostname))
+                throw new UnknownHostException(hostname);
+
+            return Collections.singletonList(InetAddress.getByAddress(hostname, new byte[]{10, 0, 0, (byte) lookup}));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.codeaim.urlcheck.http;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class TimingEventListenerTest
+{
+    @Test
+    public void factoryUsesRequestTimings()
+    {
+        Timings timings = new Timings();
+
+        Assert.assertTrue(TimingEventListener.FACTORY.create(call(timings)) instanceof TimingEventListener);
+    }
+
+    @Test
+    public void factoryIgnoresUntimedRequests()
+    {
+        Assert.assertSame(EventListener.NONE, TimingEventListener.FACTORY.create(call(null)));
+    }
+
+    @Test
+    public void recordPhases() throws Exception
+    {
+        Timings timings = new Timings();
+        Call call = call(timings);
+        TimingEventListener timingEventListener = new TimingEventListener(timings);
+        InetSocketAddress address = InetSocketAddress.createUnresolved("www.example.com", 443);
+
+        timingEventListener.callStart(call);
+        timingEventListener.dnsStart(call, "www.example.com");
+        Thread.sleep(1);
+        timingEventListener.dnsEnd(call, "www.example.com", Collections.emptyList());
+        timingEventListener.connectStart(call, address, Proxy.NO_PROXY);
+        Thread.sleep(1);
+        timingEventListener.secureConnectStart(call);
+        Thread.sleep(1);
+        timingEventListener.secureConnectEnd(call, null);
+        timingEventListener.connectEnd(call, address, Proxy.NO_PROXY, Protocol.HTTP_1_1);
+        timingEventListener.requestHeadersStart(call);
+        timingEventListener.requestHeadersEnd(call, call.request());
+        Thread.sleep(1);
+        timingEventListener.responseHeadersStart(call);
+        timingEventListener.callEnd(call);
+
+        Assert.assertTrue(timings.getDnsTime().getAsLong() > 0);
+        Assert.assertTrue(timings.getConnectTime().getAsLong() > 0);
+        Assert.assertTrue(timings.getTlsTime().getAsLong() > 0);
+        Assert.assertTrue(timings.getRequestWriteTime().isPresent());
+        Assert.assertTrue(timings.getFirstByteTime().getAsLong() > 0);
+        Assert.assertTrue(timings.getTotalTime().getAsLong() >=
+                timings.getDnsTime().getAsLong() +
+                        timings.getConnectTime().getAsLong() +
+                        timings.getTlsTime().getAsLong() +
+                        timings.getFirstByteTime().getAsLong());
+    }
+
+    @Test
+    public void recordPooledConnection()
+    {
+        Timings timings = new Timings();
+        Call call = call(timings);
+        TimingEventListener timingEventListener = new TimingEventListener(timings);
+
+        timingEventListener.callStart(call);
+        timingEventListener.requestHeadersStart(call);
+        timingEventListener.requestHeadersEnd(call, call.request());
+        timingEventListener.responseHeadersStart(call);
+        timingEventListener.callFailed(call, new IOException());
+
+        Assert.assertFalse(timings.getDnsTime().isPresent());
+        Assert.assertFalse(timings.getConnectTime().isPresent());
+        Assert.assertFalse(timings.getTlsTime().isPresent());
+        Assert.assertTrue(timings.getFirstByteTime().isPresent());
+        Assert.assertTrue(timings.getTotalTime().isPresent());
+    }
+
+    @Test
+    public void dispatchInterceptorExcludesQueueTime() throws Exception
+    {
+        Timings timings = new Timings();
+        Call call = call(timings);
+        TimingEventListener timingEventListener = new TimingEventListener(timings);
+        Interceptor.Chain chain = Mockito.mock(Interceptor.Chain.class);
+        Mockito.when(chain.request()).thenReturn(call.request());
+
+        timingEventListener.callStart(call);
+        Thread.sleep(50);
+        TimingEventListener.DISPATCH_INTERCEPTOR.intercept(chain);
+        timingEventListener.callEnd(call);
+
+        Mockito.verify(chain).proceed(call.request());
+        Assert.assertTrue(timings.getTotalTime().getAsLong() < TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    private Call call(Timings timings)
+    {
+        Request.Builder requestBuilder = new Request.Builder()
+                .url("https://www.example.com/");
+
+        if (timings != null)
+            requestBuilder.tag(Timings.class, timings);
+
+        Call call = Mockito.mock(Call.class);
+        Mockito.when(call.request()).thenReturn(requestBuilder.build());
+
+        return call;
+    }
+}
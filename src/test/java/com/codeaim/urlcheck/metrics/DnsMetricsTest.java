@@ -0,0 +1,40 @@
+package com.codeaim.urlcheck.metrics;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.codeaim.urlcheck.Application;
+
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = Application.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class DnsMetricsTest
+{
+    @Autowired
+    DnsMetrics dnsMetrics;
+
+    @Test
+    public void metrics()
+    {
+        Set<String> names = dnsMetrics
+                .metrics()
+                .stream()
+                .map(Metric::getName)
+                .collect(Collectors.toSet());
+
+        Assert.assertTrue(names.contains("probe.dns.hits"));
+        Assert.assertTrue(names.contains("probe.dns.misses"));
+        Assert.assertTrue(names.contains("probe.dns.hits.stale"));
+    }
+}
@@ -0,0 +1,41 @@
+package com.codeaim.urlcheck.metrics;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.codeaim.urlcheck.Application;
+
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = Application.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class ExecutorMetricsTest
+{
+    @Autowired
+    ExecutorMetrics executorMetrics;
+
+    @Test
+    public void metrics()
+    {
+        Set<String> names = executorMetrics
+                .metrics()
+                .stream()
+                .map(Metric::getName)
+                .collect(Collectors.toSet());
+
+        Assert.assertTrue(names.contains("probe.executor.active"));
+        Assert.assertTrue(names.contains("probe.executor.queue.remaining"));
+        Assert.assertTrue(names.contains("probe.executor.rejected"));
+        Assert.assertTrue(names.contains("probe.dispatcher.running"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.codeaim.urlcheck.metrics;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.codeaim.urlcheck.Application;
+import com.codeaim.urlcheck.configuration.ProbeConfiguration;
+import com.codeaim.urlcheck.repository.cache.EntitlementCache;
+import com.codeaim.urlcheck.repository.mock.CheckRepositoryMock;
+import com.codeaim.urlcheck.repository.mock.EntitlementRepositoryMock;
+import com.codeaim.urlcheck.repository.mock.ResultRepositoryMock;
+import com.codeaim.urlcheck.task.ScheduledCheckTask;
+import com.codeaim.urlcheck.task.ScheduledResultExpiryTask;
+
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = Application.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class ProbeMetricsTest
+{
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void metrics()
+    {
+        ProbeConfiguration probeConfiguration = new ProbeConfiguration();
+        CheckRepositoryMock checkRepository = new CheckRepositoryMock();
+        ScheduledCheckTask checkTask = new ScheduledCheckTask(null, null, checkRepository, new ResultRepositoryMock(), probeConfiguration, new EntitlementCache(new EntitlementRepositoryMock(), probeConfiguration), transactionManager);
+        ScheduledResultExpiryTask resultExpiryTask = new ScheduledResultExpiryTask(new ResultRepositoryMock(), probeConfiguration);
+
+        checkTask.run();
+        resultExpiryTask.run();
+
+        Map<String, Number> metrics = new ProbeMetrics(checkTask, resultExpiryTask)
+                .metrics()
+                .stream()
+                .collect(Collectors.toMap(Metric::getName, Metric::getValue));
+
+        Assert.assertEquals((long) checkRepository.findAll().size(), metrics.get("probe.scheduler.overdue"));
+        Assert.assertEquals(probeConfiguration.getCandidatePoolSize(), metrics.get("probe.scheduler.election.size"));
+        Assert.assertEquals((long) checkRepository.findAll().size(), metrics.get("probe.scheduler.elected"));
+        Assert.assertTrue(metrics.containsKey("probe.scheduler.lag.p95"));
+        Assert.assertTrue(metrics.containsKey("probe.stage.elect.p50"));
+        Assert.assertTrue(metrics.containsKey("probe.stage.request.p99"));
+        Assert.assertTrue(metrics.containsKey("probe.stage.result.insert.max"));
+        Assert.assertTrue(metrics.containsKey("probe.stage.check.update.p95"));
+        Assert.assertEquals(0L, metrics.get("probe.scheduler.deferred"));
+        Assert.assertEquals(0L, metrics.get("probe.expiry.expired"));
+        Assert.assertEquals(0L, metrics.get("probe.expiry.rate"));
+        Assert.assertEquals(0L, metrics.get("probe.expiry.backlog"));
+    }
+}
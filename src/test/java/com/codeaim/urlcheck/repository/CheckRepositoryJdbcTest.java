@@ -1,23 +1,43 @@
 package com.codeaim.urlcheck.repository;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
 
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.codeaim.urlcheck.Application;
 import com.codeaim.urlcheck.domain.CheckDto;
+import com.codeaim.urlcheck.domain.ProbeMode;
 import com.codeaim.urlcheck.domain.State;
 import com.codeaim.urlcheck.domain.Status;
 import com.codeaim.urlcheck.domain.UserDto;
@@ -34,6 +54,12 @@ public class CheckRepositoryJdbcTest
     private UserRepository userRepository;
     @Autowired
     private CheckRepository checkRepository;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     @Test
     public void save()
@@ -175,6 +201,63 @@ public class CheckRepositoryJdbcTest
         Assert.assertNotNull(checks);
     }
 
+    @Test
+    public void findAllAfter()
+    {
+        List<CheckDto> firstPage = new ArrayList<>(checkRepository.findAllAfter(0L, 2));
+        long lastId = firstPage.get(firstPage.size() - 1).getId();
+        Collection<CheckDto> secondPage = checkRepository.findAllAfter(lastId, 2);
+
+        Assert.assertEquals(2, firstPage.size());
+        Assert.assertTrue(firstPage.get(0).getId() < firstPage.get(1).getId());
+        Assert.assertTrue(secondPage.stream().allMatch(checkDto -> checkDto.getId() > lastId));
+    }
+
+    @Test
+    public void forEach()
+    {
+        List<Long> ids = new ArrayList<>();
+        checkRepository.forEach(2, checkDto -> ids.add(checkDto.getId()));
+
+        Assert.assertEquals(checkRepository.count(), ids.size());
+        Assert.assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids);
+    }
+
+    @Test
+    public void forEachJoinsTransaction()
+    {
+        UserDto userDto = UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build();
+
+        Long userId = new TransactionTemplate(transactionManager).execute(status -> {
+            UserDto savedUserDto = userRepository.save(userDto);
+            checkRepository.forEach(2, checkDto -> { });
+            status.setRollbackOnly();
+
+            return savedUserDto.getId();
+        });
+
+        Assert.assertFalse(userRepository.findOne(userId).isPresent());
+    }
+
+    @Test
+    public void stream()
+    {
+        List<Long> ids = checkRepository
+                .stream(3)
+                .map(CheckDto::getId)
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(checkRepository.count(), ids.size());
+        Assert.assertEquals(ids.stream().distinct().sorted().collect(Collectors.toList()), ids);
+    }
+
     @Test
     public void findAllByIds()
     {
@@ -251,14 +334,22 @@ public class CheckRepositoryJdbcTest
                 .interval(1)
                 .confirming(true)
                 .version(1)
+                .connectTimeout(OptionalInt.of(1000))
+                .callTimeout(OptionalInt.of(5000))
+                .probeMode(ProbeMode.GET_PARTIAL)
                 .build();
 
         CheckDto savedCheckDto = checkRepository.save(checkDto);
+        Optional<CheckDto> foundCheckDto = checkRepository.findOne(savedCheckDto.getId());
 
         userRepository.delete(savedUserDto);
         checkRepository.delete(savedCheckDto);
 
         Assert.assertNotNull(savedCheckDto);
+        Assert.assertEquals(1000, foundCheckDto.get().getConnectTimeout().getAsInt());
+        Assert.assertFalse(foundCheckDto.get().getReadTimeout().isPresent());
+        Assert.assertEquals(5000, foundCheckDto.get().getCallTimeout().getAsInt());
+        Assert.assertEquals(ProbeMode.GET_PARTIAL, foundCheckDto.get().getProbeMode());
     }
 
     @Test
@@ -301,8 +392,8 @@ public class CheckRepositoryJdbcTest
         Assert.assertEquals("updated", savedUpdatedCheckDto.getName());
     }
 
-    @Test
-    public void findElectableChecks()
+    @Test(expected = OptimisticLockingFailureException.class)
+    public void updateConflict()
     {
         UserDto userDto = UserDto.builder()
                 .username("username")
@@ -315,42 +406,111 @@ public class CheckRepositoryJdbcTest
 
         UserDto savedUserDto = userRepository.save(userDto);
 
-        CheckDto firstCheckDto = CheckDto.builder()
+        CheckDto checkDto = CheckDto.builder()
                 .userId(savedUserDto.getId())
                 .name("name")
                 .url(HttpUrl.parse("http://www.example.com/"))
                 .probe(Optional.of("probe"))
                 .status(Status.UNKNOWN)
                 .state(State.WAITING)
+                .interval(1)
+                .confirming(true)
+                .version(1)
+                .build();
+
+        CheckDto savedCheckDto = checkRepository.save(checkDto);
+
+        try
+        {
+            checkRepository.save(CheckDto.buildFrom(savedCheckDto)
+                    .name("updated")
+                    .build());
+            checkRepository.save(CheckDto.buildFrom(savedCheckDto)
+                    .name("stale")
+                    .build());
+        } finally
+        {
+            userRepository.delete(savedUserDto);
+            checkRepository.delete(savedCheckDto);
+        }
+    }
+
+    @Test
+    public void countOverdueChecks()
+    {
+        UserDto userDto = UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build();
+
+        UserDto savedUserDto = userRepository.save(userDto);
+
+        long initialOverdueChecks = checkRepository.countOverdueChecks(Instant.now());
+
+        CheckDto overdueCheckDto = CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("overdue")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .probe(Optional.of("probe"))
+                .status(Status.UNKNOWN)
+                .state(State.WAITING)
                 .refresh(Instant
                         .now()
                         .minus(Duration
                                 .ofMinutes(1)))
                 .interval(1)
-                .confirming(true)
                 .version(1)
                 .build();
 
-        CheckDto secondCheckDto = CheckDto.builder()
+        CheckDto futureCheckDto = CheckDto.builder()
                 .userId(savedUserDto.getId())
-                .name("name2")
+                .name("future")
                 .url(HttpUrl.parse("http://www.example2.com/"))
                 .probe(Optional.of("probe"))
                 .status(Status.UNKNOWN)
                 .state(State.WAITING)
                 .refresh(Instant
                         .now()
-                        .minus(Duration
-                                .ofMinutes(1)))
+                        .plus(Duration
+                                .ofMinutes(10)))
                 .interval(1)
-                .confirming(true)
                 .version(1)
                 .build();
 
-        CheckDto thirdCheckDto = CheckDto.builder()
+        CheckDto savedOverdueCheckDto = checkRepository.save(overdueCheckDto);
+        CheckDto savedFutureCheckDto = checkRepository.save(futureCheckDto);
+
+        long overdueChecks = checkRepository.countOverdueChecks(Instant.now());
+
+        userRepository.delete(savedUserDto);
+        checkRepository.delete(savedOverdueCheckDto);
+        checkRepository.delete(savedFutureCheckDto);
+
+        Assert.assertEquals(initialOverdueChecks + 1, overdueChecks);
+    }
+
+    @Test
+    public void electChecks()
+    {
+        UserDto userDto = UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build();
+
+        UserDto savedUserDto = userRepository.save(userDto);
+
+        CheckDto firstCheckDto = CheckDto.builder()
                 .userId(savedUserDto.getId())
-                .name("name3")
-                .url(HttpUrl.parse("http://www.example3.com/"))
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
                 .probe(Optional.of("probe"))
                 .status(Status.UNKNOWN)
                 .state(State.WAITING)
@@ -363,10 +523,10 @@ public class CheckRepositoryJdbcTest
                 .version(1)
                 .build();
 
-        CheckDto fourthCheckDto = CheckDto.builder()
+        CheckDto secondCheckDto = CheckDto.builder()
                 .userId(savedUserDto.getId())
-                .name("name4")
-                .url(HttpUrl.parse("http://www.example4.com/"))
+                .name("name2")
+                .url(HttpUrl.parse("http://www.example2.com/"))
                 .probe(Optional.of("probe"))
                 .status(Status.UNKNOWN)
                 .state(State.WAITING)
@@ -379,10 +539,60 @@ public class CheckRepositoryJdbcTest
                 .version(1)
                 .build();
 
-        CheckDto fifthCheckDto = CheckDto.builder()
+        CheckDto savedFirstCheckDto = checkRepository.save(firstCheckDto);
+        CheckDto savedSecondCheckDto = checkRepository.save(secondCheckDto);
+
+        Collection<CheckDto> firstElectedCheckDtos = checkRepository
+                .electChecks(
+                        "probe",
+                        false,
+                        Instant.now(),
+                        1,
+                        Duration.ofMinutes(1));
+
+        Collection<CheckDto> secondElectedCheckDtos = checkRepository
+                .electChecks(
+                        "probe",
+                        false,
+                        Instant.now(),
+                        1,
+                        Duration.ofMinutes(1));
+
+        userRepository.delete(savedUserDto);
+        checkRepository.delete(savedFirstCheckDto);
+        checkRepository.delete(savedSecondCheckDto);
+
+        Assert.assertEquals(1, firstElectedCheckDtos.size());
+        Assert.assertEquals(1, secondElectedCheckDtos.size());
+        Assert.assertNotEquals(
+                firstElectedCheckDtos.iterator().next().getId(),
+                secondElectedCheckDtos.iterator().next().getId());
+        firstElectedCheckDtos
+                .stream()
+                .forEach(check -> {
+                    Assert.assertEquals(State.ELECTED, check.getState());
+                    Assert.assertTrue(check.getLocked().isPresent());
+                });
+    }
+
+    @Test
+    public void electChecksSkipsLockedChecks() throws SQLException
+    {
+        UserDto userDto = UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build();
+
+        UserDto savedUserDto = userRepository.save(userDto);
+
+        CheckDto firstCheckDto = CheckDto.builder()
                 .userId(savedUserDto.getId())
-                .name("name5")
-                .url(HttpUrl.parse("http://www.example5.com/"))
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
                 .probe(Optional.of("probe"))
                 .status(Status.UNKNOWN)
                 .state(State.WAITING)
@@ -395,10 +605,10 @@ public class CheckRepositoryJdbcTest
                 .version(1)
                 .build();
 
-        CheckDto sixthCheckDto = CheckDto.builder()
+        CheckDto secondCheckDto = CheckDto.builder()
                 .userId(savedUserDto.getId())
-                .name("name6")
-                .url(HttpUrl.parse("http://www.example6.com/"))
+                .name("name2")
+                .url(HttpUrl.parse("http://www.example2.com/"))
                 .probe(Optional.of("probe"))
                 .status(Status.UNKNOWN)
                 .state(State.WAITING)
@@ -413,31 +623,45 @@ public class CheckRepositoryJdbcTest
 
         CheckDto savedFirstCheckDto = checkRepository.save(firstCheckDto);
         CheckDto savedSecondCheckDto = checkRepository.save(secondCheckDto);
-        CheckDto savedThirdCheckDto = checkRepository.save(thirdCheckDto);
-        CheckDto savedFourthCheckDto = checkRepository.save(fourthCheckDto);
-        CheckDto savedFifthCheckDto = checkRepository.save(fifthCheckDto);
-        CheckDto savedSixthCheckDto = checkRepository.save(sixthCheckDto);
 
-        Collection<CheckDto> electableChecks = checkRepository
-                .findElectableChecks(
-                        "probe",
-                        false,
-                        Instant.now(),
-                        5);
+        Collection<Long> electedIds;
+        try (Connection connection = dataSource.getConnection())
+        {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM \"check\" WHERE id = ? FOR UPDATE"))
+            {
+                statement.setLong(1, savedFirstCheckDto.getId());
+                statement.executeQuery().close();
+
+                electedIds = checkRepository
+                        .electChecks(
+                                "probe",
+                                false,
+                                Instant.now(),
+                                1000,
+                                Duration.ofMinutes(1))
+                        .stream()
+                        .map(CheckDto::getId)
+                        .collect(Collectors.toList());
+            } finally
+            {
+                connection.rollback();
+            }
+        }
+
+        Optional<CheckDto> foundFirstCheckDto = checkRepository.findOne(savedFirstCheckDto.getId());
 
         userRepository.delete(savedUserDto);
         checkRepository.delete(savedFirstCheckDto);
         checkRepository.delete(savedSecondCheckDto);
-        checkRepository.delete(savedThirdCheckDto);
-        checkRepository.delete(savedFourthCheckDto);
-        checkRepository.delete(savedFifthCheckDto);
-        checkRepository.delete(savedSixthCheckDto);
 
-        Assert.assertTrue(electableChecks.size() == 5);
+        Assert.assertFalse(electedIds.contains(savedFirstCheckDto.getId()));
+        Assert.assertTrue(electedIds.contains(savedSecondCheckDto.getId()));
+        Assert.assertEquals(State.WAITING, foundFirstCheckDto.get().getState());
     }
 
     @Test
-    public void markChecksElected()
+    public void electChecksConcurrently() throws Exception
     {
         UserDto userDto = UserDto.builder()
                 .username("username")
@@ -457,6 +681,10 @@ public class CheckRepositoryJdbcTest
                 .probe(Optional.of("probe"))
                 .status(Status.UNKNOWN)
                 .state(State.WAITING)
+                .refresh(Instant
+                        .now()
+                        .minus(Duration
+                                .ofMinutes(1)))
                 .interval(1)
                 .confirming(true)
                 .version(1)
@@ -469,6 +697,10 @@ public class CheckRepositoryJdbcTest
                 .probe(Optional.of("probe"))
                 .status(Status.UNKNOWN)
                 .state(State.WAITING)
+                .refresh(Instant
+                        .now()
+                        .minus(Duration
+                                .ofMinutes(1)))
                 .interval(1)
                 .confirming(true)
                 .version(1)
@@ -477,32 +709,50 @@ public class CheckRepositoryJdbcTest
         CheckDto savedFirstCheckDto = checkRepository.save(firstCheckDto);
         CheckDto savedSecondCheckDto = checkRepository.save(secondCheckDto);
 
-        Collection<CheckDto> electedCheckDtos = checkRepository.markChecksElected(
-                Arrays.asList(
-                        savedFirstCheckDto,
-                        savedSecondCheckDto));
+        ExecutorService electionExecutor = Executors.newFixedThreadPool(2);
+        CountDownLatch start = new CountDownLatch(1);
+        Callable<List<Long>> election = () -> {
+            start.await();
+            return checkRepository
+                    .electChecks(
+                            "probe",
+                            false,
+                            Instant.now(),
+                            1000,
+                            Duration.ofMinutes(1))
+                    .stream()
+                    .map(CheckDto::getId)
+                    .collect(Collectors.toList());
+        };
+
+        List<Long> firstElectedIds;
+        List<Long> secondElectedIds;
+        try
+        {
+            Future<List<Long>> firstElection = electionExecutor.submit(election);
+            Future<List<Long>> secondElection = electionExecutor.submit(election);
+            start.countDown();
+            firstElectedIds = firstElection.get(30, TimeUnit.SECONDS);
+            secondElectedIds = secondElection.get(30, TimeUnit.SECONDS);
+        } finally
+        {
+            electionExecutor.shutdownNow();
+        }
 
         userRepository.delete(savedUserDto);
         checkRepository.delete(savedFirstCheckDto);
         checkRepository.delete(savedSecondCheckDto);
 
-        Assert.assertEquals(2, electedCheckDtos.size());
-        electedCheckDtos
-                .stream()
-                .forEach(check -> Assert.assertEquals(
-                        State.ELECTED,
-                        check.getState()));
-    }
+        List<Long> electedIds = new ArrayList<>(firstElectedIds);
+        electedIds.addAll(secondElectedIds);
 
-    @Test
-    public void markChecksElectedEmpty()
-    {
-        Collection<CheckDto> electedCheckDtos = checkRepository.markChecksElected(Collections.emptyList());
-        Assert.assertEquals(0, electedCheckDtos.size());
+        Assert.assertTrue(Collections.disjoint(firstElectedIds, secondElectedIds));
+        Assert.assertTrue(electedIds.contains(savedFirstCheckDto.getId()));
+        Assert.assertTrue(electedIds.contains(savedSecondCheckDto.getId()));
     }
 
     @Test
-    public void batchUpdate()
+    public void renewLeases()
     {
         UserDto userDto = UserDto.builder()
                 .username("username")
@@ -515,7 +765,7 @@ public class CheckRepositoryJdbcTest
 
         UserDto savedUserDto = userRepository.save(userDto);
 
-        CheckDto firstCheckDto = CheckDto.builder()
+        CheckDto checkDto = CheckDto.builder()
                 .userId(savedUserDto.getId())
                 .name("name")
                 .url(HttpUrl.parse("http://www.example.com/"))
@@ -527,47 +777,90 @@ public class CheckRepositoryJdbcTest
                 .version(1)
                 .build();
 
-        CheckDto secondCheckDto = CheckDto.builder()
+        CheckDto savedCheckDto = checkRepository.save(checkDto);
+
+        jdbcTemplate.update("UPDATE \"check\" SET state = 'ELECTED'::state, locked = now() + INTERVAL '5 seconds' WHERE id = ?", savedCheckDto.getId());
+        CheckDto electedCheckDto = checkRepository.findOne(savedCheckDto.getId()).get();
+
+        int renewedCount = checkRepository.renewLeases(
+                Collections.singletonList(electedCheckDto),
+                Duration.ofMinutes(5));
+
+        int staleRenewedCount = checkRepository.renewLeases(
+                Collections.singletonList(CheckDto.buildFrom(electedCheckDto)
+                        .version(electedCheckDto.getVersion() + 1)
+                        .build()),
+                Duration.ofMinutes(5));
+
+        Optional<CheckDto> foundCheckDto = checkRepository.findOne(savedCheckDto.getId());
+
+        userRepository.delete(savedUserDto);
+        checkRepository.delete(savedCheckDto);
+
+        Assert.assertEquals(1, renewedCount);
+        Assert.assertEquals(0, staleRenewedCount);
+        Assert.assertTrue(foundCheckDto.get().getLocked().get().isAfter(electedCheckDto.getLocked().get()));
+    }
+
+    @Test
+    public void transitionChecks()
+    {
+        UserDto userDto = UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build();
+
+        UserDto savedUserDto = userRepository.save(userDto);
+
+        CheckDto checkDto = CheckDto.builder()
                 .userId(savedUserDto.getId())
-                .name("name2")
-                .url(HttpUrl.parse("http://www.example2.com/"))
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
                 .probe(Optional.of("probe"))
                 .status(Status.UNKNOWN)
-                .state(State.WAITING)
+                .state(State.ELECTED)
                 .interval(1)
                 .confirming(true)
                 .version(1)
                 .build();
 
-        CheckDto savedFirstCheckDto = checkRepository.save(firstCheckDto);
-        CheckDto savedSecondCheckDto = checkRepository.save(secondCheckDto);
+        CheckDto savedCheckDto = checkRepository.save(checkDto);
 
-        CheckDto firstUpdatedCheckDto = CheckDto.buildFrom(savedFirstCheckDto)
-                .name("updated")
+        CheckDto transitionedCheckDto = CheckDto.buildFrom(savedCheckDto)
+                .name("ignored")
+                .status(Status.UP)
+                .state(State.WAITING)
+                .confirming(false)
                 .build();
 
-        CheckDto secondUpdatedCheckDto = CheckDto.buildFrom(savedSecondCheckDto)
-                .name("updated2")
-                .build();
+        Collection<CheckDto> transitionedCheckDtos = checkRepository.transitionChecks(
+                Collections.singletonList(transitionedCheckDto));
+
+        Collection<CheckDto> staleTransitionedCheckDtos = checkRepository.transitionChecks(
+                Collections.singletonList(transitionedCheckDto));
 
-        int updatedCount =
-                checkRepository.batchUpdate(
-                        Arrays.asList(
-                                firstUpdatedCheckDto,
-                                secondUpdatedCheckDto));
+        Optional<CheckDto> foundCheckDto = checkRepository.findOne(savedCheckDto.getId());
 
         userRepository.delete(savedUserDto);
-        checkRepository.delete(savedFirstCheckDto);
-        checkRepository.delete(savedSecondCheckDto);
+        checkRepository.delete(savedCheckDto);
 
-        Assert.assertEquals(2, updatedCount);
+        Assert.assertEquals(1, transitionedCheckDtos.size());
+        Assert.assertEquals(0, staleTransitionedCheckDtos.size());
+        Assert.assertEquals("name", foundCheckDto.get().getName());
+        Assert.assertEquals(Status.UP, foundCheckDto.get().getStatus());
+        Assert.assertEquals(State.WAITING, foundCheckDto.get().getState());
+        Assert.assertEquals(savedCheckDto.getVersion() + 1, foundCheckDto.get().getVersion());
     }
 
     @Test
-    public void batchUpdateEmpty()
+    public void transitionChecksEmpty()
     {
-        int updatedCount = checkRepository.batchUpdate(Collections.emptyList());
-        Assert.assertEquals(0, updatedCount);
+        Collection<CheckDto> transitionedCheckDtos = checkRepository.transitionChecks(Collections.emptyList());
+        Assert.assertEquals(0, transitionedCheckDtos.size());
     }
 
     @Test
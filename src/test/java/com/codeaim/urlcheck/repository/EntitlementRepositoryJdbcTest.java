@@ -0,0 +1,101 @@
+package com.codeaim.urlcheck.repository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.codeaim.urlcheck.Application;
+import com.codeaim.urlcheck.domain.EntitlementDto;
+import com.codeaim.urlcheck.domain.RoleDto;
+import com.codeaim.urlcheck.domain.UserDto;
+import com.codeaim.urlcheck.domain.UserRoleDto;
+
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = Application.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class EntitlementRepositoryJdbcTest
+{
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+    @Autowired
+    private EntitlementRepository entitlementRepository;
+
+    @Test
+    public void findOne()
+    {
+        UserDto savedUserDto = userRepository.save(UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build());
+
+        RoleDto savedFirstRoleDto = roleRepository.save(RoleDto.builder()
+                .name("name")
+                .checkLimit(10)
+                .resultEventLimit(5)
+                .resultRetentionDuration(Duration.ofHours(24))
+                .build());
+
+        RoleDto savedSecondRoleDto = roleRepository.save(RoleDto.builder()
+                .name("name2")
+                .checkLimit(2)
+                .resultEventLimit(50)
+                .resultRetentionDuration(Duration.ofHours(1))
+                .build());
+
+        UserRoleDto savedFirstUserRoleDto = userRoleRepository.save(UserRoleDto.builder()
+                .userId(savedUserDto.getId())
+                .roleId(savedFirstRoleDto.getId())
+                .build());
+
+        UserRoleDto savedSecondUserRoleDto = userRoleRepository.save(UserRoleDto.builder()
+                .userId(savedUserDto.getId())
+                .roleId(savedSecondRoleDto.getId())
+                .build());
+
+        Optional<EntitlementDto> foundEntitlementDto = entitlementRepository.findOne(savedUserDto.getId());
+        entitlementRepository.refreshSummary();
+        Optional<EntitlementDto> summaryEntitlementDto = entitlementRepository.findSummary(savedUserDto.getId());
+
+        userRoleRepository.delete(savedFirstUserRoleDto);
+        userRoleRepository.delete(savedSecondUserRoleDto);
+        roleRepository.delete(savedFirstRoleDto);
+        roleRepository.delete(savedSecondRoleDto);
+        userRepository.delete(savedUserDto);
+
+        Assert.assertEquals(10, foundEntitlementDto.get().getCheckLimit());
+        Assert.assertEquals(50, foundEntitlementDto.get().getResultEventLimit());
+        Assert.assertEquals(Duration.ofHours(24), foundEntitlementDto.get().getResultRetentionDuration());
+        Assert.assertEquals(10, summaryEntitlementDto.get().getCheckLimit());
+        Assert.assertEquals(50, summaryEntitlementDto.get().getResultEventLimit());
+        Assert.assertEquals(Duration.ofHours(24), summaryEntitlementDto.get().getResultRetentionDuration());
+    }
+
+    @Test
+    public void findOneWithoutRoles()
+    {
+        Assert.assertFalse(entitlementRepository.findOne(Long.MAX_VALUE).isPresent());
+    }
+
+    @Test
+    public void findAll()
+    {
+        Assert.assertTrue(entitlementRepository.findAll().stream().anyMatch(entitlementDto -> entitlementDto.getUserId() == 1));
+    }
+}
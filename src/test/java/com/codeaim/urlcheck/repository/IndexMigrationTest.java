@@ -0,0 +1,128 @@
+package com.codeaim.urlcheck.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.codeaim.urlcheck.Application;
+
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = Application.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class IndexMigrationTest
+{
+    private static final int CHECKS = 20000;
+    private static final int RESULT_CHECKS = 200;
+    private static final int RESULTS_PER_CHECK = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void electChecksUsesElectionIndexes()
+    {
+        String plan = explain("SELECT id FROM \"check\" WHERE ((state = 'WAITING'::state AND refresh <= now()) OR (state = 'ELECTED'::state AND locked <= now())) AND ((FALSE = FALSE) OR (confirming = FALSE) OR (FALSE = TRUE AND probe <> 'probe')) ORDER BY status = 'UNKNOWN' DESC, refresh ASC LIMIT 25 FOR UPDATE SKIP LOCKED");
+
+        Assert.assertTrue(plan, plan.contains("check_waiting_refresh_idx"));
+        Assert.assertTrue(plan, plan.contains("check_elected_locked_idx"));
+    }
+
+    @Test
+    public void expireResultsUsesCheckCreatedIndex()
+    {
+        String plan = explain("SELECT id FROM result WHERE check_id = :checkId AND created < (NOW() - '24:00:00'::interval)");
+
+        Assert.assertTrue(plan, plan.contains("check_id_created_idx"));
+    }
+
+    @Test
+    public void expireResultsUsesPreviousResultIndex()
+    {
+        String plan = explain("SELECT id FROM result WHERE previous_result_id = :resultId");
+
+        Assert.assertTrue(plan, plan.contains("previous_result_id_idx"));
+    }
+
+    @Test
+    public void expireResultsUsesLatestResultIndex()
+    {
+        String plan = explain("SELECT id FROM \"check\" WHERE latest_result_id = :resultId");
+
+        Assert.assertTrue(plan, plan.contains("check_latest_result_id_idx"));
+    }
+
+    private String explain(String sql)
+    {
+        return this.jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement())
+            {
+                long userId = seed(statement);
+                long checkId = queryForLong(statement, "SELECT MIN(check_id) FROM result WHERE check_id IN (SELECT id FROM \"check\" WHERE user_id = " + userId + ")");
+                long resultId = queryForLong(statement, "SELECT MIN(id) FROM result WHERE check_id = " + checkId);
+                analyze(statement);
+
+                try (ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql
+                        .replace(":checkId", String.valueOf(checkId))
+                        .replace(":resultId", String.valueOf(resultId))))
+                {
+                    List<String> plan = new ArrayList<>();
+                    while (resultSet.next())
+                        plan.add(resultSet.getString(1));
+
+                    return String.join("\n", plan);
+                }
+            } finally
+            {
+                connection.rollback();
+                connection.setAutoCommit(autoCommit);
+                try (Statement statement = connection.createStatement())
+                {
+                    analyze(statement);
+                }
+            }
+        });
+    }
+
+    private long seed(Statement statement) throws SQLException
+    {
+        long userId = queryForLong(statement, "INSERT INTO \"user\" (username, email, reset_token, access_token, password, email_verified, created, modified, version) VALUES ('index_migration', 'index_migration@example.com', 'resetToken', 'accessToken', 'password', TRUE, now(), now(), 1) RETURNING id");
+
+        statement.execute("INSERT INTO \"check\" (user_id, name, url, status, state, created, modified, refresh, locked, interval, confirming, version) SELECT " + userId + ", 'check' || n, 'http://www.example.com/' || n, 'UP', CASE WHEN n % 100 = 0 THEN 'ELECTED'::state ELSE 'WAITING'::state END, now(), now(), now() + (n % 3600) * INTERVAL '1 second' - INTERVAL '1 minute', CASE WHEN n % 100 = 0 THEN now() + INTERVAL '1 minute' END, 1, FALSE, 1 FROM generate_series(1, " + CHECKS + ") n");
+        statement.execute("INSERT INTO result (check_id, status, probe, status_code, response_time, changed, confirmation, created) SELECT c.id, 'UP', 'probe', 200, 100, FALSE, FALSE, now() - g * INTERVAL '1 minute' FROM (SELECT id FROM \"check\" WHERE user_id = " + userId + " ORDER BY id LIMIT " + RESULT_CHECKS + ") c CROSS JOIN generate_series(1, " + RESULTS_PER_CHECK + ") g");
+        statement.execute("UPDATE result SET previous_result_id = id - 1 WHERE check_id IN (SELECT id FROM \"check\" WHERE user_id = " + userId + ") AND id > (SELECT MIN(id) FROM result WHERE check_id IN (SELECT id FROM \"check\" WHERE user_id = " + userId + "))");
+        statement.execute("UPDATE \"check\" SET latest_result_id = (SELECT MAX(id) FROM result WHERE result.check_id = \"check\".id) WHERE user_id = " + userId);
+
+        return userId;
+    }
+
+    private void analyze(Statement statement) throws SQLException
+    {
+        statement.execute("ANALYZE \"check\"");
+        statement.execute("ANALYZE result");
+    }
+
+    private long queryForLong(Statement statement, String sql) throws SQLException
+    {
+        try (ResultSet resultSet = statement.executeQuery(sql))
+        {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -1,27 +1,42 @@
 package com.codeaim.urlcheck.repository;
 
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import com.codeaim.urlcheck.Application;
 import com.codeaim.urlcheck.domain.CheckDto;
+import com.codeaim.urlcheck.domain.Failure;
 import com.codeaim.urlcheck.domain.ResultDto;
+import com.codeaim.urlcheck.domain.ResultExpiryDto;
+import com.codeaim.urlcheck.domain.RoleDto;
 import com.codeaim.urlcheck.domain.State;
 import com.codeaim.urlcheck.domain.Status;
 import com.codeaim.urlcheck.domain.UserDto;
+import com.codeaim.urlcheck.domain.UserRoleDto;
+import com.codeaim.urlcheck.utility.Partitions;
 
 import okhttp3.HttpUrl;
 
@@ -37,6 +52,12 @@ public class ResultRepositoryJdbcTest
     private CheckRepository checkRepository;
     @Autowired
     private ResultRepository resultRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @Test
     public void save()
@@ -100,6 +121,67 @@ public class ResultRepositoryJdbcTest
         Assert.assertEquals(2, savedResultDtos.size());
     }
 
+    @Test
+    public void saveReturnsIdsInOrder()
+    {
+        UserDto userDto = UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build();
+
+        UserDto savedUserDto = userRepository.save(userDto);
+
+        CheckDto checkDto = CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com"))
+                .probe(Optional.of("probe"))
+                .status(Status.UNKNOWN)
+                .state(State.WAITING)
+                .interval(1)
+                .confirming(true)
+                .version(1)
+                .build();
+
+        CheckDto savedCheckDto = checkRepository.save(checkDto);
+
+        ResultDto firstResultDto = ResultDto.builder()
+                .checkId(savedCheckDto.getId())
+                .status(Status.UP)
+                .probe("first")
+                .statusCode(HttpStatus.OK)
+                .responseTime(OptionalLong.of(1000))
+                .created(Instant.now())
+                .connectTime(OptionalLong.of(3000000))
+                .build();
+
+        ResultDto secondResultDto = ResultDto.builder()
+                .checkId(savedCheckDto.getId())
+                .status(Status.DOWN)
+                .probe("second")
+                .statusCode(HttpStatus.INTERNAL_SERVER_ERROR)
+                .created(Instant.now())
+                .build();
+
+        List<ResultDto> savedResultDtos = new ArrayList<>(resultRepository.save(Arrays.asList(firstResultDto, secondResultDto)));
+
+        Optional<ResultDto> foundFirstResultDto = resultRepository.findOne(savedResultDtos.get(0).getId());
+        Optional<ResultDto> foundSecondResultDto = resultRepository.findOne(savedResultDtos.get(1).getId());
+
+        userRepository.delete(savedUserDto);
+        checkRepository.delete(savedCheckDto);
+
+        Assert.assertEquals("first", foundFirstResultDto.get().getProbe());
+        Assert.assertEquals("second", foundSecondResultDto.get().getProbe());
+        Assert.assertFalse(foundSecondResultDto.get().getResponseTime().isPresent());
+        Assert.assertEquals(3000000, foundFirstResultDto.get().getConnectTime().getAsLong());
+        Assert.assertFalse(foundSecondResultDto.get().getConnectTime().isPresent());
+    }
+
     @Test
     public void findOne()
     {
@@ -216,6 +298,28 @@ public class ResultRepositoryJdbcTest
         Assert.assertNotNull(results);
     }
 
+    @Test
+    public void forEach()
+    {
+        List<Long> ids = new ArrayList<>();
+        resultRepository.forEach(2, resultDto -> ids.add(resultDto.getId()));
+
+        Assert.assertEquals(resultRepository.count(), ids.size());
+        Assert.assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids);
+    }
+
+    @Test
+    public void stream()
+    {
+        List<Long> ids = resultRepository
+                .stream(3)
+                .map(ResultDto::getId)
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(resultRepository.count(), ids.size());
+        Assert.assertEquals(ids.stream().distinct().sorted().collect(Collectors.toList()), ids);
+    }
+
     @Test
     public void findAllByIds()
     {
@@ -442,6 +546,731 @@ public class ResultRepositoryJdbcTest
         Assert.assertEquals(2, insertCount);
     }
 
+    @Test
+    public void deleteByIds()
+    {
+        UserDto savedUserDto = userRepository.save(UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build());
+
+        CheckDto savedCheckDto = checkRepository.save(CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .probe(Optional.of("probe"))
+                .status(Status.UNKNOWN)
+                .state(State.WAITING)
+                .interval(1)
+                .confirming(true)
+                .version(1)
+                .build());
+
+        List<ResultDto> resultDtos = IntStream
+                .range(0, 3)
+                .mapToObj(index -> ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(Status.UP)
+                        .probe("probe")
+                        .statusCode(HttpStatus.OK)
+                        .created(Instant.now())
+                        .build())
+                .collect(Collectors.toList());
+        List<ResultDto> savedResultDtos = new ArrayList<>(resultRepository.save(resultDtos));
+
+        int deletedCount = resultRepository.delete(savedResultDtos.subList(0, 2));
+        boolean firstExists = resultRepository.exists(savedResultDtos.get(0).getId());
+        boolean secondExists = resultRepository.exists(savedResultDtos.get(1).getId());
+        boolean thirdExists = resultRepository.exists(savedResultDtos.get(2).getId());
+
+        checkRepository.delete(savedCheckDto);
+        userRepository.delete(savedUserDto);
+
+        Assert.assertEquals(2, deletedCount);
+        Assert.assertFalse(firstExists);
+        Assert.assertFalse(secondExists);
+        Assert.assertTrue(thirdExists);
+    }
+
+    @Test
+    public void copyInsert()
+    {
+        UserDto userDto = UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build();
+
+        UserDto savedUserDto = userRepository.save(userDto);
+
+        CheckDto checkDto = CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .probe(Optional.of("probe"))
+                .status(Status.UNKNOWN)
+                .state(State.WAITING)
+                .interval(1)
+                .confirming(true)
+                .version(1)
+                .build();
+
+        CheckDto savedCheckDto = checkRepository.save(checkDto);
+
+        ResultDto firstResultDto = ResultDto.builder()
+                .checkId(savedCheckDto.getId())
+                .status(Status.UP)
+                .probe("first \"probe\", quoted")
+                .statusCode(HttpStatus.OK)
+                .responseTime(OptionalLong.of(1000))
+                .changed(true)
+                .confirmation(true)
+                .created(Instant.now())
+                .dnsTime(OptionalLong.of(1500000))
+                .firstByteTime(OptionalLong.of(25000000))
+                .totalTime(OptionalLong.of(40000000))
+                .build();
+
+        ResultDto secondResultDto = ResultDto.builder()
+                .checkId(savedCheckDto.getId())
+                .status(Status.DOWN)
+                .probe("second")
+                .statusCode(HttpStatus.INTERNAL_SERVER_ERROR)
+                .created(Instant.now())
+                .failure(Optional.of(Failure.DNS))
+                .build();
+
+        List<ResultDto> copiedResultDtos = new ArrayList<>(resultRepository.copyInsert(Arrays.asList(firstResultDto, secondResultDto)));
+
+        Optional<ResultDto> foundFirstResultDto = resultRepository.findOne(copiedResultDtos.get(0).getId());
+        Optional<ResultDto> foundSecondResultDto = resultRepository.findOne(copiedResultDtos.get(1).getId());
+
+        userRepository.delete(savedUserDto);
+        checkRepository.delete(savedCheckDto);
+
+        Assert.assertEquals("first \"probe\", quoted", foundFirstResultDto.get().getProbe());
+        Assert.assertEquals(Status.UP, foundFirstResultDto.get().getStatus());
+        Assert.assertEquals("second", foundSecondResultDto.get().getProbe());
+        Assert.assertFalse(foundSecondResultDto.get().getResponseTime().isPresent());
+        Assert.assertFalse(foundSecondResultDto.get().getPreviousResultId().isPresent());
+        Assert.assertFalse(foundFirstResultDto.get().getFailure().isPresent());
+        Assert.assertEquals(Failure.DNS, foundSecondResultDto.get().getFailure().get());
+        Assert.assertEquals(1500000, foundFirstResultDto.get().getDnsTime().getAsLong());
+        Assert.assertFalse(foundFirstResultDto.get().getTlsTime().isPresent());
+        Assert.assertEquals(40000000, foundFirstResultDto.get().getTotalTime().getAsLong());
+        Assert.assertFalse(foundSecondResultDto.get().getTotalTime().isPresent());
+    }
+
+    @Test
+    public void copyInsertMatchesSave()
+    {
+        UserDto userDto = UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build();
+
+        UserDto savedUserDto = userRepository.save(userDto);
+
+        CheckDto checkDto = CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .probe(Optional.of("probe"))
+                .status(Status.UNKNOWN)
+                .state(State.WAITING)
+                .interval(1)
+                .confirming(true)
+                .version(1)
+                .build();
+
+        CheckDto savedCheckDto = checkRepository.save(checkDto);
+
+        ResultDto previousResultDto = resultRepository.save(ResultDto.builder()
+                .checkId(savedCheckDto.getId())
+                .status(Status.UP)
+                .probe("previous")
+                .statusCode(HttpStatus.OK)
+                .created(Instant.now())
+                .build());
+
+        List<ResultDto> resultDtos = Arrays.asList(
+                ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .previousResultId(OptionalLong.of(previousResultDto.getId()))
+                        .status(Status.UP)
+                        .probe("first \"probe\", quoted")
+                        .statusCode(HttpStatus.OK)
+                        .responseTime(OptionalLong.of(1000))
+                        .changed(true)
+                        .confirmation(true)
+                        .created(Instant.now())
+                        .dnsTime(OptionalLong.of(1500000))
+                        .connectTime(OptionalLong.of(2500000))
+                        .tlsTime(OptionalLong.of(3500000))
+                        .requestWriteTime(OptionalLong.of(4500000))
+                        .firstByteTime(OptionalLong.of(25000000))
+                        .totalTime(OptionalLong.of(40000000))
+                        .build(),
+                ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .previousResultId(OptionalLong.of(previousResultDto.getId()))
+                        .status(Status.DOWN)
+                        .probe("second")
+                        .statusCode(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .created(Instant.now())
+                        .failure(Optional.of(Failure.READ_TIMEOUT))
+                        .build(),
+                ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(Status.DOWN)
+                        .probe("third")
+                        .statusCode(HttpStatus.NOT_FOUND)
+                        .created(Instant.now())
+                        .build());
+
+        List<ResultDto> savedResultDtos = new ArrayList<>(resultRepository.save(resultDtos));
+        List<ResultDto> copiedResultDtos = new ArrayList<>(resultRepository.copyInsert(resultDtos));
+
+        List<ResultDto> foundSavedResultDtos = savedResultDtos
+                .stream()
+                .map(resultDto -> resultRepository.findOne(resultDto.getId()).get())
+                .collect(Collectors.toList());
+        List<ResultDto> foundCopiedResultDtos = copiedResultDtos
+                .stream()
+                .map(resultDto -> resultRepository.findOne(resultDto.getId()).get())
+                .collect(Collectors.toList());
+
+        userRepository.delete(savedUserDto);
+        checkRepository.delete(savedCheckDto);
+
+        Assert.assertEquals(resultDtos.size(), foundSavedResultDtos.size());
+        Assert.assertEquals(resultDtos.size(), foundCopiedResultDtos.size());
+        for (int index = 0; index < resultDtos.size(); index++)
+        {
+            ResultDto foundSavedResultDto = foundSavedResultDtos.get(index);
+            ResultDto foundCopiedResultDto = foundCopiedResultDtos.get(index);
+
+            Assert.assertEquals(savedResultDtos.get(index).getId(), foundSavedResultDto.getId());
+            Assert.assertEquals(copiedResultDtos.get(index).getId(), foundCopiedResultDto.getId());
+            Assert.assertNotEquals(foundSavedResultDto.getId(), foundCopiedResultDto.getId());
+            Assert.assertEquals(resultDtos.get(index).getPreviousResultId(), foundSavedResultDto.getPreviousResultId());
+            Assert.assertEquals(foundSavedResultDto.getPreviousResultId(), foundCopiedResultDto.getPreviousResultId());
+            Assert.assertEquals(foundSavedResultDto.getCheckId(), foundCopiedResultDto.getCheckId());
+            Assert.assertEquals(foundSavedResultDto.getStatus(), foundCopiedResultDto.getStatus());
+            Assert.assertEquals(foundSavedResultDto.getProbe(), foundCopiedResultDto.getProbe());
+            Assert.assertEquals(foundSavedResultDto.getStatusCode(), foundCopiedResultDto.getStatusCode());
+            Assert.assertEquals(foundSavedResultDto.getResponseTime(), foundCopiedResultDto.getResponseTime());
+            Assert.assertEquals(foundSavedResultDto.isChanged(), foundCopiedResultDto.isChanged());
+            Assert.assertEquals(foundSavedResultDto.isConfirmation(), foundCopiedResultDto.isConfirmation());
+            Assert.assertEquals(foundSavedResultDto.getCreated(), foundCopiedResultDto.getCreated());
+            Assert.assertEquals(foundSavedResultDto.getFailure(), foundCopiedResultDto.getFailure());
+            Assert.assertEquals(foundSavedResultDto.getDnsTime(), foundCopiedResultDto.getDnsTime());
+            Assert.assertEquals(foundSavedResultDto.getConnectTime(), foundCopiedResultDto.getConnectTime());
+            Assert.assertEquals(foundSavedResultDto.getTlsTime(), foundCopiedResultDto.getTlsTime());
+            Assert.assertEquals(foundSavedResultDto.getRequestWriteTime(), foundCopiedResultDto.getRequestWriteTime());
+            Assert.assertEquals(foundSavedResultDto.getFirstByteTime(), foundCopiedResultDto.getFirstByteTime());
+            Assert.assertEquals(foundSavedResultDto.getTotalTime(), foundCopiedResultDto.getTotalTime());
+        }
+        for (int index = 1; index < resultDtos.size(); index++)
+        {
+            Assert.assertTrue(savedResultDtos.get(index - 1).getId() < savedResultDtos.get(index).getId());
+            Assert.assertTrue(copiedResultDtos.get(index - 1).getId() < copiedResultDtos.get(index).getId());
+        }
+    }
+
+    @Test
+    public void copyInsertStreamsLargeBatches()
+    {
+        UserDto userDto = UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build();
+
+        UserDto savedUserDto = userRepository.save(userDto);
+
+        CheckDto checkDto = CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .probe(Optional.of("probe"))
+                .status(Status.UNKNOWN)
+                .state(State.WAITING)
+                .interval(1)
+                .confirming(true)
+                .version(1)
+                .build();
+
+        CheckDto savedCheckDto = checkRepository.save(checkDto);
+
+        List<ResultDto> resultDtos = IntStream
+                .range(0, 5000)
+                .mapToObj(index -> ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(Status.UP)
+                        .probe("probe" + index)
+                        .statusCode(HttpStatus.OK)
+                        .responseTime(OptionalLong.of(index + 1))
+                        .created(Instant.now())
+                        .build())
+                .collect(Collectors.toList());
+
+        List<ResultDto> copiedResultDtos = new ArrayList<>(resultRepository.copyInsert(resultDtos));
+        long foundResultCount = resultRepository
+                .findAll(copiedResultDtos
+                        .stream()
+                        .map(ResultDto::getId)
+                        .collect(Collectors.toList()))
+                .size();
+        Optional<ResultDto> foundLastResultDto = resultRepository.findOne(copiedResultDtos.get(copiedResultDtos.size() - 1).getId());
+
+        userRepository.delete(savedUserDto);
+        checkRepository.delete(savedCheckDto);
+
+        Assert.assertEquals(resultDtos.size(), copiedResultDtos.size());
+        Assert.assertEquals(resultDtos.size(), foundResultCount);
+        Assert.assertEquals("probe4999", foundLastResultDto.get().getProbe());
+        Assert.assertEquals(5000, foundLastResultDto.get().getResponseTime().getAsLong());
+    }
+
+    @Test
+    public void expireResults()
+    {
+        UserDto userDto = UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build();
+
+        UserDto savedUserDto = userRepository.save(userDto);
+
+        RoleDto savedRoleDto = roleRepository.save(RoleDto.builder()
+                .name("name")
+                .resultRetentionDuration(Duration.ofHours(1))
+                .build());
+
+        UserRoleDto savedUserRoleDto = userRoleRepository.save(UserRoleDto.builder()
+                .userId(savedUserDto.getId())
+                .roleId(savedRoleDto.getId())
+                .build());
+
+        CheckDto checkDto = CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .probe(Optional.of("probe"))
+                .status(Status.UNKNOWN)
+                .state(State.WAITING)
+                .interval(1)
+                .confirming(true)
+                .version(1)
+                .build();
+
+        CheckDto savedCheckDto = checkRepository.save(checkDto);
+
+        Instant expired = Instant.now().minus(Duration.ofHours(2));
+
+        List<ResultDto> savedResultDtos = new ArrayList<>(resultRepository.save(Arrays.asList(
+                ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(Status.UP)
+                        .probe("probe")
+                        .statusCode(HttpStatus.OK)
+                        .created(expired)
+                        .build(),
+                ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(Status.DOWN)
+                        .probe("probe")
+                        .statusCode(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .changed(true)
+                        .confirmation(true)
+                        .created(expired)
+                        .build(),
+                ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(Status.UP)
+                        .probe("probe")
+                        .statusCode(HttpStatus.OK)
+                        .created(Instant.now())
+                        .build(),
+                ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(Status.UP)
+                        .probe("probe")
+                        .statusCode(HttpStatus.OK)
+                        .created(expired)
+                        .build())));
+
+        ResultDto linkedResultDto = resultRepository.save(ResultDto.builder()
+                .checkId(savedCheckDto.getId())
+                .previousResultId(OptionalLong.of(savedResultDtos.get(0).getId()))
+                .status(Status.UP)
+                .probe("probe")
+                .statusCode(HttpStatus.OK)
+                .created(Instant.now())
+                .build());
+
+        checkRepository.save(CheckDto.buildFrom(savedCheckDto)
+                .latestResultId(OptionalLong.of(savedResultDtos.get(3).getId()))
+                .build());
+
+        resultRepository.refreshRetention();
+
+        ResultExpiryDto resultExpiryDto = ResultExpiryDto.builder().build();
+        int deleted = 0;
+        do
+        {
+            resultExpiryDto = resultRepository.expireResults(resultExpiryDto.getCursorCreated(), resultExpiryDto.getCursorId(), 1);
+            deleted += resultExpiryDto.getDeleted();
+        } while (resultExpiryDto.getScanned() > 0);
+
+        long backlog = resultRepository.countExpiryBacklog(resultExpiryDto.getCursorCreated(), resultExpiryDto.getCursorId(), 1000);
+
+        boolean firstExists = resultRepository.exists(savedResultDtos.get(0).getId());
+        boolean secondExists = resultRepository.exists(savedResultDtos.get(1).getId());
+        boolean thirdExists = resultRepository.exists(savedResultDtos.get(2).getId());
+        boolean fourthExists = resultRepository.exists(savedResultDtos.get(3).getId());
+        Optional<ResultDto> foundLinkedResultDto = resultRepository.findOne(linkedResultDto.getId());
+
+        userRoleRepository.delete(savedUserRoleDto);
+        roleRepository.delete(savedRoleDto);
+        userRepository.delete(savedUserDto);
+        checkRepository.delete(savedCheckDto);
+
+        Assert.assertTrue(deleted >= 1);
+        Assert.assertEquals(0, backlog);
+        Assert.assertFalse(firstExists);
+        Assert.assertTrue(secondExists);
+        Assert.assertTrue(thirdExists);
+        Assert.assertTrue(fourthExists);
+        Assert.assertFalse(foundLinkedResultDto.get().getPreviousResultId().isPresent());
+    }
+
+    @Test
+    public void saveExpiryCursor()
+    {
+        ResultExpiryDto originalCursor = resultRepository.findExpiryCursor();
+        Instant cursorCreated = Instant.now().minus(Duration.ofDays(1)).truncatedTo(ChronoUnit.MILLIS);
+
+        resultRepository.saveExpiryCursor(cursorCreated, 42);
+        ResultExpiryDto foundCursor = resultRepository.findExpiryCursor();
+        resultRepository.saveExpiryCursor(originalCursor.getCursorCreated(), originalCursor.getCursorId());
+
+        Assert.assertEquals(cursorCreated, foundCursor.getCursorCreated());
+        Assert.assertEquals(42, foundCursor.getCursorId());
+    }
+
+    @Test
+    public void retentionStaleAndBoundedBacklog()
+    {
+        UserDto userDto = UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build();
+
+        UserDto savedUserDto = userRepository.save(userDto);
+
+        RoleDto savedRoleDto = roleRepository.save(RoleDto.builder()
+                .name("name")
+                .resultRetentionDuration(Duration.ofHours(1))
+                .build());
+
+        UserRoleDto savedUserRoleDto = userRoleRepository.save(UserRoleDto.builder()
+                .userId(savedUserDto.getId())
+                .roleId(savedRoleDto.getId())
+                .build());
+
+        resultRepository.refreshRetention();
+        boolean staleBeforeCheck = resultRepository.isRetentionStale();
+
+        CheckDto checkDto = CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .probe(Optional.of("probe"))
+                .status(Status.UNKNOWN)
+                .state(State.WAITING)
+                .interval(1)
+                .confirming(true)
+                .version(1)
+                .build();
+
+        CheckDto savedCheckDto = checkRepository.save(checkDto);
+        boolean staleAfterCheck = resultRepository.isRetentionStale();
+
+        resultRepository.refreshRetention();
+        boolean staleAfterRefresh = resultRepository.isRetentionStale();
+
+        List<ResultDto> resultDtos = IntStream
+                .range(0, 3)
+                .mapToObj(index -> ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(Status.UP)
+                        .probe("probe")
+                        .statusCode(HttpStatus.OK)
+                        .created(Instant.now().minus(Duration.ofHours(2)))
+                        .build())
+                .collect(Collectors.toList());
+
+        resultRepository.save(resultDtos);
+
+        long boundedBacklog = resultRepository.countExpiryBacklog(Instant.EPOCH, 0, 2);
+        long backlog = resultRepository.countExpiryBacklog(Instant.EPOCH, 0, 1000);
+
+        userRoleRepository.delete(savedUserRoleDto);
+        roleRepository.delete(savedRoleDto);
+        userRepository.delete(savedUserDto);
+        checkRepository.delete(savedCheckDto);
+        resultRepository.refreshRetention();
+
+        Assert.assertFalse(staleBeforeCheck);
+        Assert.assertTrue(staleAfterCheck);
+        Assert.assertFalse(staleAfterRefresh);
+        Assert.assertEquals(2, boundedBacklog);
+        Assert.assertEquals(3, backlog);
+    }
+
+    @Test
+    public void saveAcrossPartitions()
+    {
+        UserDto userDto = UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build();
+
+        UserDto savedUserDto = userRepository.save(userDto);
+
+        CheckDto checkDto = CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .probe(Optional.of("probe"))
+                .status(Status.UNKNOWN)
+                .state(State.WAITING)
+                .interval(1)
+                .confirming(true)
+                .version(1)
+                .build();
+
+        CheckDto savedCheckDto = checkRepository.save(checkDto);
+
+        resultRepository.createResultPartitions(Instant.now().plus(Duration.ofDays(2)), ChronoUnit.DAYS);
+
+        List<ResultDto> savedResultDtos = new ArrayList<>(resultRepository.save(Arrays.asList(
+                ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(Status.UP)
+                        .probe("probe")
+                        .statusCode(HttpStatus.OK)
+                        .created(Instant.now().minus(Duration.ofDays(30)))
+                        .build(),
+                ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(Status.UP)
+                        .probe("probe")
+                        .statusCode(HttpStatus.OK)
+                        .created(Instant.now())
+                        .build(),
+                ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(Status.UP)
+                        .probe("probe")
+                        .statusCode(HttpStatus.OK)
+                        .created(Instant.now().plus(Duration.ofDays(1)))
+                        .build())));
+
+        List<Long> ids = savedResultDtos.stream().map(ResultDto::getId).collect(Collectors.toList());
+        Collection<ResultDto> foundResultDtos = resultRepository.findAll(ids);
+        boolean lastExists = resultRepository.exists(ids.get(2));
+        resultRepository.delete(savedResultDtos.get(2));
+        boolean deletedExists = resultRepository.exists(ids.get(2));
+        int createdPartitions = resultRepository.createResultPartitions(Instant.now().plus(Duration.ofDays(2)), ChronoUnit.DAYS);
+
+        userRepository.delete(savedUserDto);
+        checkRepository.delete(savedCheckDto);
+
+        Assert.assertEquals(3, foundResultDtos.size());
+        Assert.assertTrue(lastExists);
+        Assert.assertFalse(deletedExists);
+        Assert.assertEquals(0, createdPartitions);
+    }
+
+    @Test
+    public void dropResultPartitions()
+    {
+        UserDto userDto = UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build();
+
+        UserDto savedUserDto = userRepository.save(userDto);
+
+        RoleDto savedRoleDto = roleRepository.save(RoleDto.builder()
+                .name("name")
+                .resultRetentionDuration(Duration.ofHours(1))
+                .build());
+
+        UserRoleDto savedUserRoleDto = userRoleRepository.save(UserRoleDto.builder()
+                .userId(savedUserDto.getId())
+                .roleId(savedRoleDto.getId())
+                .build());
+
+        CheckDto checkDto = CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .probe(Optional.of("probe"))
+                .status(Status.UNKNOWN)
+                .state(State.WAITING)
+                .interval(1)
+                .confirming(true)
+                .version(1)
+                .build();
+
+        CheckDto savedCheckDto = checkRepository.save(checkDto);
+
+        LocalDateTime start = Partitions.truncate(LocalDateTime.now(), ChronoUnit.DAYS).minusDays(10);
+        String partition = Partitions.name("result", start, ChronoUnit.DAYS);
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF result FOR VALUES FROM ('%s') TO ('%s')",
+                partition,
+                Timestamp.valueOf(start),
+                Timestamp.valueOf(start.plusDays(1))));
+
+        Instant expired = Timestamp.valueOf(start.plusHours(1)).toInstant();
+
+        List<ResultDto> savedResultDtos = new ArrayList<>(resultRepository.save(Arrays.asList(
+                ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(Status.UP)
+                        .probe("probe")
+                        .statusCode(HttpStatus.OK)
+                        .created(expired)
+                        .build(),
+                ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(Status.DOWN)
+                        .probe("probe")
+                        .statusCode(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .changed(true)
+                        .confirmation(true)
+                        .created(expired)
+                        .build(),
+                ResultDto.builder()
+                        .checkId(savedCheckDto.getId())
+                        .status(Status.UP)
+                        .probe("probe")
+                        .statusCode(HttpStatus.OK)
+                        .created(expired)
+                        .build())));
+
+        ResultDto linkedResultDto = resultRepository.save(ResultDto.builder()
+                .checkId(savedCheckDto.getId())
+                .previousResultId(OptionalLong.of(savedResultDtos.get(0).getId()))
+                .status(Status.UP)
+                .probe("probe")
+                .statusCode(HttpStatus.OK)
+                .created(Instant.now())
+                .build());
+
+        checkRepository.save(CheckDto.buildFrom(savedCheckDto)
+                .latestResultId(OptionalLong.of(savedResultDtos.get(2).getId()))
+                .build());
+
+        resultRepository.refreshRetention();
+        int droppedPartitions = resultRepository.dropResultPartitions();
+
+        boolean partitionExists = jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition);
+        boolean firstExists = resultRepository.exists(savedResultDtos.get(0).getId());
+        boolean secondExists = resultRepository.exists(savedResultDtos.get(1).getId());
+        boolean thirdExists = resultRepository.exists(savedResultDtos.get(2).getId());
+        Optional<ResultDto> foundLinkedResultDto = resultRepository.findOne(linkedResultDto.getId());
+
+        userRoleRepository.delete(savedUserRoleDto);
+        roleRepository.delete(savedRoleDto);
+        userRepository.delete(savedUserDto);
+        checkRepository.delete(savedCheckDto);
+        resultRepository.refreshRetention();
+
+        Assert.assertTrue(droppedPartitions >= 1);
+        Assert.assertFalse(partitionExists);
+        Assert.assertFalse(firstExists);
+        Assert.assertTrue(secondExists);
+        Assert.assertTrue(thirdExists);
+        Assert.assertFalse(foundLinkedResultDto.get().getPreviousResultId().isPresent());
+    }
+
+    @Test(expected = DataIntegrityViolationException.class)
+    public void saveMissingPreviousResult()
+    {
+        UserDto savedUserDto = userRepository.save(UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build());
+
+        CheckDto savedCheckDto = checkRepository.save(CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .probe(Optional.of("probe"))
+                .status(Status.UNKNOWN)
+                .state(State.WAITING)
+                .interval(1)
+                .confirming(true)
+                .version(1)
+                .build());
+
+        try
+        {
+            resultRepository.save(ResultDto.builder()
+                    .checkId(savedCheckDto.getId())
+                    .previousResultId(OptionalLong.of(Long.MAX_VALUE))
+                    .status(Status.UP)
+                    .probe("probe")
+                    .statusCode(HttpStatus.OK)
+                    .created(Instant.now())
+                    .build());
+        } finally
+        {
+            checkRepository.delete(savedCheckDto);
+            userRepository.delete(savedUserDto);
+        }
+    }
+
     @Test
     public void deleteAll()
     {
@@ -0,0 +1,137 @@
+package com.codeaim.urlcheck.repository.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.codeaim.urlcheck.domain.RoleDto;
+import com.codeaim.urlcheck.repository.EntitlementsChangedEvent;
+import com.codeaim.urlcheck.repository.mock.RoleRepositoryMock;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class CrudRepositoryCacheTest
+{
+    @Test
+    public void findOneCachesWithinTtl()
+    {
+        AtomicLong clock = new AtomicLong();
+        RoleRepositoryMock delegate = new RoleRepositoryMock();
+        RoleDto savedRoleDto = delegate.save(RoleDto.builder().name("name").build());
+        TestRoleRepositoryCache cache = new TestRoleRepositoryCache(delegate, clock);
+
+        cache.findOne(savedRoleDto.getId());
+        cache.findOne(savedRoleDto.getId());
+        cache.exists(savedRoleDto.getId());
+        clock.set(1000);
+        cache.findOne(savedRoleDto.getId());
+
+        Assert.assertEquals(2, delegate.getReadCount());
+        Assert.assertEquals(2, cache.getHits());
+        Assert.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void findAllByIdsLoadsOnlyMissingIds()
+    {
+        RoleRepositoryMock delegate = new RoleRepositoryMock();
+        RoleDto firstRoleDto = delegate.save(RoleDto.builder().name("first").build());
+        RoleDto secondRoleDto = delegate.save(RoleDto.builder().name("second").build());
+        TestRoleRepositoryCache cache = new TestRoleRepositoryCache(delegate, new AtomicLong());
+
+        cache.findOne(firstRoleDto.getId());
+        Collection<RoleDto> found = cache.findAll(Arrays.asList(firstRoleDto.getId(), secondRoleDto.getId(), 99L));
+        Collection<RoleDto> foundAgain = cache.findAll(Arrays.asList(firstRoleDto.getId(), secondRoleDto.getId(), 99L));
+
+        Assert.assertEquals(2, found.size());
+        Assert.assertEquals(2, foundAgain.size());
+        Assert.assertEquals(2, delegate.getReadCount());
+    }
+
+    @Test
+    public void saveInvalidates()
+    {
+        RoleRepositoryMock delegate = new RoleRepositoryMock();
+        TestRoleRepositoryCache cache = new TestRoleRepositoryCache(delegate, new AtomicLong());
+
+        Assert.assertEquals(0, cache.findAll().size());
+        Assert.assertFalse(cache.findOne(1L).isPresent());
+
+        RoleDto savedRoleDto = cache.save(RoleDto.builder().name("name").build());
+
+        Assert.assertEquals(1, cache.findAll().size());
+        Assert.assertTrue(cache.findOne(savedRoleDto.getId()).isPresent());
+    }
+
+    @Test
+    public void deleteInvalidates()
+    {
+        RoleRepositoryMock delegate = new RoleRepositoryMock();
+        RoleDto savedRoleDto = delegate.save(RoleDto.builder().name("name").build());
+        TestRoleRepositoryCache cache = new TestRoleRepositoryCache(delegate, new AtomicLong());
+
+        Assert.assertTrue(cache.findOne(savedRoleDto.getId()).isPresent());
+        Assert.assertEquals(1, cache.findAll().size());
+
+        cache.delete(savedRoleDto);
+
+        Assert.assertFalse(cache.findOne(savedRoleDto.getId()).isPresent());
+        Assert.assertEquals(0, cache.findAll().size());
+    }
+
+    @Test
+    public void saveInvalidatesAfterCommit()
+    {
+        RoleRepositoryMock delegate = new RoleRepositoryMock();
+        TestRoleRepositoryCache cache = new TestRoleRepositoryCache(delegate, new AtomicLong());
+
+        Assert.assertEquals(0, cache.findAll().size());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try
+        {
+            cache.save(RoleDto.builder().name("name").build());
+
+            Assert.assertEquals(0, cache.findAll().size());
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally
+        {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assert.assertEquals(1, cache.findAll().size());
+    }
+
+    @Test
+    public void entitlementsChangedInvalidates()
+    {
+        RoleRepositoryMock delegate = new RoleRepositoryMock();
+        RoleDto savedRoleDto = delegate.save(RoleDto.builder().name("name").build());
+        TestRoleRepositoryCache cache = new TestRoleRepositoryCache(delegate, new AtomicLong());
+
+        cache.findOne(savedRoleDto.getId());
+        delegate.delete(savedRoleDto);
+        cache.onEntitlementsChanged(EntitlementsChangedEvent.all());
+
+        Assert.assertFalse(cache.findOne(savedRoleDto.getId()).isPresent());
+    }
+
+    private static class TestRoleRepositoryCache extends CrudRepositoryCache<RoleDto, Long>
+    {
+        private TestRoleRepositoryCache(RoleRepositoryMock delegate, AtomicLong clock)
+        {
+            super(delegate, RoleDto::getId, 10, 1000, clock::get);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.codeaim.urlcheck.repository.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.codeaim.urlcheck.Application;
+import com.codeaim.urlcheck.configuration.ProbeConfiguration;
+import com.codeaim.urlcheck.domain.CheckDto;
+import com.codeaim.urlcheck.domain.EntitlementDto;
+import com.codeaim.urlcheck.domain.RoleDto;
+import com.codeaim.urlcheck.domain.State;
+import com.codeaim.urlcheck.domain.Status;
+import com.codeaim.urlcheck.domain.UserDto;
+import com.codeaim.urlcheck.domain.UserRoleDto;
+import com.codeaim.urlcheck.repository.CheckRepository;
+import com.codeaim.urlcheck.repository.EntitlementsChangedEvent;
+import com.codeaim.urlcheck.repository.RoleRepository;
+import com.codeaim.urlcheck.repository.UserRepository;
+import com.codeaim.urlcheck.repository.UserRoleRepository;
+import com.codeaim.urlcheck.repository.mock.EntitlementRepositoryMock;
+
+import okhttp3.HttpUrl;
+
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = Application.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class EntitlementCacheTest
+{
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+    @Autowired
+    private CheckRepository checkRepository;
+    @Autowired
+    private EntitlementCache entitlementCache;
+
+    @Test
+    public void getCachesEntitlements()
+    {
+        long hits = entitlementCache.getEntitlements().getHits();
+
+        entitlementCache.get(1);
+        entitlementCache.get(1);
+
+        Assert.assertEquals(hits + 1, entitlementCache.getEntitlements().getHits());
+    }
+
+    @Test
+    public void getReflectsRoleWrites()
+    {
+        UserDto savedUserDto = userRepository.save(UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build());
+
+        Optional<EntitlementDto> withoutRoles = entitlementCache.get(savedUserDto.getId());
+
+        RoleDto savedRoleDto = roleRepository.save(RoleDto.builder()
+                .name("name")
+                .checkLimit(10)
+                .resultEventLimit(5)
+                .resultRetentionDuration(Duration.ofHours(24))
+                .build());
+
+        UserRoleDto savedUserRoleDto = userRoleRepository.save(UserRoleDto.builder()
+                .userId(savedUserDto.getId())
+                .roleId(savedRoleDto.getId())
+                .build());
+
+        Optional<EntitlementDto> withRole = entitlementCache.get(savedUserDto.getId());
+
+        userRoleRepository.delete(savedUserRoleDto);
+
+        Optional<EntitlementDto> afterDelete = entitlementCache.get(savedUserDto.getId());
+
+        roleRepository.delete(savedRoleDto);
+        userRepository.delete(savedUserDto);
+
+        Assert.assertFalse(withoutRoles.isPresent());
+        Assert.assertEquals(10, withRole.get().getCheckLimit());
+        Assert.assertFalse(afterDelete.isPresent());
+    }
+
+    @Test
+    public void isPermittedHonoursCheckLimit()
+    {
+        UserDto savedUserDto = userRepository.save(UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build());
+
+        RoleDto savedRoleDto = roleRepository.save(RoleDto.builder()
+                .name("name")
+                .checkLimit(1)
+                .resultRetentionDuration(Duration.ofHours(24))
+                .build());
+
+        UserRoleDto savedUserRoleDto = userRoleRepository.save(UserRoleDto.builder()
+                .userId(savedUserDto.getId())
+                .roleId(savedRoleDto.getId())
+                .build());
+
+        List<CheckDto> savedCheckDtos = new ArrayList<>(checkRepository.save(Arrays.asList(
+                CheckDto.builder()
+                        .userId(savedUserDto.getId())
+                        .name("name")
+                        .url(HttpUrl.parse("http://www.example.com/"))
+                        .status(Status.UNKNOWN)
+                        .state(State.WAITING)
+                        .interval(1)
+                        .version(1)
+                        .build(),
+                CheckDto.builder()
+                        .userId(savedUserDto.getId())
+                        .name("name2")
+                        .url(HttpUrl.parse("http://www.example.com/"))
+                        .status(Status.UNKNOWN)
+                        .state(State.WAITING)
+                        .interval(1)
+                        .version(1)
+                        .build())));
+
+        boolean firstPermitted = entitlementCache.isPermitted(savedCheckDtos.get(0));
+        boolean secondPermitted = entitlementCache.isPermitted(savedCheckDtos.get(1));
+
+        userRoleRepository.delete(savedUserRoleDto);
+
+        boolean firstPermittedAfterDelete = entitlementCache.isPermitted(savedCheckDtos.get(0));
+
+        roleRepository.delete(savedRoleDto);
+        userRepository.delete(savedUserDto);
+
+        Assert.assertTrue(firstPermitted);
+        Assert.assertFalse(secondPermitted);
+        Assert.assertFalse(firstPermittedAfterDelete);
+    }
+
+    @Test
+    public void isPermittedReflectsCheckWrites()
+    {
+        UserDto savedUserDto = userRepository.save(UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build());
+
+        RoleDto savedRoleDto = roleRepository.save(RoleDto.builder()
+                .name("name")
+                .checkLimit(1)
+                .resultRetentionDuration(Duration.ofHours(24))
+                .build());
+
+        UserRoleDto savedUserRoleDto = userRoleRepository.save(UserRoleDto.builder()
+                .userId(savedUserDto.getId())
+                .roleId(savedRoleDto.getId())
+                .build());
+
+        CheckDto firstCheckDto = checkRepository.save(CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .status(Status.UNKNOWN)
+                .state(State.WAITING)
+                .interval(1)
+                .version(1)
+                .build());
+
+        boolean firstPermitted = entitlementCache.isPermitted(firstCheckDto);
+
+        checkRepository.delete(firstCheckDto);
+
+        CheckDto secondCheckDto = checkRepository.save(CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("name2")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .status(Status.UNKNOWN)
+                .state(State.WAITING)
+                .interval(1)
+                .version(1)
+                .build());
+
+        boolean secondPermitted = entitlementCache.isPermitted(secondCheckDto);
+
+        checkRepository.delete(secondCheckDto);
+        userRoleRepository.delete(savedUserRoleDto);
+        roleRepository.delete(savedRoleDto);
+        userRepository.delete(savedUserDto);
+
+        Assert.assertTrue(firstPermitted);
+        Assert.assertTrue(secondPermitted);
+    }
+
+    @Test
+    public void isPermittedCountsMissingEntitlements()
+    {
+        EntitlementRepositoryMock entitlementRepository = new EntitlementRepositoryMock();
+        EntitlementCache mockEntitlementCache = new EntitlementCache(entitlementRepository, new ProbeConfiguration());
+        CheckDto checkDto = CheckDto.builder()
+                .id(1)
+                .userId(1)
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .build();
+
+        boolean firstPermitted = mockEntitlementCache.isPermitted(checkDto);
+        boolean secondPermitted = mockEntitlementCache.isPermitted(checkDto);
+
+        Assert.assertFalse(firstPermitted);
+        Assert.assertFalse(secondPermitted);
+        Assert.assertEquals(1, mockEntitlementCache.getUnentitledCount());
+    }
+
+    @Test
+    public void refreshSummaryIsDebounced()
+    {
+        ProbeConfiguration probeConfiguration = new ProbeConfiguration();
+        probeConfiguration.setPersistEntitlements(true);
+        EntitlementRepositoryMock entitlementRepository = new EntitlementRepositoryMock();
+        EntitlementCache summaryEntitlementCache = new EntitlementCache(entitlementRepository, probeConfiguration);
+
+        boolean initialRefresh = summaryEntitlementCache.refreshSummary();
+        boolean unchangedRefresh = summaryEntitlementCache.refreshSummary();
+        summaryEntitlementCache.onEntitlementsChanged(EntitlementsChangedEvent.user(1));
+        summaryEntitlementCache.onEntitlementsChanged(EntitlementsChangedEvent.all());
+        boolean changedRefresh = summaryEntitlementCache.refreshSummary();
+
+        Assert.assertTrue(initialRefresh);
+        Assert.assertFalse(unchangedRefresh);
+        Assert.assertTrue(changedRefresh);
+        Assert.assertEquals(2, entitlementRepository.getRefreshCount());
+    }
+}
@@ -0,0 +1,33 @@
+package com.codeaim.urlcheck.repository.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.codeaim.urlcheck.Application;
+import com.codeaim.urlcheck.repository.RoleRepository;
+import com.codeaim.urlcheck.repository.UserRoleRepository;
+
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = Application.class)
+@TestPropertySource(locations = "classpath:test.properties", properties = "com.codeaim.urlcheck.probe.repositoryCache=false")
+@SpringBootTest
+public class RepositoryCacheDisabledTest
+{
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Test
+    public void repositoriesAreNotCached()
+    {
+        Assert.assertFalse(roleRepository instanceof RoleRepositoryCache);
+        Assert.assertFalse(userRoleRepository instanceof UserRoleRepositoryCache);
+    }
+}
@@ -0,0 +1,101 @@
+package com.codeaim.urlcheck.repository.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.codeaim.urlcheck.Application;
+import com.codeaim.urlcheck.domain.RoleDto;
+import com.codeaim.urlcheck.domain.UserDto;
+import com.codeaim.urlcheck.domain.UserRoleDto;
+import com.codeaim.urlcheck.repository.RoleRepository;
+import com.codeaim.urlcheck.repository.UserRepository;
+import com.codeaim.urlcheck.repository.UserRoleRepository;
+
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = Application.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class RepositoryCacheTest
+{
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Test
+    public void repositoriesAreCached()
+    {
+        Assert.assertTrue(roleRepository instanceof RoleRepositoryCache);
+        Assert.assertTrue(userRoleRepository instanceof UserRoleRepositoryCache);
+    }
+
+    @Test
+    public void roleReadsAreCoherentAfterWrites()
+    {
+        int roleCount = roleRepository.findAll().size();
+
+        RoleDto savedRoleDto = roleRepository.save(RoleDto.builder()
+                .name("name")
+                .checkLimit(10)
+                .resultEventLimit(5)
+                .resultRetentionDuration(Duration.ofHours(24))
+                .build());
+
+        int savedRoleCount = roleRepository.findAll().size();
+        Optional<RoleDto> foundRoleDto = roleRepository.findOne(savedRoleDto.getId());
+
+        roleRepository.delete(savedRoleDto);
+
+        int deletedRoleCount = roleRepository.findAll().size();
+        Optional<RoleDto> deletedRoleDto = roleRepository.findOne(savedRoleDto.getId());
+
+        Assert.assertEquals(roleCount + 1, savedRoleCount);
+        Assert.assertEquals("name", foundRoleDto.get().getName());
+        Assert.assertEquals(roleCount, deletedRoleCount);
+        Assert.assertFalse(deletedRoleDto.isPresent());
+    }
+
+    @Test
+    public void userRoleReadsAreCoherentAfterCascadingDeletes()
+    {
+        UserDto savedUserDto = userRepository.save(UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build());
+
+        RoleDto savedRoleDto = roleRepository.save(RoleDto.builder()
+                .name("name")
+                .build());
+
+        UserRoleDto savedUserRoleDto = userRoleRepository.save(UserRoleDto.builder()
+                .userId(savedUserDto.getId())
+                .roleId(savedRoleDto.getId())
+                .build());
+
+        boolean existsBeforeDelete = userRoleRepository.exists(savedUserRoleDto.getId());
+
+        roleRepository.delete(savedRoleDto);
+
+        boolean existsAfterDelete = userRoleRepository.exists(savedUserRoleDto.getId());
+
+        userRepository.delete(savedUserDto);
+
+        Assert.assertTrue(existsBeforeDelete);
+        Assert.assertFalse(existsAfterDelete);
+    }
+}
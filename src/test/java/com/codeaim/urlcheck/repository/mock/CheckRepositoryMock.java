@@ -1,12 +1,17 @@
 package com.codeaim.urlcheck.repository.mock;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.codeaim.urlcheck.domain.CheckDto;
+import com.codeaim.urlcheck.domain.State;
 import com.codeaim.urlcheck.domain.Status;
 import com.codeaim.urlcheck.repository.CheckRepository;
 
@@ -14,25 +19,48 @@ import okhttp3.HttpUrl;
 
 public class CheckRepositoryMock implements CheckRepository
 {
+    private int saveCount;
+    private int transitionChecksCount;
+
+    public int getSaveCount()
+    {
+        return saveCount;
+    }
+
+    public int getTransitionChecksCount()
+    {
+        return transitionChecksCount;
+    }
+
     @Override
-    public Collection<CheckDto> findElectableChecks(String probe, boolean isClustered, Instant instant, long candidatePoolSize)
+    public Collection<CheckDto> electChecks(String probe, boolean isClustered, Instant instant, long candidatePoolSize, Duration lease)
     {
         return findAll()
                 .stream()
                 .limit(candidatePoolSize)
+                .map(checkDto -> CheckDto.buildFrom(checkDto)
+                        .state(State.ELECTED)
+                        .build())
                 .collect(Collectors.toList());
     }
 
     @Override
-    public Collection<CheckDto> markChecksElected(Collection<CheckDto> checkDtos)
+    public int renewLeases(Collection<CheckDto> checkDtos, Duration lease)
     {
+        return checkDtos.size();
+    }
+
+    @Override
+    public Collection<CheckDto> transitionChecks(Collection<CheckDto> checkDtos)
+    {
+        transitionChecksCount++;
         return checkDtos;
     }
 
     @Override
-    public int batchUpdate(Collection<CheckDto> checkDtos)
+    public long countOverdueChecks(Instant instant)
     {
-        return checkDtos.size();
+        return findAll().size();
     }
 
     @Override
@@ -93,6 +121,29 @@ public class CheckRepositoryMock implements CheckRepository
         return findAll();
     }
 
+    @Override
+    public Collection<CheckDto> findAllAfter(Long id, int limit)
+    {
+        return findAll()
+                .stream()
+                .filter(entity -> entity.getId() > id)
+                .sorted(Comparator.comparing(CheckDto::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void forEach(int fetchSize, Consumer<CheckDto> consumer)
+    {
+        findAll().forEach(consumer);
+    }
+
+    @Override
+    public Stream<CheckDto> stream(int pageSize)
+    {
+        return findAll().stream();
+    }
+
     @Override
     public Optional<CheckDto> findOne(Long id)
     {
@@ -102,12 +153,14 @@ public class CheckRepositoryMock implements CheckRepository
     @Override
     public CheckDto save(CheckDto entity)
     {
+        saveCount++;
         return entity;
     }
 
     @Override
     public Collection<CheckDto> save(Collection<CheckDto> entities)
     {
+        saveCount++;
         return entities;
     }
 }
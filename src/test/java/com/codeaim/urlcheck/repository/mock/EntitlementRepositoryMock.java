@@ -0,0 +1,67 @@
+package com.codeaim.urlcheck.repository.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import com.codeaim.urlcheck.domain.EntitlementDto;
+import com.codeaim.urlcheck.repository.EntitlementRepository;
+
+public class EntitlementRepositoryMock implements EntitlementRepository
+{
+    private Map<Long, EntitlementDto> entitlements = new ConcurrentHashMap<>();
+    private Map<Long, List<Long>> checkIds = new ConcurrentHashMap<>();
+    private AtomicInteger refreshCount = new AtomicInteger();
+
+    public EntitlementRepositoryMock save(EntitlementDto entitlementDto, Long... userCheckIds)
+    {
+        entitlements.put(entitlementDto.getUserId(), entitlementDto);
+        checkIds.put(entitlementDto.getUserId(), Arrays.asList(userCheckIds));
+        return this;
+    }
+
+    public int getRefreshCount()
+    {
+        return refreshCount.get();
+    }
+
+    @Override
+    public Optional<EntitlementDto> findOne(long userId)
+    {
+        return Optional.ofNullable(entitlements.get(userId));
+    }
+
+    @Override
+    public Collection<EntitlementDto> findAll()
+    {
+        return new ArrayList<>(entitlements.values());
+    }
+
+    @Override
+    public Optional<EntitlementDto> findSummary(long userId)
+    {
+        return findOne(userId);
+    }
+
+    @Override
+    public Collection<Long> findPermittedCheckIds(long userId, long checkLimit)
+    {
+        return checkIds.getOrDefault(userId, new ArrayList<>())
+                .stream()
+                .sorted()
+                .limit(checkLimit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void refreshSummary()
+    {
+        refreshCount.incrementAndGet();
+    }
+}
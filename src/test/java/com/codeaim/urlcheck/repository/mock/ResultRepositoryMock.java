@@ -1,20 +1,83 @@
 package com.codeaim.urlcheck.repository.mock;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.http.HttpStatus;
 
 import com.codeaim.urlcheck.domain.ResultDto;
+import com.codeaim.urlcheck.domain.ResultExpiryDto;
 import com.codeaim.urlcheck.repository.ResultRepository;
 
 public class ResultRepositoryMock implements ResultRepository
 {
+    private ResultExpiryDto cursor = ResultExpiryDto.builder().build();
+    private List<ResultDto> savedResults = Collections.synchronizedList(new ArrayList<>());
+
+    public List<ResultDto> getSavedResults()
+    {
+        return savedResults;
+    }
+
+    @Override
+    public void refreshRetention()
+    {
+    }
+
+    @Override
+    public boolean isRetentionStale()
+    {
+        return false;
+    }
+
+    @Override
+    public ResultExpiryDto findExpiryCursor()
+    {
+        return cursor;
+    }
+
+    @Override
+    public void saveExpiryCursor(Instant cursorCreated, long cursorId)
+    {
+        this.cursor = ResultExpiryDto.builder()
+                .cursorCreated(cursorCreated)
+                .cursorId(cursorId)
+                .build();
+    }
+
+    @Override
+    public ResultExpiryDto expireResults(Instant cursorCreated, long cursorId, int chunkSize)
+    {
+        return ResultExpiryDto.builder()
+                .cursorCreated(cursorCreated)
+                .cursorId(cursorId)
+                .build();
+    }
+
+    @Override
+    public long countExpiryBacklog(Instant cursorCreated, long cursorId, long limit)
+    {
+        return 0;
+    }
 
     @Override
-    public int expireResults(int resultExpiryLimit)
+    public int createResultPartitions(Instant until, ChronoUnit unit)
+    {
+        return 0;
+    }
+
+    @Override
+    public int dropResultPartitions()
     {
         return 0;
     }
@@ -25,6 +88,18 @@ public class ResultRepositoryMock implements ResultRepository
         return resultDtos.size();
     }
 
+    @Override
+    public int delete(Collection<ResultDto> resultDtos)
+    {
+        return resultDtos.size();
+    }
+
+    @Override
+    public Collection<ResultDto> copyInsert(Collection<ResultDto> resultDtos)
+    {
+        return resultDtos;
+    }
+
     @Override
     public long count()
     {
@@ -67,6 +142,29 @@ public class ResultRepositoryMock implements ResultRepository
         return findAll();
     }
 
+    @Override
+    public Collection<ResultDto> findAllAfter(Long id, int limit)
+    {
+        return findAll()
+                .stream()
+                .filter(entity -> entity.getId() > id)
+                .sorted(Comparator.comparing(ResultDto::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void forEach(int fetchSize, Consumer<ResultDto> consumer)
+    {
+        findAll().forEach(consumer);
+    }
+
+    @Override
+    public Stream<ResultDto> stream(int pageSize)
+    {
+        return findAll().stream();
+    }
+
     @Override
     public Optional<ResultDto> findOne(Long id)
     {
@@ -76,12 +174,14 @@ public class ResultRepositoryMock implements ResultRepository
     @Override
     public ResultDto save(ResultDto entity)
     {
+        savedResults.add(entity);
         return entity;
     }
 
     @Override
     public Collection<ResultDto> save(Collection<ResultDto> entities)
     {
+        savedResults.addAll(entities);
         return entities;
     }
 }
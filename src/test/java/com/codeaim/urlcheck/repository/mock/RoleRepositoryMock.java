@@ -0,0 +1,117 @@
+package com.codeaim.urlcheck.repository.mock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.codeaim.urlcheck.domain.RoleDto;
+import com.codeaim.urlcheck.repository.RoleRepository;
+
+public class RoleRepositoryMock implements RoleRepository
+{
+    private Map<Long, RoleDto> roles = new ConcurrentHashMap<>();
+    private AtomicLong sequence = new AtomicLong();
+    private AtomicInteger readCount = new AtomicInteger();
+
+    @Override
+    public long count()
+    {
+        return roles.size();
+    }
+
+    @Override
+    public void delete(RoleDto entity)
+    {
+        roles.remove(entity.getId());
+    }
+
+    @Override
+    public void deleteAll()
+    {
+        roles.clear();
+    }
+
+    @Override
+    public boolean exists(Long id)
+    {
+        readCount.incrementAndGet();
+        return roles.containsKey(id);
+    }
+
+    @Override
+    public Collection<RoleDto> findAll()
+    {
+        readCount.incrementAndGet();
+        return new ArrayList<>(roles.values());
+    }
+
+    @Override
+    public Collection<RoleDto> findAll(Collection<Long> ids)
+    {
+        readCount.incrementAndGet();
+        return ids.stream()
+                .filter(roles::containsKey)
+                .map(roles::get)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<RoleDto> findAllAfter(Long id, int limit)
+    {
+        return findAll()
+                .stream()
+                .filter(entity -> entity.getId() > id)
+                .sorted(Comparator.comparing(RoleDto::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void forEach(int fetchSize, Consumer<RoleDto> consumer)
+    {
+        findAll().forEach(consumer);
+    }
+
+    @Override
+    public Stream<RoleDto> stream(int pageSize)
+    {
+        return findAll().stream();
+    }
+
+    @Override
+    public Optional<RoleDto> findOne(Long id)
+    {
+        readCount.incrementAndGet();
+        return Optional.ofNullable(roles.get(id));
+    }
+
+    @Override
+    public RoleDto save(RoleDto entity)
+    {
+        RoleDto saved = RoleDto.buildFrom(entity)
+                .id(entity.getId() != 0 ? entity.getId() : sequence.incrementAndGet())
+                .build();
+        roles.put(saved.getId(), saved);
+
+        return saved;
+    }
+
+    @Override
+    public Collection<RoleDto> save(Collection<RoleDto> entities)
+    {
+        return entities.stream().map(this::save).collect(Collectors.toList());
+    }
+
+    public int getReadCount()
+    {
+        return readCount.get();
+    }
+}
@@ -0,0 +1,59 @@
+package com.codeaim.urlcheck.task;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class ElectionSizerTest
+{
+    @Test
+    public void initialSizeIsBounded()
+    {
+        Assert.assertEquals(5, new ElectionSizer(5, 500, 1, 2000, 1000).getCurrent());
+        Assert.assertEquals(500, new ElectionSizer(5, 500, 1000, 2000, 1000).getCurrent());
+    }
+
+    @Test
+    public void nextGrowsWithBacklog()
+    {
+        ElectionSizer electionSizer = new ElectionSizer(5, 500, 25, 2000, 1000);
+
+        Assert.assertEquals(37, electionSizer.next(10000, 100, 100));
+        Assert.assertEquals(55, electionSizer.next(10000, 100, 100));
+
+        for (int i = 0; i < 20; i++)
+            electionSizer.next(10000, 100, 100);
+
+        Assert.assertEquals(500, electionSizer.getCurrent());
+    }
+
+    @Test
+    public void nextHoldsWithoutBacklog()
+    {
+        ElectionSizer electionSizer = new ElectionSizer(5, 500, 25, 2000, 1000);
+
+        Assert.assertEquals(25, electionSizer.next(10, 100, 100));
+    }
+
+    @Test
+    public void nextShrinksOnSlowRequests()
+    {
+        ElectionSizer electionSizer = new ElectionSizer(5, 500, 100, 2000, 1000);
+
+        Assert.assertEquals(50, electionSizer.next(10000, 2500, 100));
+    }
+
+    @Test
+    public void nextShrinksOnSlowWrites()
+    {
+        ElectionSizer electionSizer = new ElectionSizer(5, 500, 8, 2000, 1000);
+
+        Assert.assertEquals(5, electionSizer.next(10000, 100, 1500));
+    }
+}
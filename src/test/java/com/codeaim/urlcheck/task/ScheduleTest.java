@@ -2,12 +2,16 @@ package com.codeaim.urlcheck.task;
 
 import com.codeaim.urlcheck.Application;
 import com.codeaim.urlcheck.configuration.ProbeConfiguration;
+import com.codeaim.urlcheck.configuration.ScheduleConfiguration;
+import com.codeaim.urlcheck.repository.cache.EntitlementCache;
 import com.codeaim.urlcheck.task.mock.CheckTaskMock;
 import com.codeaim.urlcheck.task.mock.ResultExpiryTaskMock;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.scheduling.config.ScheduledTaskRegistrar;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
@@ -22,13 +26,68 @@ public class ScheduleTest
     @Autowired
     ProbeConfiguration probeConfiguration;
 
+    @Autowired
+    ThreadPoolTaskScheduler taskScheduler;
+
+    @Autowired
+    EntitlementCache entitlementCache;
+
     @Test
     public void configureTasks()
     {
         new Schedule(
                 probeConfiguration,
                 new CheckTaskMock(),
-                new ResultExpiryTaskMock())
+                new ResultExpiryTaskMock(),
+                taskScheduler,
+                entitlementCache)
                 .configureTasks(new ScheduledTaskRegistrar());
     }
+
+    @Test
+    public void configureTasksUsesTaskScheduler()
+    {
+        ProbeConfiguration scheduledProbeConfiguration = new ProbeConfiguration();
+        ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+
+        new Schedule(
+                scheduledProbeConfiguration,
+                new CheckTaskMock(),
+                new ResultExpiryTaskMock(),
+                taskScheduler,
+                entitlementCache)
+                .configureTasks(taskRegistrar);
+
+        Assert.assertSame(taskScheduler, taskRegistrar.getScheduler());
+    }
+
+    @Test
+    public void configureTasksRefreshesEntitlementSummary()
+    {
+        ProbeConfiguration summaryProbeConfiguration = new ProbeConfiguration();
+        summaryProbeConfiguration.setPersistEntitlements(true);
+        ScheduledTaskRegistrar taskRegistrar = new ScheduledTaskRegistrar();
+
+        new Schedule(
+                summaryProbeConfiguration,
+                new CheckTaskMock(),
+                new ResultExpiryTaskMock(),
+                taskScheduler,
+                entitlementCache)
+                .configureTasks(taskRegistrar);
+
+        Assert.assertEquals(3, taskRegistrar.getFixedDelayTaskList().size());
+    }
+
+    @Test
+    public void taskSchedulerShutsDownOnDestroy()
+    {
+        ThreadPoolTaskScheduler destroyedTaskScheduler = new ScheduleConfiguration(probeConfiguration).getTaskScheduler();
+        destroyedTaskScheduler.afterPropertiesSet();
+
+        destroyedTaskScheduler.destroy();
+
+        Assert.assertEquals(probeConfiguration.getSchedulerPoolSize(), destroyedTaskScheduler.getScheduledThreadPoolExecutor().getCorePoolSize());
+        Assert.assertTrue(destroyedTaskScheduler.getScheduledExecutor().isShutdown());
+    }
 }
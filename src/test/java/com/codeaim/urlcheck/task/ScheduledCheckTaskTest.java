@@ -1,21 +1,53 @@
 package com.codeaim.urlcheck.task;
 
 import com.codeaim.urlcheck.configuration.ProbeConfiguration;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.codeaim.urlcheck.Application;
+import com.codeaim.urlcheck.domain.CheckDto;
+import com.codeaim.urlcheck.domain.EntitlementDto;
+import com.codeaim.urlcheck.domain.Failure;
+import com.codeaim.urlcheck.domain.ProbeMode;
+import com.codeaim.urlcheck.domain.ResultDto;
+import com.codeaim.urlcheck.domain.State;
+import com.codeaim.urlcheck.domain.Status;
+import com.codeaim.urlcheck.domain.UserDto;
+import com.codeaim.urlcheck.repository.CheckRepository;
+import com.codeaim.urlcheck.repository.ResultRepository;
+import com.codeaim.urlcheck.repository.UserRepository;
+import com.codeaim.urlcheck.repository.cache.EntitlementCache;
 import com.codeaim.urlcheck.repository.mock.CheckRepositoryMock;
+import com.codeaim.urlcheck.repository.mock.EntitlementRepositoryMock;
 import com.codeaim.urlcheck.repository.mock.ResultRepositoryMock;
 
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 @RunWith(SpringRunner.class)
 @ContextConfiguration(classes = Application.class)
@@ -32,15 +64,601 @@ public class ScheduledCheckTaskTest
     @Autowired
     ProbeConfiguration probeConfiguration;
 
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    CheckRepository checkRepository;
+
+    @Autowired
+    ResultRepository resultRepository;
+
+    @Autowired
+    EntitlementCache entitlementCache;
+
     @Test
     public void run()
     {
-        new ScheduledCheckTask(httpClient, executorService,new CheckRepositoryMock(), new ResultRepositoryMock(), probeConfiguration).run();
+        new ScheduledCheckTask(httpClient, executorService,new CheckRepositoryMock(), new ResultRepositoryMock(), probeConfiguration, entitlementCache, transactionManager).run();
+    }
+
+    @Test
+    public void runPersistsChecksInSingleBatch()
+    {
+        CheckRepositoryMock checkRepository = new CheckRepositoryMock();
+
+        new ScheduledCheckTask(httpClient, executorService, checkRepository, new ResultRepositoryMock(), probeConfiguration, entitlementCache, transactionManager).run();
+
+        Assert.assertEquals(0, checkRepository.getSaveCount());
+        Assert.assertEquals(1, checkRepository.getTransitionChecksCount());
+    }
+
+    @Test
+    public void runDropsConflictedChecks()
+    {
+        CheckRepositoryMock checkRepository = new CheckRepositoryMock()
+        {
+            @Override
+            public Collection<CheckDto> transitionChecks(Collection<CheckDto> checkDtos)
+            {
+                return Collections.emptyList();
+            }
+        };
+
+        ScheduledCheckTask scheduledCheckTask = new ScheduledCheckTask(httpClient, executorService, checkRepository, new ResultRepositoryMock(), probeConfiguration, entitlementCache, transactionManager);
+        scheduledCheckTask.run();
+
+        Assert.assertEquals(checkRepository.findAll().size(), scheduledCheckTask.getConflictedCheckCount());
+        Assert.assertEquals(0, checkRepository.getSaveCount());
+    }
+
+    @Test
+    public void runDefersChecksOverCheckLimit()
+    {
+        ProbeConfiguration limitedProbeConfiguration = new ProbeConfiguration();
+        limitedProbeConfiguration.setEnforceCheckLimit(true);
+
+        EntitlementRepositoryMock entitlementRepository = new EntitlementRepositoryMock()
+                .save(EntitlementDto.builder()
+                        .userId(1)
+                        .checkLimit(1)
+                        .build(), 1L, 2L);
+
+        List<CheckDto> transitionedChecks = new ArrayList<>();
+        CheckRepositoryMock checkRepository = new CheckRepositoryMock()
+        {
+            @Override
+            public Collection<CheckDto> findAll()
+            {
+                return Arrays.asList(
+                        CheckDto.builder()
+                                .id(1)
+                                .userId(1)
+                                .name("name")
+                                .url(HttpUrl.parse("http://www.example.com/"))
+                                .status(Status.UP)
+                                .interval(1)
+                                .build(),
+                        CheckDto.builder()
+                                .id(2)
+                                .userId(1)
+                                .name("name2")
+                                .url(HttpUrl.parse("http://www.example.com/"))
+                                .status(Status.UP)
+                                .interval(1)
+                                .build(),
+                        CheckDto.builder()
+                                .id(3)
+                                .userId(2)
+                                .name("name3")
+                                .url(HttpUrl.parse("http://www.example.com/"))
+                                .status(Status.UP)
+                                .interval(1)
+                                .build());
+            }
+
+            @Override
+            public Collection<CheckDto> transitionChecks(Collection<CheckDto> checkDtos)
+            {
+                transitionedChecks.addAll(checkDtos);
+                return super.transitionChecks(checkDtos);
+            }
+        };
+
+        ScheduledCheckTask scheduledCheckTask = new ScheduledCheckTask(
+                httpClient,
+                executorService,
+                checkRepository,
+                new ResultRepositoryMock(),
+                limitedProbeConfiguration,
+                new EntitlementCache(entitlementRepository, limitedProbeConfiguration),
+                transactionManager);
+        scheduledCheckTask.run();
+
+        List<CheckDto> deferredChecks = transitionedChecks
+                .stream()
+                .filter(checkDto -> !checkDto.getLatestResultId().isPresent())
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(2, scheduledCheckTask.getDeferredCheckCount());
+        Assert.assertEquals(1, scheduledCheckTask.getElectedCheckCount());
+        Assert.assertEquals(Arrays.asList(2L, 3L), deferredChecks.stream().map(CheckDto::getId).collect(Collectors.toList()));
+        Assert.assertTrue(deferredChecks.stream().allMatch(checkDto -> checkDto.getState() == State.WAITING));
+        Assert.assertTrue(deferredChecks.stream().allMatch(checkDto -> checkDto.getRefresh().isAfter(Instant.now())));
+        Assert.assertEquals(4, transitionedChecks.size());
+    }
+
+    @Test
+    public void runDiscardsResultsOfConflictedChecks()
+    {
+        UserDto savedUserDto = userRepository.save(UserDto.builder()
+                .username("username")
+                .email("email@example.com")
+                .resetToken("resetToken")
+                .accessToken("accessToken")
+                .password("password")
+                .emailVerified(true)
+                .build());
+
+        CheckDto savedCheckDto = checkRepository.save(CheckDto.builder()
+                .userId(savedUserDto.getId())
+                .name("name")
+                .url(HttpUrl.parse("http://www.example.com/"))
+                .probe(Optional.of("probe"))
+                .status(Status.UNKNOWN)
+                .state(State.WAITING)
+                .refresh(Instant.now().minus(Duration.ofMinutes(1)))
+                .interval(1)
+                .version(1)
+                .build());
+
+        CheckRepositoryMock conflictingCheckRepository = new CheckRepositoryMock()
+        {
+            @Override
+            public Collection<CheckDto> electChecks(String probe, boolean isClustered, Instant instant, long candidatePoolSize, Duration lease)
+            {
+                jdbcTemplate.update("UPDATE \"check\" SET state = 'ELECTED'::state, locked = now() + ? * INTERVAL '1 second' WHERE id = ?", lease.getSeconds(), savedCheckDto.getId());
+                Collection<CheckDto> electedChecks = checkRepository.findAll(Collections.singletonList(savedCheckDto.getId()));
+                jdbcTemplate.update("UPDATE \"check\" SET version = version + 1 WHERE id = ?", savedCheckDto.getId());
+
+                return electedChecks;
+            }
+
+            @Override
+            public Collection<CheckDto> transitionChecks(Collection<CheckDto> checkDtos)
+            {
+                return checkRepository.transitionChecks(checkDtos);
+            }
+        };
+
+        try
+        {
+            ScheduledCheckTask scheduledCheckTask = new ScheduledCheckTask(httpClient, executorService, conflictingCheckRepository, resultRepository, probeConfiguration, entitlementCache, transactionManager);
+            scheduledCheckTask.run();
+
+            long resultCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM result WHERE check_id = ?", Long.class, savedCheckDto.getId());
+            Optional<CheckDto> foundCheckDto = checkRepository.findOne(savedCheckDto.getId());
+
+            Assert.assertEquals(0, resultCount);
+            Assert.assertEquals(1, scheduledCheckTask.getConflictedCheckCount());
+            Assert.assertFalse(foundCheckDto.get().getLatestResultId().isPresent());
+            Assert.assertEquals(2, foundCheckDto.get().getVersion());
+        } finally
+        {
+            checkRepository.delete(savedCheckDto);
+            userRepository.delete(savedUserDto);
+        }
+    }
+
+    @Test
+    public void runAsynchronous()
+    {
+        ProbeConfiguration asynchronousProbeConfiguration = new ProbeConfiguration();
+        asynchronousProbeConfiguration.setAsynchronous(true);
+
+        CheckRepositoryMock checkRepository = new CheckRepositoryMock();
+        ResultRepositoryMock resultRepository = new ResultRepositoryMock();
+
+        new ScheduledCheckTask(httpClient, executorService, checkRepository, resultRepository, asynchronousProbeConfiguration, entitlementCache, transactionManager).run();
+
+        Assert.assertEquals(checkRepository.findAll().size(), resultRepository.getSavedResults().size());
+        Assert.assertEquals(1, checkRepository.getTransitionChecksCount());
+    }
+
+    @Test
+    public void runAsynchronousError()
+    {
+        ProbeConfiguration asynchronousProbeConfiguration = new ProbeConfiguration();
+        asynchronousProbeConfiguration.setAsynchronous(true);
+
+        CheckRepositoryMock checkRepository = new CheckRepositoryMock();
+        ResultRepositoryMock resultRepository = new ResultRepositoryMock();
+
+        new ScheduledCheckTask(null, executorService, checkRepository, resultRepository, asynchronousProbeConfiguration, entitlementCache, transactionManager).run();
+
+        Assert.assertTrue(resultRepository.getSavedResults().isEmpty());
+        Assert.assertEquals(0, checkRepository.getTransitionChecksCount());
+    }
+
+    @Test
+    public void runAdaptiveElection()
+    {
+        ProbeConfiguration adaptiveProbeConfiguration = new ProbeConfiguration();
+        adaptiveProbeConfiguration.setAdaptiveElection(true);
+        adaptiveProbeConfiguration.setCandidatePoolSize(1);
+        adaptiveProbeConfiguration.setMinimumCandidatePoolSize(1);
+        List<Long> candidatePoolSizes = new ArrayList<>();
+        CheckRepositoryMock checkRepository = new CheckRepositoryMock()
+        {
+            @Override
+            public Collection<CheckDto> electChecks(String probe, boolean isClustered, Instant instant, long candidatePoolSize, Duration lease)
+            {
+                candidatePoolSizes.add(candidatePoolSize);
+                return Collections.emptyList();
+            }
+
+            @Override
+            public long countOverdueChecks(Instant instant)
+            {
+                return 100;
+            }
+        };
+
+        ScheduledCheckTask scheduledCheckTask = new ScheduledCheckTask(httpClient, executorService, checkRepository, new ResultRepositoryMock(), adaptiveProbeConfiguration, entitlementCache, transactionManager);
+        scheduledCheckTask.run();
+        scheduledCheckTask.run();
+
+        Assert.assertEquals(Arrays.asList(2L, 3L), candidatePoolSizes);
+    }
+
+    @Test
+    public void runCountsOverdueChecksOncePerInterval()
+    {
+        ProbeConfiguration overdueProbeConfiguration = new ProbeConfiguration();
+        overdueProbeConfiguration.setOverdueCountInterval(60000);
+        AtomicInteger overdueCounts = new AtomicInteger();
+        CheckRepositoryMock checkRepository = new CheckRepositoryMock()
+        {
+            @Override
+            public Collection<CheckDto> electChecks(String probe, boolean isClustered, Instant instant, long candidatePoolSize, Duration lease)
+            {
+                return Collections.emptyList();
+            }
+
+            @Override
+            public long countOverdueChecks(Instant instant)
+            {
+                overdueCounts.incrementAndGet();
+                return 100;
+            }
+        };
+
+        ScheduledCheckTask scheduledCheckTask = new ScheduledCheckTask(httpClient, executorService, checkRepository, new ResultRepositoryMock(), overdueProbeConfiguration, entitlementCache, transactionManager);
+        scheduledCheckTask.run();
+        scheduledCheckTask.run();
+        scheduledCheckTask.run();
+
+        Assert.assertEquals(1, overdueCounts.get());
+        Assert.assertEquals(100, scheduledCheckTask.getOverdueCheckCount());
+    }
+
+    @Test
+    public void runLogsSummary()
+    {
+        ProbeConfiguration loggingProbeConfiguration = new ProbeConfiguration();
+        loggingProbeConfiguration.setLogSummaryInterval(0);
+        loggingProbeConfiguration.setLogSampleRate(1);
+
+        ScheduledCheckTask scheduledCheckTask = new ScheduledCheckTask(httpClient, executorService, new CheckRepositoryMock(), new ResultRepositoryMock(), loggingProbeConfiguration, entitlementCache, transactionManager);
+        scheduledCheckTask.run();
+        scheduledCheckTask.run();
+
+        Assert.assertEquals(2 * new CheckRepositoryMock().findAll().size(), scheduledCheckTask.getElectedCheckCount());
+    }
+
+    @Test
+    public void runContinuous() throws InterruptedException
+    {
+        ProbeConfiguration continuousProbeConfiguration = new ProbeConfiguration();
+        continuousProbeConfiguration.setContinuous(true);
+        continuousProbeConfiguration.setMaxInFlight(10);
+        List<CheckDto> transitionedChecks = Collections.synchronizedList(new ArrayList<>());
+        CheckRepositoryMock checkRepository = new CheckRepositoryMock()
+        {
+            @Override
+            public Collection<CheckDto> transitionChecks(Collection<CheckDto> checkDtos)
+            {
+                transitionedChecks.addAll(checkDtos);
+                return super.transitionChecks(checkDtos);
+            }
+        };
+        ResultRepositoryMock resultRepository = new ResultRepositoryMock();
+
+        ScheduledCheckTask scheduledCheckTask = new ScheduledCheckTask(httpClient, executorService, checkRepository, resultRepository, continuousProbeConfiguration, entitlementCache, transactionManager);
+        scheduledCheckTask.run();
+        awaitSlots(scheduledCheckTask, continuousProbeConfiguration.getMaxInFlight());
+        scheduledCheckTask.run();
+        awaitSlots(scheduledCheckTask, continuousProbeConfiguration.getMaxInFlight());
+
+        Assert.assertEquals(2 * checkRepository.findAll().size(), resultRepository.getSavedResults().size());
+        Assert.assertEquals(2 * checkRepository.findAll().size(), transitionedChecks.size());
+        Assert.assertTrue(transitionedChecks
+                .stream()
+                .allMatch(checkDto -> checkDto.getState() == State.WAITING && !checkDto.getLocked().isPresent()));
+        Assert.assertEquals(continuousProbeConfiguration.getMaxInFlight(), scheduledCheckTask.getAvailableSlots());
+        Assert.assertEquals(0, scheduledCheckTask.getInFlightCheckCount());
+    }
+
+    @Test
+    public void runContinuousPersistsCompletionsInBatches() throws InterruptedException
+    {
+        ProbeConfiguration continuousProbeConfiguration = new ProbeConfiguration();
+        continuousProbeConfiguration.setContinuous(true);
+        continuousProbeConfiguration.setMaxInFlight(10);
+        CheckRepositoryMock checkRepository = new CheckRepositoryMock();
+        ResultRepositoryMock resultRepository = new ResultRepositoryMock();
+
+        ScheduledCheckTask scheduledCheckTask = new ScheduledCheckTask(httpClient, executorService, checkRepository, resultRepository, continuousProbeConfiguration, entitlementCache, transactionManager);
+        scheduledCheckTask.run();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (scheduledCheckTask.getCompletedCheckCount() < checkRepository.findAll().size() && System.nanoTime() < deadline)
+            Thread.sleep(10);
+
+        scheduledCheckTask.persistCompletedChecks();
+
+        Assert.assertEquals(checkRepository.findAll().size(), resultRepository.getSavedResults().size());
+        Assert.assertEquals(1, checkRepository.getTransitionChecksCount());
+        Assert.assertEquals(continuousProbeConfiguration.getMaxInFlight(), scheduledCheckTask.getAvailableSlots());
+    }
+
+    @Test
+    public void runContinuousError() throws InterruptedException
+    {
+        ProbeConfiguration continuousProbeConfiguration = new ProbeConfiguration();
+        continuousProbeConfiguration.setContinuous(true);
+        continuousProbeConfiguration.setMaxInFlight(10);
+        CheckRepositoryMock checkRepository = new CheckRepositoryMock();
+        ResultRepositoryMock resultRepository = new ResultRepositoryMock();
+
+        ScheduledCheckTask scheduledCheckTask = new ScheduledCheckTask(null, executorService, checkRepository, resultRepository, continuousProbeConfiguration, entitlementCache, transactionManager);
+        scheduledCheckTask.run();
+        awaitSlots(scheduledCheckTask, continuousProbeConfiguration.getMaxInFlight());
+
+        Assert.assertTrue(resultRepository.getSavedResults().isEmpty());
+        Assert.assertEquals(0, checkRepository.getTransitionChecksCount());
+        Assert.assertEquals(continuousProbeConfiguration.getMaxInFlight(), scheduledCheckTask.getAvailableSlots());
+        Assert.assertEquals(0, scheduledCheckTask.getInFlightCheckCount());
+    }
+
+    @Test
+    public void maxInFlightDefaultsToConcurrencyLimit()
+    {
+        ProbeConfiguration asynchronousProbeConfiguration = new ProbeConfiguration();
+        asynchronousProbeConfiguration.setAsynchronous(true);
+
+        ScheduledCheckTask scheduledCheckTask = new ScheduledCheckTask(httpClient, executorService, new CheckRepositoryMock(), new ResultRepositoryMock(), probeConfiguration, entitlementCache, transactionManager);
+        ScheduledCheckTask asynchronousCheckTask = new ScheduledCheckTask(httpClient, executorService, new CheckRepositoryMock(), new ResultRepositoryMock(), asynchronousProbeConfiguration, entitlementCache, transactionManager);
+
+        Assert.assertEquals(probeConfiguration.getMaxConcurrency(), scheduledCheckTask.getAvailableSlots());
+        Assert.assertEquals(asynchronousProbeConfiguration.getMaxRequests(), asynchronousCheckTask.getAvailableSlots());
+    }
+
+    @Test
+    public void runCopyResults()
+    {
+        ProbeConfiguration copyResultsProbeConfiguration = new ProbeConfiguration();
+        copyResultsProbeConfiguration.setCopyResults(true);
+        List<ResultDto> savedResults = new ArrayList<>();
+        List<ResultDto> copiedResults = new ArrayList<>();
+        List<CheckDto> batchTransitionedChecks = new ArrayList<>();
+        List<CheckDto> copyTransitionedChecks = new ArrayList<>();
+
+        new ScheduledCheckTask(httpClient, executorService, createLinkedCheckRepository(batchTransitionedChecks), createIdentifyingResultRepository(savedResults, new ArrayList<>()), probeConfiguration, entitlementCache, transactionManager).run();
+        new ScheduledCheckTask(httpClient, executorService, createLinkedCheckRepository(copyTransitionedChecks), createIdentifyingResultRepository(new ArrayList<>(), copiedResults), copyResultsProbeConfiguration, entitlementCache, transactionManager).run();
+
+        Assert.assertEquals(savedResults.size(), copiedResults.size());
+        Assert.assertEquals(copiedResults.size(), copyTransitionedChecks.size());
+        for (int index = 0; index < copiedResults.size(); index++)
+        {
+            Assert.assertEquals(savedResults.get(index).getId(), copiedResults.get(index).getId());
+            Assert.assertEquals(savedResults.get(index).getCheckId(), copiedResults.get(index).getCheckId());
+            Assert.assertEquals(savedResults.get(index).getPreviousResultId(), copiedResults.get(index).getPreviousResultId());
+            Assert.assertEquals(savedResults.get(index).getProbe(), copiedResults.get(index).getProbe());
+            Assert.assertEquals(savedResults.get(index).isConfirmation(), copiedResults.get(index).isConfirmation());
+            Assert.assertEquals(OptionalLong.of(copiedResults.get(index).getCheckId() + 100), copiedResults.get(index).getPreviousResultId());
+            Assert.assertEquals(OptionalLong.of(copiedResults.get(index).getId()), copyTransitionedChecks.get(index).getLatestResultId());
+            Assert.assertEquals(batchTransitionedChecks.get(index).getLatestResultId(), copyTransitionedChecks.get(index).getLatestResultId());
+        }
+    }
+
+    @Test
+    public void renewLeases() throws InterruptedException
+    {
+        ProbeConfiguration continuousProbeConfiguration = new ProbeConfiguration();
+        continuousProbeConfiguration.setContinuous(true);
+        continuousProbeConfiguration.setMaxInFlight(10);
+        List<Long> renewedCheckIds = Collections.synchronizedList(new ArrayList<>());
+        CheckRepositoryMock checkRepository = new CheckRepositoryMock()
+        {
+            @Override
+            public Collection<CheckDto> electChecks(String probe, boolean isClustered, Instant instant, long candidatePoolSize, Duration lease)
+            {
+                return LongStream
+                        .rangeClosed(1, 3)
+                        .mapToObj(id -> CheckDto.builder()
+                                .id(id)
+                                .name("name")
+                                .url(HttpUrl.parse("http://www.example.com/"))
+                                .state(State.ELECTED)
+                                .build())
+                        .collect(Collectors.toList());
+            }
+
+            @Override
+            public int renewLeases(Collection<CheckDto> checkDtos, Duration lease)
+            {
+                checkDtos.forEach(checkDto -> renewedCheckIds.add(checkDto.getId()));
+                return super.renewLeases(checkDtos, lease);
+            }
+        };
+
+        ScheduledCheckTask scheduledCheckTask = new ScheduledCheckTask(httpClient, executorService, checkRepository, new ResultRepositoryMock(), continuousProbeConfiguration, entitlementCache, transactionManager);
+        scheduledCheckTask.renewLeases();
+
+        Assert.assertTrue(renewedCheckIds.isEmpty());
+
+        scheduledCheckTask.run();
+        scheduledCheckTask.renewLeases();
+
+        Assert.assertEquals(Arrays.asList(1L, 2L, 3L), renewedCheckIds.stream().sorted().collect(Collectors.toList()));
+
+        awaitSlots(scheduledCheckTask, continuousProbeConfiguration.getMaxInFlight());
+        scheduledCheckTask.renewLeases();
+
+        Assert.assertEquals(3, renewedCheckIds.size());
+    }
+
+    @Test
+    public void runClassifiesFailures()
+    {
+        CheckRepositoryMock checkRepository = new CheckRepositoryMock()
+        {
+            @Override
+            public Collection<CheckDto> electChecks(String probe, boolean isClustered, Instant instant, long candidatePoolSize, Duration lease)
+            {
+                return Collections.singletonList(CheckDto.builder()
+                        .name("name")
+                        .url(HttpUrl.parse("http://unresolvable.invalid/"))
+                        .state(State.ELECTED)
+                        .connectTimeout(OptionalInt.of(1000))
+                        .readTimeout(OptionalInt.of(1000))
+                        .callTimeout(OptionalInt.of(2000))
+                        .build());
+            }
+        };
+        ResultRepositoryMock resultRepository = new ResultRepositoryMock();
+
+        OkHttpClient unresolvingHttpClient = httpClient
+                .newBuilder()
+                .dns(hostname -> {
+                    throw new UnknownHostException(hostname);
+                })
+                .build();
+
+        new ScheduledCheckTask(unresolvingHttpClient, executorService, checkRepository, resultRepository, probeConfiguration, entitlementCache, transactionManager).run();
+
+        Assert.assertEquals(1, resultRepository.getSavedResults().size());
+        Assert.assertEquals(Optional.of(Failure.DNS), resultRepository.getSavedResults().get(0).getFailure());
+        Assert.assertEquals(Status.DOWN, resultRepository.getSavedResults().get(0).getStatus());
+    }
+
+    @Test
+    public void runProbeModes()
+    {
+        CheckRepositoryMock checkRepository = new CheckRepositoryMock()
+        {
+            @Override
+            public Collection<CheckDto> electChecks(String probe, boolean isClustered, Instant instant, long candidatePoolSize, Duration lease)
+            {
+                return Arrays.stream(ProbeMode.values())
+                        .map(probeMode -> CheckDto.builder()
+                                .name(probeMode.toString())
+                                .url(HttpUrl.parse("http://www.example.com/"))
+                                .state(State.ELECTED)
+                                .probeMode(probeMode)
+                                .build())
+                        .collect(Collectors.toList());
+            }
+        };
+        ResultRepositoryMock resultRepository = new ResultRepositoryMock();
+
+        new ScheduledCheckTask(httpClient, executorService, checkRepository, resultRepository, probeConfiguration, entitlementCache, transactionManager).run();
+
+        Assert.assertEquals(ProbeMode.values().length, resultRepository.getSavedResults().size());
     }
 
     @Test
     public void runError()
     {
-        new ScheduledCheckTask(null, executorService, new CheckRepositoryMock(), new ResultRepositoryMock(), probeConfiguration).run();
+        new ScheduledCheckTask(null, executorService, new CheckRepositoryMock(), new ResultRepositoryMock(), probeConfiguration, entitlementCache, transactionManager).run();
+    }
+
+    private CheckRepositoryMock createLinkedCheckRepository(List<CheckDto> transitionedChecks)
+    {
+        return new CheckRepositoryMock()
+        {
+            @Override
+            public Collection<CheckDto> electChecks(String probe, boolean isClustered, Instant instant, long candidatePoolSize, Duration lease)
+            {
+                return LongStream
+                        .rangeClosed(1, 3)
+                        .mapToObj(id -> CheckDto.builder()
+                                .id(id)
+                                .latestResultId(OptionalLong.of(id + 100))
+                                .name("name" + id)
+                                .url(HttpUrl.parse("http://www.example.com/"))
+                                .state(State.ELECTED)
+                                .confirming(id % 2 == 0)
+                                .build())
+                        .collect(Collectors.toList());
+            }
+
+            @Override
+            public Collection<CheckDto> transitionChecks(Collection<CheckDto> checkDtos)
+            {
+                transitionedChecks.addAll(checkDtos);
+                return super.transitionChecks(checkDtos);
+            }
+        };
+    }
+
+    private ResultRepositoryMock createIdentifyingResultRepository(List<ResultDto> savedResults, List<ResultDto> copiedResults)
+    {
+        return new ResultRepositoryMock()
+        {
+            @Override
+            public Collection<ResultDto> save(Collection<ResultDto> entities)
+            {
+                List<ResultDto> identifiedEntities = identify(entities);
+                savedResults.addAll(identifiedEntities);
+                return identifiedEntities;
+            }
+
+            @Override
+            public Collection<ResultDto> copyInsert(Collection<ResultDto> entities)
+            {
+                List<ResultDto> identifiedEntities = identify(entities);
+                copiedResults.addAll(identifiedEntities);
+                return identifiedEntities;
+            }
+
+            private List<ResultDto> identify(Collection<ResultDto> entities)
+            {
+                return entities
+                        .stream()
+                        .map(entity -> ResultDto.buildFrom(entity)
+                                .id(entity.getCheckId() + 1000)
+                                .build())
+                        .collect(Collectors.toList());
+            }
+        };
+    }
+
+    private void awaitSlots(ScheduledCheckTask scheduledCheckTask, long slots) throws InterruptedException
+    {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+
+        while (scheduledCheckTask.getAvailableSlots() < slots && System.nanoTime() < deadline)
+        {
+            scheduledCheckTask.persistCompletedChecks();
+            Thread.sleep(10);
+        }
     }
 }
@@ -0,0 +1,186 @@
+package com.codeaim.urlcheck.task;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.codeaim.urlcheck.configuration.ProbeConfiguration;
+import com.codeaim.urlcheck.domain.ResultExpiryDto;
+import com.codeaim.urlcheck.repository.EntitlementsChangedEvent;
+import com.codeaim.urlcheck.repository.mock.ResultRepositoryMock;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class ScheduledResultExpiryTaskTest
+{
+    @Test
+    public void runResumesFromCursor()
+    {
+        ProbeConfiguration probeConfiguration = new ProbeConfiguration();
+        probeConfiguration.setResultExpiryChunkSize(10);
+        probeConfiguration.setResultExpirySize(20);
+        probeConfiguration.setResultExpiryChunkDelay(0);
+        probeConfiguration.setResultExpiryBacklogLimit(50);
+
+        List<Long> cursorIds = new ArrayList<>();
+        ResultRepositoryMock resultRepository = new ResultRepositoryMock()
+        {
+            @Override
+            public ResultExpiryDto expireResults(Instant cursorCreated, long cursorId, int chunkSize)
+            {
+                cursorIds.add(cursorId);
+
+                return ResultExpiryDto.builder()
+                        .scanned(chunkSize)
+                        .deleted(chunkSize / 2)
+                        .cursorCreated(Instant.now())
+                        .cursorId(cursorId + chunkSize)
+                        .build();
+            }
+
+            @Override
+            public long countExpiryBacklog(Instant cursorCreated, long cursorId, long limit)
+            {
+                return Math.min(limit, 100 - cursorId);
+            }
+        };
+
+        ScheduledResultExpiryTask resultExpiryTask = new ScheduledResultExpiryTask(resultRepository, probeConfiguration);
+        resultExpiryTask.run();
+        ScheduledResultExpiryTask restartedResultExpiryTask = new ScheduledResultExpiryTask(resultRepository, probeConfiguration);
+        restartedResultExpiryTask.run();
+
+        Assert.assertEquals(4, cursorIds.size());
+        Assert.assertEquals(Long.valueOf(0), cursorIds.get(0));
+        Assert.assertEquals(Long.valueOf(20), cursorIds.get(2));
+        Assert.assertEquals(40, resultRepository.findExpiryCursor().getCursorId());
+        Assert.assertEquals(10, resultExpiryTask.getExpiredResultCount());
+        Assert.assertEquals(50, resultExpiryTask.getExpiryBacklog());
+        Assert.assertEquals(10, restartedResultExpiryTask.getLastExpiredResultCount());
+        Assert.assertEquals(20, restartedResultExpiryTask.getLastScannedResultCount());
+        Assert.assertEquals(50, restartedResultExpiryTask.getExpiryBacklog());
+    }
+
+    @Test
+    public void runResetsCursorAtEndOfWindow()
+    {
+        ProbeConfiguration probeConfiguration = new ProbeConfiguration();
+        probeConfiguration.setResultExpiryChunkSize(10);
+        probeConfiguration.setResultExpiryChunkDelay(0);
+
+        List<Long> cursorIds = new ArrayList<>();
+        ResultRepositoryMock resultRepository = new ResultRepositoryMock()
+        {
+            @Override
+            public ResultExpiryDto expireResults(Instant cursorCreated, long cursorId, int chunkSize)
+            {
+                cursorIds.add(cursorId);
+
+                return ResultExpiryDto.builder()
+                        .scanned(cursorId < 20 ? chunkSize : 5)
+                        .deleted(cursorId < 20 ? chunkSize : 5)
+                        .cursorCreated(Instant.now())
+                        .cursorId(cursorId + chunkSize)
+                        .build();
+            }
+        };
+
+        ScheduledResultExpiryTask resultExpiryTask = new ScheduledResultExpiryTask(resultRepository, probeConfiguration);
+        resultExpiryTask.run();
+        resultExpiryTask.run();
+
+        Assert.assertEquals(6, cursorIds.size());
+        Assert.assertEquals(Long.valueOf(20), cursorIds.get(2));
+        Assert.assertEquals(Long.valueOf(0), cursorIds.get(3));
+        Assert.assertEquals(0, resultRepository.findExpiryCursor().getCursorId());
+        Assert.assertEquals(50, resultExpiryTask.getExpiredResultCount());
+        Assert.assertEquals(25, resultExpiryTask.getLastScannedResultCount());
+    }
+
+    @Test
+    public void runRefreshesRetentionOnlyWhenChanged()
+    {
+        ProbeConfiguration probeConfiguration = new ProbeConfiguration();
+        probeConfiguration.setResultExpiryChunkDelay(0);
+
+        AtomicInteger refreshes = new AtomicInteger();
+        AtomicBoolean stale = new AtomicBoolean();
+        ResultRepositoryMock resultRepository = new ResultRepositoryMock()
+        {
+            @Override
+            public void refreshRetention()
+            {
+                refreshes.incrementAndGet();
+            }
+
+            @Override
+            public boolean isRetentionStale()
+            {
+                return stale.get();
+            }
+        };
+
+        ScheduledResultExpiryTask resultExpiryTask = new ScheduledResultExpiryTask(resultRepository, probeConfiguration);
+        resultExpiryTask.run();
+        int initialRefreshes = refreshes.get();
+        resultExpiryTask.run();
+        int unchangedRefreshes = refreshes.get();
+        resultExpiryTask.onEntitlementsChanged(EntitlementsChangedEvent.all());
+        resultExpiryTask.run();
+        int changedRefreshes = refreshes.get();
+        stale.set(true);
+        resultExpiryTask.run();
+        int staleRefreshes = refreshes.get();
+
+        Assert.assertEquals(1, initialRefreshes);
+        Assert.assertEquals(1, unchangedRefreshes);
+        Assert.assertEquals(2, changedRefreshes);
+        Assert.assertEquals(3, staleRefreshes);
+        Assert.assertEquals(3, resultExpiryTask.getRetentionRefreshCount());
+    }
+
+    @Test
+    public void runMaintainsPartitions()
+    {
+        ProbeConfiguration probeConfiguration = new ProbeConfiguration();
+        probeConfiguration.setResultPartitionUnit(ChronoUnit.HOURS);
+        probeConfiguration.setResultPartitionsAhead(3);
+
+        List<ChronoUnit> units = new ArrayList<>();
+        ResultRepositoryMock resultRepository = new ResultRepositoryMock()
+        {
+            @Override
+            public int createResultPartitions(Instant until, ChronoUnit unit)
+            {
+                units.add(unit);
+                Assert.assertTrue(until.isAfter(Instant.now().plus(2, ChronoUnit.HOURS)));
+
+                return 3;
+            }
+
+            @Override
+            public int dropResultPartitions()
+            {
+                return 2;
+            }
+        };
+
+        ScheduledResultExpiryTask resultExpiryTask = new ScheduledResultExpiryTask(resultRepository, probeConfiguration);
+        resultExpiryTask.run();
+
+        Assert.assertEquals(Collections.singletonList(ChronoUnit.HOURS), units);
+        Assert.assertEquals(2, resultExpiryTask.getDroppedPartitionCount());
+    }
+}
@@ -9,4 +9,9 @@ public class CheckTaskMock implements CheckTask
     public void run()
     {
     }
+
+    @Override
+    public void renewLeases()
+    {
+    }
 }
@@ -0,0 +1,60 @@
+package com.codeaim.urlcheck.utility;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.codeaim.urlcheck.Application;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+@RunWith(SpringRunner.class)
+@ContextConfiguration(classes = Application.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class CallsTest
+{
+    @Autowired
+    OkHttpClient httpClient;
+
+    @Test
+    public void enqueue() throws Exception
+    {
+        CompletableFuture<Response> response = Calls.enqueue(
+                httpClient,
+                new Request.Builder()
+                        .url("http://www.example.com/")
+                        .build());
+
+        response.get().close();
+
+        Assert.assertTrue(response.isDone());
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void enqueueError() throws Exception
+    {
+        Calls.enqueue(
+                httpClient,
+                new Request.Builder()
+                        .url("http://www.url-that-does-not-exist.com/")
+                        .build())
+                .get();
+    }
+
+    @Test
+    public void createClass()
+    {
+        new Calls();
+    }
+}
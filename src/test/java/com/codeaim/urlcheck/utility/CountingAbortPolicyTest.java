@@ -0,0 +1,62 @@
+package com.codeaim.urlcheck.utility;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class CountingAbortPolicyTest
+{
+    @Test
+    public void rejectedExecution() throws InterruptedException
+    {
+        CountingAbortPolicy countingAbortPolicy = new CountingAbortPolicy();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1), countingAbortPolicy);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try
+        {
+            executor.execute(() -> awaitUninterruptibly(release));
+            executor.execute(() -> awaitUninterruptibly(release));
+
+            boolean rejected = false;
+            try
+            {
+                executor.execute(() -> awaitUninterruptibly(release));
+            } catch (RejectedExecutionException e)
+            {
+                rejected = true;
+            }
+
+            Assert.assertTrue(rejected);
+            Assert.assertEquals(1, countingAbortPolicy.getRejectedCount());
+        } finally
+        {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private void awaitUninterruptibly(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await();
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
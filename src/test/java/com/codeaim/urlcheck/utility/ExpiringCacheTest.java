@@ -0,0 +1,130 @@
+package com.codeaim.urlcheck.utility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class ExpiringCacheTest
+{
+    @Test
+    public void getCachesWithinTtl()
+    {
+        AtomicLong clock = new AtomicLong();
+        AtomicInteger loads = new AtomicInteger();
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(10, 1000, clock::get);
+
+        cache.get(1L, key -> "value" + loads.incrementAndGet());
+        clock.set(999);
+        String value = cache.get(1L, key -> "value" + loads.incrementAndGet());
+
+        Assert.assertEquals("value1", value);
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void getReloadsAfterTtl()
+    {
+        AtomicLong clock = new AtomicLong();
+        AtomicInteger loads = new AtomicInteger();
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(10, 1000, clock::get);
+
+        cache.get(1L, key -> "value" + loads.incrementAndGet());
+        clock.set(1000);
+        String value = cache.get(1L, key -> "value" + loads.incrementAndGet());
+
+        Assert.assertEquals("value2", value);
+        Assert.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void getEvictsLeastRecentlyUsed()
+    {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(2, 1000, () -> 0);
+
+        cache.get(1L, key -> "first");
+        cache.get(2L, key -> "second");
+        cache.get(1L, key -> "first");
+        cache.get(3L, key -> "third");
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertTrue(cache.getIfPresent(1L).isPresent());
+        Assert.assertFalse(cache.getIfPresent(2L).isPresent());
+    }
+
+    @Test
+    public void getAllLoadsOnlyMissingKeys()
+    {
+        List<Collection<Long>> loads = new ArrayList<>();
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(10, 1000, () -> 0);
+
+        cache.get(1L, key -> "first");
+        Map<Long, String> values = cache.getAll(Arrays.asList(1L, 2L, 3L), keys -> {
+            loads.add(keys);
+            return keys.stream().collect(Collectors.toMap(Function.identity(), key -> "value" + key));
+        });
+
+        Assert.assertEquals(Collections.singletonList(Arrays.asList(2L, 3L)), loads);
+        Assert.assertEquals("first", values.get(1L));
+        Assert.assertEquals("value3", values.get(3L));
+        Assert.assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void invalidateRemovesEntry()
+    {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(10, 1000, () -> 0);
+
+        cache.get(1L, key -> "first");
+        cache.get(2L, key -> "second");
+        cache.invalidate(1L);
+
+        Assert.assertFalse(cache.getIfPresent(1L).isPresent());
+        Assert.assertTrue(cache.getIfPresent(2L).isPresent());
+        Assert.assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    public void invalidateAllClearsEntries()
+    {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(10, 1000, () -> 0);
+
+        cache.get(1L, key -> "first");
+        cache.get(2L, key -> "second");
+        cache.invalidateAll();
+
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void getDiscardsLoadRacingInvalidation()
+    {
+        ExpiringCache<Long, String> cache = new ExpiringCache<>(10, 1000, () -> 0);
+
+        String value = cache.get(1L, key -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        Assert.assertEquals("stale", value);
+        Assert.assertFalse(cache.getIfPresent(1L).isPresent());
+    }
+}
@@ -0,0 +1,108 @@
+package com.codeaim.urlcheck.utility;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+
+import javax.net.ssl.SSLHandshakeException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.codeaim.urlcheck.domain.Failure;
+import com.codeaim.urlcheck.http.TimingEventListener;
+import com.codeaim.urlcheck.http.Timings;
+
+import okhttp3.Protocol;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class FailuresTest
+{
+    private static final InetSocketAddress ADDRESS = InetSocketAddress.createUnresolved("www.example.com", 80);
+
+    @Test
+    public void classifyDns()
+    {
+        Assert.assertEquals(Failure.DNS, Failures.classify(new UnknownHostException("unresolvable.invalid"), new Timings()));
+    }
+
+    @Test
+    public void classifyTls()
+    {
+        Assert.assertEquals(Failure.TLS, Failures.classify(new SSLHandshakeException("handshake_failure"), new Timings()));
+    }
+
+    @Test
+    public void classifyConnectionRefused()
+    {
+        Assert.assertEquals(Failure.CONNECTION_REFUSED, Failures.classify(new ConnectException("Connection refused"), new Timings()));
+    }
+
+    @Test
+    public void classifyConnectTimeout()
+    {
+        Timings timings = new Timings();
+        new TimingEventListener(timings).connectStart(null, ADDRESS, Proxy.NO_PROXY);
+
+        Assert.assertEquals(Failure.CONNECT_TIMEOUT, Failures.classify(new SocketTimeoutException("timeout"), timings));
+        Assert.assertEquals(Failure.CONNECT_TIMEOUT, Failures.classify(new SocketTimeoutException(), timings));
+    }
+
+    @Test
+    public void classifyReadTimeout()
+    {
+        Timings timings = new Timings();
+        TimingEventListener timingEventListener = new TimingEventListener(timings);
+        timingEventListener.connectStart(null, ADDRESS, Proxy.NO_PROXY);
+        timingEventListener.connectEnd(null, ADDRESS, Proxy.NO_PROXY, Protocol.HTTP_1_1);
+
+        Assert.assertEquals(Failure.READ_TIMEOUT, Failures.classify(new SocketTimeoutException("connect timed out"), timings));
+        Assert.assertEquals(Failure.READ_TIMEOUT, Failures.classify(new SocketTimeoutException(), timings));
+    }
+
+    @Test
+    public void classifyRedirectConnectTimeout()
+    {
+        Timings timings = new Timings();
+        TimingEventListener timingEventListener = new TimingEventListener(timings);
+        timingEventListener.connectStart(null, ADDRESS, Proxy.NO_PROXY);
+        timingEventListener.connectEnd(null, ADDRESS, Proxy.NO_PROXY, Protocol.HTTP_1_1);
+        timingEventListener.connectStart(null, InetSocketAddress.createUnresolved("www.example.org", 80), Proxy.NO_PROXY);
+
+        Assert.assertEquals(Failure.CONNECT_TIMEOUT, Failures.classify(new SocketTimeoutException("timeout"), timings));
+    }
+
+    @Test
+    public void classifyPooledConnectionTimeout()
+    {
+        Assert.assertEquals(Failure.READ_TIMEOUT, Failures.classify(new SocketTimeoutException("timeout"), new Timings()));
+    }
+
+    @Test
+    public void classifyCallTimeout()
+    {
+        Assert.assertEquals(Failure.CALL_TIMEOUT, Failures.classify(new InterruptedIOException("timeout"), new Timings()));
+    }
+
+    @Test
+    public void classifyUnknown()
+    {
+        Assert.assertEquals(Failure.UNKNOWN, Failures.classify(new IOException("unexpected end of stream"), new Timings()));
+    }
+
+    @Test
+    public void createClass()
+    {
+        new Failures();
+    }
+}
@@ -0,0 +1,73 @@
+package com.codeaim.urlcheck.utility;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import okhttp3.HttpUrl;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class HttpUrlsTest
+{
+    @Before
+    public void setUp()
+    {
+        HttpUrls.clear();
+    }
+
+    @Test
+    public void parse()
+    {
+        HttpUrl httpUrl = HttpUrls.parse("http://www.example.com/path?query=1");
+
+        Assert.assertEquals(HttpUrl.parse("http://www.example.com/path?query=1"), httpUrl);
+    }
+
+    @Test
+    public void parseInterned()
+    {
+        HttpUrl first = HttpUrls.parse("http://www.example.com");
+        HttpUrl second = HttpUrls.parse(new String("http://www.example.com"));
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, HttpUrls.size());
+    }
+
+    @Test
+    public void parseInvalid()
+    {
+        Assert.assertNull(HttpUrls.parse("not a url"));
+        Assert.assertNull(HttpUrls.parse(null));
+        Assert.assertEquals(0, HttpUrls.size());
+    }
+
+    @Test
+    public void parseBounded()
+    {
+        for (int index = 0; index < 20000; index++)
+            HttpUrls.parse("http://www.example.com/" + index);
+
+        Assert.assertEquals(10000, HttpUrls.size());
+    }
+
+    @Test
+    public void parseEvictsLeastRecentlyUsed()
+    {
+        HttpUrl retained = HttpUrls.parse("http://www.example.com/");
+
+        for (int index = 0; index < 20000; index++)
+        {
+            HttpUrls.parse("http://www.example.com/");
+            HttpUrls.parse("http://www.example.com/" + index);
+        }
+
+        Assert.assertSame(retained, HttpUrls.parse("http://www.example.com/"));
+        Assert.assertEquals(10000, HttpUrls.size());
+    }
+}
@@ -0,0 +1,80 @@
+package com.codeaim.urlcheck.utility;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class PagesTest
+{
+    private static final List<Long> IDS = LongStream.rangeClosed(1, 10).boxed().collect(Collectors.toList());
+
+    @Test
+    public void streamWalksAllPages()
+    {
+        List<Long> afters = new ArrayList<>();
+
+        List<Long> streamed = Pages.stream((Long after, Integer limit) -> {
+            afters.add(after);
+            return page(after, limit);
+        }, id -> id, 0L, 4).collect(Collectors.toList());
+
+        Assert.assertEquals(IDS, streamed);
+        Assert.assertEquals(3, afters.size());
+        Assert.assertEquals(Long.valueOf(8), afters.get(2));
+    }
+
+    @Test
+    public void streamStopsAfterExactPage()
+    {
+        List<Long> afters = new ArrayList<>();
+
+        long count = Pages.stream((Long after, Integer limit) -> {
+            afters.add(after);
+            return page(after, limit);
+        }, id -> id, 0L, 5).count();
+
+        Assert.assertEquals(10, count);
+        Assert.assertEquals(3, afters.size());
+    }
+
+    @Test
+    public void streamIsLazy()
+    {
+        List<Long> afters = new ArrayList<>();
+
+        List<Long> first = Pages.stream((Long after, Integer limit) -> {
+            afters.add(after);
+            return page(after, limit);
+        }, id -> id, 0L, 2).limit(2).collect(Collectors.toList());
+
+        Assert.assertEquals(IDS.subList(0, 2), first);
+        Assert.assertEquals(Collections.singletonList(0L), afters);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void streamRejectsEmptyPages()
+    {
+        Pages.stream((Long after, Integer limit) -> page(after, limit), id -> id, 0L, 0);
+    }
+
+    private Collection<Long> page(long after, int limit)
+    {
+        return IDS.stream()
+                .filter(id -> id > after)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+}
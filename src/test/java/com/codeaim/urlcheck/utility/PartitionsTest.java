@@ -0,0 +1,59 @@
+package com.codeaim.urlcheck.utility;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class PartitionsTest
+{
+    @Test
+    public void nameDaily()
+    {
+        Assert.assertEquals("result_p20161018", Partitions.name("result", LocalDateTime.of(2016, 10, 18, 13, 45), ChronoUnit.DAYS));
+    }
+
+    @Test
+    public void nameHourly()
+    {
+        Assert.assertEquals("result_p2016101809", Partitions.name("result", LocalDateTime.of(2016, 10, 18, 9, 45), ChronoUnit.HOURS));
+    }
+
+    @Test
+    public void boundsDaily()
+    {
+        Assert.assertEquals(Optional.of(LocalDateTime.of(2016, 10, 18, 0, 0)), Partitions.start("result", "result_p20161018"));
+        Assert.assertEquals(Optional.of(LocalDateTime.of(2016, 10, 19, 0, 0)), Partitions.end("result", "result_p20161018"));
+    }
+
+    @Test
+    public void boundsHourly()
+    {
+        Assert.assertEquals(Optional.of(LocalDateTime.of(2016, 10, 18, 23, 0)), Partitions.start("result", "result_p2016101823"));
+        Assert.assertEquals(Optional.of(LocalDateTime.of(2016, 10, 19, 0, 0)), Partitions.end("result", "result_p2016101823"));
+    }
+
+    @Test
+    public void boundsIgnoreUnrecognisedNames()
+    {
+        Assert.assertFalse(Partitions.start("result", "result_retained").isPresent());
+        Assert.assertFalse(Partitions.start("result", "result_p20161318").isPresent());
+        Assert.assertFalse(Partitions.start("result", "result_p2016101825").isPresent());
+        Assert.assertFalse(Partitions.start("result", "check_p20161018").isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncateRejectsUnsupportedUnit()
+    {
+        Partitions.truncate(LocalDateTime.now(), ChronoUnit.MINUTES);
+    }
+}
@@ -0,0 +1,56 @@
+package com.codeaim.urlcheck.utility;
+
+import java.util.stream.LongStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+public class ReservoirTest
+{
+    @Test
+    public void percentileEmpty()
+    {
+        Assert.assertEquals(0, new Reservoir(10).percentile(0.95));
+    }
+
+    @Test
+    public void percentile()
+    {
+        Reservoir reservoir = new Reservoir(100);
+        LongStream.rangeClosed(1, 100).forEach(reservoir::record);
+
+        Assert.assertEquals(1, reservoir.percentile(0));
+        Assert.assertEquals(50, reservoir.percentile(0.5));
+        Assert.assertEquals(95, reservoir.percentile(0.95));
+        Assert.assertEquals(100, reservoir.percentile(1));
+    }
+
+    @Test
+    public void recordOverwritesOldestValues()
+    {
+        Reservoir reservoir = new Reservoir(10);
+        LongStream.rangeClosed(1, 25).forEach(reservoir::record);
+
+        Assert.assertEquals(10, reservoir.size());
+        Assert.assertEquals(16, reservoir.percentile(0));
+        Assert.assertEquals(25, reservoir.percentile(1));
+    }
+
+    @Test
+    public void clear()
+    {
+        Reservoir reservoir = new Reservoir(10);
+        reservoir.record(5);
+        reservoir.clear();
+
+        Assert.assertEquals(0, reservoir.size());
+        Assert.assertEquals(0, reservoir.percentile(0.5));
+    }
+}